@@ -1,13 +1,35 @@
+import algoritmo.AlgoritmoAsincrono;
 import algoritmo.AlgoritmoGenetico;
+import algoritmo.AlgoritmoGeneticoPlano;
+import algoritmo.ModeloIslas;
+import algoritmo.Portafolio;
+import algoritmo.TopologiaMigracion;
+import calibracion.CalibradorParalelo;
+import calibracion.CalibradorRacing;
 import datos_param.DatosEntrada;
+import datos_param.FormatoBinario;
 import datos_param.ParametrosAlgoritmo;
+import distribuido.CoordinadorIslas;
+import distribuido.IslaRemota;
+import estructuras_problema.ArchivoElite;
+import estructuras_problema.CachePlanes;
+import estructuras_problema.CachePrefijos;
+import estructuras_problema.ErrorEvaluacion;
+import estructuras_problema.EvaluadorCostos;
+import estructuras_problema.MemoFitness;
 import logging.MultiOutputStream;
+import lotes.ProcesadorLotes;
+import servicio.ServidorOptimizacion;
 
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 public class Main {
     public static void main(String[] args){
@@ -17,6 +39,7 @@ public class Main {
         //2: Salida por error en la lectura del archivo de datos de entrada
         //3: Salida por configuración inválida de parámetros de ejecución
         //4: Salida por error en el cálculo del fitness de un cromosoma
+        //5: Salida por error de comunicación entre procesos (modelo de islas distribuido o modo servidor)
         //Configuración para que la salida y error estándar se copien a un archivo
         try {
             configurarSalida();
@@ -24,17 +47,90 @@ public class Main {
             System.err.println(ex.getMessage());
             System.exit(1);
         }
+        //Los errores en el cálculo del fitness se lanzan como ErrorEvaluacion (los modos por lotes y servidor los
+        //registran como resultado de la consulta). Si ninguno los atrapa, en cualquier hilo, terminan el programa
+        Thread.setDefaultUncaughtExceptionHandler((hilo, ex) -> {
+            System.err.print("Exception in thread \"" + hilo.getName() + "\" ");
+            ex.printStackTrace();
+            if(ex instanceof ErrorEvaluacion) System.exit(4);
+        });
+        //Modos de ejecución del modelo de islas distribuido (un proceso coordinador y varios procesos isla):
+        //  --coordinador <puerto> <numIslas> [pathArchivoDatos]
+        //  --isla <host> <puerto> [pathArchivoDatos]
+        if(args.length >= 3 && (args[0].equals("--coordinador") || args[0].equals("--isla"))){
+            ejecutarModoDistribuido(args);
+            return;
+        }
+        //Modo por lotes: optimiza todos los archivos de datos de un directorio (o listados en un manifiesto) en esta JVM
+        //  --lote <directorio|manifiesto> [numHilos] [archivoResultados]
+        if(args.length >= 2 && args[0].equals("--lote")){
+            ejecutarModoLote(args);
+            return;
+        }
+        //Ejecución con puntos de control cada 50 iteraciones que continúa desde el último punto de control guardado en el
+        //archivo (si existe):
+        //  --reanudar <archivoPuntoControl> [pathArchivoDatos] [numHilos]
+        if(args.length >= 2 && args[0].equals("--reanudar")){
+            int numHilosReanudacion = 1;
+            if(args.length >= 4){
+                try{
+                    numHilosReanudacion = Integer.parseInt(args[3]);
+                }catch (NumberFormatException ex){
+                    System.err.println("ERROR: Cantidad de hilos inválida: " + args[3]);
+                    System.exit(3);
+                }
+            }
+            DatosEntrada datosReanudacion = DatosEntrada.getInstance(args.length >= 3 ? args[2] : null);
+            ejecutarAlgoritmoConPuntoControl(datosReanudacion, numHilosReanudacion, args[1], 50, true);
+            return;
+        }
+        //Modo servidor: atiende solicitudes de optimización por socket hasta que se termine el proceso
+        //  --servidor <puerto> [numHilos]
+        if(args.length >= 2 && args[0].equals("--servidor")){
+            ejecutarModoServidor(args);
+            return;
+        }
+        //Conversión de un archivo de datos CSV al formato binario, que se carga sin conversión de texto (cualquier modo
+        //que recibe un archivo de datos acepta ambos formatos)
+        //  --convertir <archivoCsv> <archivoBinario>
+        if(args.length >= 3 && args[0].equals("--convertir")){
+            ejecutarConversionBinaria(args[1], args[2]);
+            return;
+        }
         //Path en donde se ubica el archivo de datos. Se recomienda encarecidamente ingresar el path como argumento
         //del programa. Sin embargo, en caso de no hacerse, el programa intentará leer un archivo llamado "datos.csv"
         //que se ubique en el mismo directorio que el .jar
+        //Opcionalmente, un segundo argumento indica la cantidad de hilos con los que se generan los hijos
         String pathArchivoDatos;
-        if(args.length == 1) pathArchivoDatos = args[0];
+        if(args.length >= 1) pathArchivoDatos = args[0];
         else pathArchivoDatos = null;
+        int numHilos = 1;
+        if(args.length >= 2){
+            try{
+                numHilos = Integer.parseInt(args[1]);
+            }catch (NumberFormatException ex){
+                System.err.println("ERROR: Cantidad de hilos inválida: " + args[1]);
+                System.exit(3);
+            }
+        }
         //Lectura de datos de entrada desde el archivo en cuestión
         DatosEntrada datos = DatosEntrada.getInstance(pathArchivoDatos);
 
-        ejecutarAlgoritmo(datos);
+        ejecutarAlgoritmo(datos, numHilos);
+        //ejecutarAlgoritmoConCache(datos, numHilos, 100000);
+        //ejecutarAlgoritmoConCachePlanes(datos, numHilos, 1000, "planes.txt");
+        //ejecutarAlgoritmoConElite(datos, numHilos, "elite.txt", 20, 4);
+        //ejecutarAlgoritmoConPuntoControl(datos, numHilos, "punto_control.bin", 50, false);
+        //ejecutarAlgoritmoSinDuplicados(datos, numHilos);
+        //ejecutarAlgoritmoLigero(datos, numHilos);
+        //ejecutarAlgoritmoVectorial(datos, numHilos);
+        //ejecutarAlgoritmoPlano(datos);
+        //ejecutarModeloIslas(datos, 4, 50, 2, TopologiaMigracion.ANILLO);
+        //ejecutarAlgoritmoAsincrono(datos, Runtime.getRuntime().availableProcessors());
+        //ejecutarPortafolio(datos, 60000);
         //ejecutarAlgCalibracion(datos,20);
+        //ejecutarAlgCalibracionParalela(datos,20, Runtime.getRuntime().availableProcessors(), 0);
+        //ejecutarAlgCalibracionRacing(datos,20, 2, Runtime.getRuntime().availableProcessors());
         //imprimirCombParam();
     }
 
@@ -55,10 +151,226 @@ public class Main {
         System.setErr(stderr);
     }
 
-    public static void ejecutarAlgoritmo(DatosEntrada datos){
+    public static void ejecutarAlgoritmo(DatosEntrada datos, int numHilos){
         //Ejecución única del algoritmo
-        AlgoritmoGenetico algMem = new AlgoritmoGenetico();
+        AlgoritmoGenetico algMem = new AlgoritmoGenetico(datos);
+        algMem.setNumHilos(numHilos);
+        algMem.ejecutar(datos.getVerbosityLevel());
+    }
+
+    public static void ejecutarAlgoritmoConCache(DatosEntrada datos, int numHilos, int capacidadCache){
+        //Ejecución única del algoritmo reutilizando los joins de los prefijos ya evaluados (caché de hasta capacidadCache
+        //prefijos)
+        AlgoritmoGenetico algMem = new AlgoritmoGenetico(datos);
+        CachePrefijos cache = new CachePrefijos(capacidadCache);
+        algMem.setNumHilos(numHilos);
+        algMem.setCachePrefijos(cache);
+        algMem.ejecutar(datos.getVerbosityLevel());
+        if(datos.getVerbosityLevel()>=0)
+            System.out.println("Caché de prefijos: " + cache.getAciertos() + " aciertos en " + cache.getConsultas() +
+                    " consultas, " + cache.getJoinsReutilizados() + " joins reutilizados");
+    }
+
+    public static void ejecutarAlgoritmoConCachePlanes(DatosEntrada datos, int numHilos, int capacidadCache,
+                                                       String pathArchivoCache){
+        //Ejecución única del algoritmo con una caché de planes guardada en pathArchivoCache (null: solo en memoria): si
+        //los datos ya se optimizaron se devuelve el plan guardado y, si se optimizó un problema con la misma estructura,
+        //su plan se usa como semilla de la población
+        CachePlanes cache = null;
+        try{
+            cache = new CachePlanes(capacidadCache, pathArchivoCache==null ? null : Paths.get(pathArchivoCache));
+        }catch (IOException ex){
+            System.err.println("ERROR: No se pudo leer la caché de planes: " + ex.getMessage());
+            System.exit(2);
+        }
+        AlgoritmoGenetico algMem = new AlgoritmoGenetico(datos);
+        algMem.setNumHilos(numHilos);
+        algMem.setCachePlanes(cache);
+        algMem.ejecutar(datos.getVerbosityLevel());
+        try{
+            cache.persistir();
+        }catch (IOException ex){
+            System.err.println("ERROR: No se pudo guardar la caché de planes: " + ex.getMessage());
+            System.exit(1);
+        }
+        if(datos.getVerbosityLevel()>=0)
+            System.out.println("Caché de planes: " + cache.getAciertosExactos() + " aciertos exactos, " +
+                    cache.getAciertosEstructurales() + " semillas, " + cache.getFallos() + " fallos");
+    }
+
+    public static void ejecutarAlgoritmoConElite(DatosEntrada datos, int numHilos, String pathArchivoElite,
+                                                 int tamElite, int variantesPorSemilla){
+        //Ejecución única del algoritmo partiendo de los tamElite mejores cromosomas de ejecuciones anteriores (y de
+        //variantesPorSemilla mutaciones de cada uno). Al terminar, el archivo élite se reemplaza por los mejores
+        //cromosomas de la población final
+        ArchivoElite elite = new ArchivoElite(Paths.get(pathArchivoElite), tamElite);
+        AlgoritmoGenetico algMem = new AlgoritmoGenetico(datos);
+        algMem.setNumHilos(numHilos);
+        algMem.setVariantesPorSemilla(variantesPorSemilla);
+        try{
+            algMem.setSemillas(elite.cargar(datos));
+        }catch (IOException ex){
+            System.err.println("ERROR: No se pudo leer el archivo élite: " + ex.getMessage());
+            System.exit(2);
+        }
+        if(datos.getVerbosityLevel()>=0)
+            System.out.println("Semillas cargadas del archivo élite: " + algMem.getSemillas().length);
         algMem.ejecutar(datos.getVerbosityLevel());
+        try{
+            elite.guardar(algMem.obtenerMejores(algMem.getTamPob()));
+        }catch (IOException ex){
+            System.err.println("ERROR: No se pudo guardar el archivo élite: " + ex.getMessage());
+            System.exit(1);
+        }
+    }
+
+    public static void ejecutarAlgoritmoConPuntoControl(DatosEntrada datos, int numHilos, String pathPuntoControl,
+                                                        int intervalo, boolean reanudar){
+        //Ejecución única del algoritmo que guarda su estado en pathPuntoControl cada intervalo iteraciones. Si reanudar
+        //está activo y el archivo tiene un punto de control de los mismos datos, continúa desde él
+        AlgoritmoGenetico algMem = new AlgoritmoGenetico(datos);
+        algMem.setNumHilos(numHilos);
+        algMem.setPuntoControl(Paths.get(pathPuntoControl), intervalo);
+        algMem.setReanudar(reanudar);
+        algMem.ejecutar(datos.getVerbosityLevel());
+    }
+
+    public static void ejecutarAlgoritmoSinDuplicados(DatosEntrada datos, int numHilos){
+        //Ejecución única del algoritmo sin cromosomas repetidos en la población: los hijos repetidos se vuelven a mutar
+        //(o se descartan) antes de evaluarse
+        AlgoritmoGenetico algMem = new AlgoritmoGenetico(datos);
+        algMem.setNumHilos(numHilos);
+        algMem.setEvitarDuplicados(true);
+        algMem.ejecutar(datos.getVerbosityLevel());
+        if(datos.getVerbosityLevel()>=0)
+            System.out.println("Hijos repetidos: " + algMem.getHijosRemutados() + " mutados nuevamente, " +
+                    algMem.getHijosDescartados() + " descartados. Evaluaciones: " + algMem.getEvaluacionesRealizadas());
+    }
+
+    public static void ejecutarAlgoritmoLigero(DatosEntrada datos, int numHilos){
+        //Ejecución única del algoritmo evaluando la fitness sin crear los joins intermedios (se calculan solo para los
+        //cromosomas que se imprimen)
+        AlgoritmoGenetico algLigero = new AlgoritmoGenetico(datos);
+        algLigero.setNumHilos(numHilos);
+        algLigero.setEvaluacionLigera(true);
+        algLigero.ejecutar(datos.getVerbosityLevel());
+    }
+
+    public static void ejecutarAlgoritmoVectorial(DatosEntrada datos, int numHilos){
+        //Igual que ejecutarAlgoritmoLigero, pero con el evaluador vectorial (compilar con -Pvectorial y ejecutar con
+        //--add-modules jdk.incubator.vector)
+        if(!EvaluadorCostos.activarVectorial()){
+            System.err.println("ERROR: El evaluador vectorial no está disponible (módulo jdk.incubator.vector)");
+            System.exit(3);
+        }
+        ejecutarAlgoritmoLigero(datos, numHilos);
+    }
+
+    public static void ejecutarAlgoritmoPlano(DatosEntrada datos){
+        //Ejecución única del algoritmo con la población guardada en arreglos planos (para poblaciones muy grandes)
+        AlgoritmoGeneticoPlano algPlano = new AlgoritmoGeneticoPlano(datos);
+        algPlano.ejecutar(datos.getVerbosityLevel());
+    }
+
+    public static void ejecutarModeloIslas(DatosEntrada datos, int numIslas, int intervaloMigracion, int cantMigrantes,
+                                           TopologiaMigracion topologia){
+        //Ejecución del modelo de islas: la población total (tamPob) se reparte entre numIslas poblaciones que evolucionan
+        //en hilos separados e intercambian sus mejores cromosomas cada intervaloMigracion generaciones
+        ModeloIslas modelo = new ModeloIslas(datos, datos.getParamAlg()[0], numIslas, intervaloMigracion, cantMigrantes, topologia);
+        modelo.ejecutar(datos.getVerbosityLevel());
+    }
+
+    public static void ejecutarAlgoritmoAsincrono(DatosEntrada datos, int numHilos){
+        //Ejecución del algoritmo de estado estacionario asíncrono (sin generaciones) con numHilos hilos
+        AlgoritmoAsincrono algAsinc = new AlgoritmoAsincrono(datos, datos.getParamAlg()[0], numHilos);
+        algAsinc.ejecutar(datos.getVerbosityLevel());
+    }
+
+    public static void ejecutarModoDistribuido(String[] args){
+        //Intervalo de migración y cantidad de migrantes usados por el modelo de islas distribuido
+        int intervaloMigracion = 50;
+        int cantMigrantes = 2;
+        DatosEntrada datos = DatosEntrada.getInstance(args.length >= 4 ? args[3] : null);
+        try{
+            if(args[0].equals("--coordinador")){
+                CoordinadorIslas coordinador = new CoordinadorIslas(datos, Integer.parseInt(args[1]),
+                        Integer.parseInt(args[2]), datos.getParamAlg()[0], intervaloMigracion, cantMigrantes);
+                coordinador.ejecutar(datos.getVerbosityLevel());
+            }
+            else{
+                IslaRemota isla = new IslaRemota(args[1], Integer.parseInt(args[2]), datos, datos.getParamAlg()[0]);
+                isla.ejecutar(datos.getVerbosityLevel());
+            }
+        }catch (NumberFormatException ex){
+            System.err.println("ERROR: Argumentos inválidos para el modo distribuido: " + ex.getMessage());
+            System.exit(3);
+        }catch (IOException ex){
+            System.err.println("ERROR: Falló la comunicación del modelo de islas distribuido: " + ex.getMessage());
+            System.exit(5);
+        }
+    }
+
+    public static void ejecutarModoLote(String[] args){
+        //Los resultados se escriben en archivoResultados (un registro por consulta) o, si no se indica, en la salida estándar
+        int numHilos = Runtime.getRuntime().availableProcessors();
+        if(args.length >= 3){
+            try{
+                numHilos = Integer.parseInt(args[2]);
+            }catch (NumberFormatException ex){
+                System.err.println("ERROR: Cantidad de hilos inválida: " + args[2]);
+                System.exit(3);
+            }
+        }
+        List<Path> archivos = null;
+        try{
+            archivos = ProcesadorLotes.listarArchivos(Paths.get(args[1]));
+        }catch (IOException ex){
+            System.err.println("ERROR: No se pudo leer la lista de archivos del lote: " + ex.getMessage());
+            System.exit(2);
+        }
+        ProcesadorLotes procesador = new ProcesadorLotes(numHilos);
+        procesador.ejecutar(archivos, 0);
+        if(args.length >= 4){
+            try(PrintStream salida = new PrintStream(new FileOutputStream(args[3]))){
+                procesador.escribirResultados(salida);
+            }catch (FileNotFoundException ex){
+                System.err.println("ERROR: No se pudo escribir el archivo de resultados: " + ex.getMessage());
+                System.exit(1);
+            }
+        }
+        else procesador.escribirResultados(System.out);
+    }
+
+    public static void ejecutarModoServidor(String[] args){
+        //Por defecto, las optimizaciones usan tantos hilos como procesadores
+        try{
+            int numHilos = args.length >= 3 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            ServidorOptimizacion servidor = new ServidorOptimizacion(Integer.parseInt(args[1]), numHilos);
+            servidor.ejecutar(0);
+        }catch (NumberFormatException ex){
+            System.err.println("ERROR: Argumentos inválidos para el modo servidor: " + ex.getMessage());
+            System.exit(3);
+        }catch (IOException ex){
+            System.err.println("ERROR: Falló el servidor de optimización: " + ex.getMessage());
+            System.exit(5);
+        }
+    }
+
+    public static void ejecutarConversionBinaria(String pathCsv, String pathBinario){
+        try{
+            FormatoBinario.convertir(pathCsv, pathBinario);
+            System.out.println("Archivo binario de datos generado: " + pathBinario);
+        }catch (NumberFormatException | IOException ex){
+            System.err.println(ex.getMessage());
+            System.exit(2);
+        }
+    }
+
+    public static void ejecutarPortafolio(DatosEntrada datos, long presupuestoMiliseg){
+        //Ejecución simultánea de todas las configuraciones de parámetros del archivo de datos, compartiendo la mejor
+        //solución. Se detienen cuando una llega al estancamiento o se agota el presupuesto de tiempo
+        Portafolio portafolio = new Portafolio(datos, datos.getParamAlg(), presupuestoMiliseg, 10);
+        portafolio.ejecutar(datos.getVerbosityLevel());
     }
 
     public static void ejecutarAlgCalibracion(DatosEntrada datos, int cantRepeticiones){
@@ -71,12 +383,8 @@ public class Main {
             //        "|PorcCromCruzados="+config.getPorcCromCruzados()+"|ProbMut="+config.getProbMut()+
             //        "|ProbBusq="+config.getProbBusq()+"|PorcHijosIngresados="+config.getPorcHijosIngresados()+
             //        "|CantVecinosEval="+config.getCantVecinosEvaluados()+"|PorcIterEstanc="+config.getPorcIterEstanc());
-            StringBuilder salida = new StringBuilder();
-            salida.append(config.getNumIter()).append(";").append(config.getTamPob()).append(";")
-                    .append(config.getPorcCromCruzados()).append(";").append(config.getProbMut())
-                    .append(";").append(config.getPorcHijosIngresados()).append(";")
-                    .append(config.getPorcIterEstanc()).append(";|;");
-            AlgoritmoGenetico algMem = new AlgoritmoGenetico(config.getNumIter(), config.getTamPob(), config.getPorcCromCruzados(),
+            StringBuilder salida = CalibradorParalelo.prefijoConfiguracion(config);
+            AlgoritmoGenetico algMem = new AlgoritmoGenetico(datos, config.getNumIter(), config.getTamPob(), config.getPorcCromCruzados(),
                     config.getProbMut(), config.getPorcHijosIngresados(), config.getPorcIterEstanc());
             //Sumas de fitness y tiempos de ejecución
             double sumaFitnessMejorSol= 0;
@@ -102,6 +410,28 @@ public class Main {
         System.out.println("-".repeat(20)+"FIN"+"-".repeat(20));
     }
 
+    public static void ejecutarAlgCalibracionParalela(DatosEntrada datos, int cantRepeticiones, int numHilos,
+                                                      int capacidadMemo){
+        //Igual que ejecutarAlgCalibracion, pero los pares (configuración, repetición) se reparten entre numHilos hilos.
+        //Las líneas se imprimen en el orden de las configuraciones y con el mismo formato. Si capacidadMemo es mayor a 0,
+        //todas las repeticiones comparten una memoria de fitness de ese tamaño (los tiempos dejan de ser independientes)
+        CalibradorParalelo calibrador = new CalibradorParalelo(datos, datos.getParamAlg(), cantRepeticiones, numHilos);
+        MemoFitness memo = capacidadMemo>0 ? new MemoFitness(capacidadMemo) : null;
+        calibrador.setMemoFitness(memo);
+        for(String linea: calibrador.ejecutar()) System.out.println(linea);
+        if(memo!=null)
+            System.out.println("Memoria de fitness: " + memo.getAciertos() + " aciertos, " + memo.getFallos() + " fallos");
+        System.out.println("-".repeat(20)+"FIN"+"-".repeat(20));
+    }
+
+    public static void ejecutarAlgCalibracionRacing(DatosEntrada datos, int cantRepeticiones, int eta, int numHilos){
+        //Calibración por successive halving: solo las combinaciones prometedoras reciben todas las repeticiones y el
+        //numIter completo. Se imprimen las líneas de las finalistas y el ahorro de evaluaciones respecto a la exhaustiva
+        CalibradorRacing calibrador = new CalibradorRacing(datos, datos.getParamAlg(), cantRepeticiones, eta, numHilos);
+        for(String linea: calibrador.ejecutar(datos.getVerbosityLevel())) System.out.println(linea);
+        System.out.println("-".repeat(20)+"FIN"+"-".repeat(20));
+    }
+
     public static void imprimirCombParam(){
         int[] numIter = {5000,10000};
         int[] tamPob = {100,200};
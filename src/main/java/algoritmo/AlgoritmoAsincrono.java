@@ -0,0 +1,222 @@
+package algoritmo;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.CachePrefijos;
+import estructuras_problema.Cromosoma;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+public class AlgoritmoAsincrono {
+    //Algoritmo genético de estado estacionario asíncrono: cada hilo repite continuamente selección por torneo,
+    //casamiento PMX, mutación, cálculo de fitness e ingreso del hijo a la población, sin esperar a los demás hilos
+    //(no existen generaciones). La población es un arreglo de referencias atómicas y la mejor solución se actualiza
+    //mediante compareAndSet.
+    private final AlgoritmoGenetico operadores; //Se usa para aplicar los operadores genéticos con los mismos parámetros
+    private final int tamPob;
+    private final float porcHijosIngresados; //Probabilidad de que un hijo generado ingrese a la población
+    private final int numHilos;
+    private final long maxEvaluaciones; //Equivale a numIter generaciones del algoritmo generacional
+    private final long evaluacionesEstanc; //Equivale a las iteraciones de estancamiento del algoritmo generacional
+    private AtomicReferenceArray<Cromosoma> poblacion;
+    private final AtomicReference<MejorSolucion> mejor = new AtomicReference<>();
+    private final DoubleAdder fitnessSumadaPoblacion = new DoubleAdder();
+    private final AtomicLong evaluaciones = new AtomicLong();
+    private final AtomicLong evaluacionUltimaMejora = new AtomicLong(); //Evaluación en la que se halló el último mejor
+    private double tiempoEjecucion; //Tiempo de ejecución en milisegundos
+
+    private static final class MejorSolucion {
+        //Mejor solución encontrada junto con el índice de la población en el que fue ingresada
+        private final int indice;
+        private final Cromosoma cromosoma;
+        private final double fitness;
+
+        private MejorSolucion(int indice, Cromosoma cromosoma, double fitness) {
+            this.indice = indice;
+            this.cromosoma = cromosoma;
+            this.fitness = fitness;
+        }
+    }
+
+    public AlgoritmoAsincrono(ParametrosAlgoritmo param, int numHilos) {
+        this(DatosEntrada.getInstance(null), param, numHilos);
+    }
+
+    public AlgoritmoAsincrono(DatosEntrada datos, ParametrosAlgoritmo param, int numHilos) {
+        this.operadores = new AlgoritmoGenetico(datos, param.getNumIter(), param.getTamPob(), param.getPorcCromCruzados(),
+                param.getProbMut(), param.getPorcHijosIngresados(), param.getPorcIterEstanc());
+        this.tamPob = param.getTamPob();
+        this.porcHijosIngresados = param.getPorcHijosIngresados();
+        this.numHilos = Math.max(1, numHilos);
+        //Hijos generados por cada generación del algoritmo generacional
+        int hijosPorGeneracion = this.operadores.getCantCromCruzados()/2;
+        this.maxEvaluaciones = (long) param.getNumIter()*hijosPorGeneracion;
+        int cantIterEstanc = (int) Math.min(Math.ceil(param.getNumIter()*param.getPorcIterEstanc()), param.getNumIter());
+        this.evaluacionesEstanc = (long) cantIterEstanc*hijosPorGeneracion;
+    }
+
+    public Cromosoma ejecutar(int verbosityLevel){
+        long tiempoIni = System.nanoTime();
+        this.poblacion = new AtomicReferenceArray<>(tamPob);
+        this.fitnessSumadaPoblacion.reset();
+        this.evaluaciones.set(0);
+        this.evaluacionUltimaMejora.set(0);
+        this.mejor.set(new MejorSolucion(-1, null, -1));
+        SplittableRandom randomBase = new SplittableRandom();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(numHilos);
+        try{
+            //Inicialización de la población repartida entre los hilos
+            ArrayList<Future<?>> tareas = new ArrayList<>();
+            for(int h=0; h<numHilos; h++){
+                int primerIndice = h;
+                tareas.add(ejecutor.submit(() -> inicializarPoblacion(primerIndice)));
+            }
+            esperar(tareas);
+            if(verbosityLevel>=0) System.out.println("Población inicializada. Fitness del mejor cromosoma: " + mejor.get().fitness);
+            //Evolución asíncrona de la población
+            tareas.clear();
+            for(int h=0; h<numHilos; h++){
+                SplittableRandom random = randomBase.split();
+                tareas.add(ejecutor.submit(() -> evolucionar(random)));
+            }
+            esperar(tareas);
+        }finally {
+            ejecutor.shutdown();
+        }
+        this.tiempoEjecucion = (System.nanoTime()-tiempoIni)/(1000d*1000d);
+        long totalEvaluaciones = Math.min(evaluaciones.get(), maxEvaluaciones);
+        if(verbosityLevel>=0){
+            if(totalEvaluaciones<maxEvaluaciones) System.out.println("Optimización asíncrona terminada por estancamiento");
+            else System.out.println("Optimización asíncrona concluida exitosamente");
+            System.out.println("Hilos: " + numHilos + "|tamPob: " + tamPob + "|evaluaciones: " + totalEvaluaciones +
+                    "|evaluaciones por segundo: " + getEvaluacionesPorSegundo());
+            System.out.println("Tiempo de ejecución: " + tiempoEjecucion + "ms");
+            System.out.println("Fitness de la mejor solución:\t" + mejor.get().fitness);
+            System.out.println("Fitness promedio de la población final:\t" + (fitnessSumadaPoblacion.sum()/tamPob));
+            System.out.println("Mejor solución general:");
+            System.out.println(mejor.get().cromosoma);
+        }
+        return mejor.get().cromosoma;
+    }
+
+    private void inicializarPoblacion(int primerIndice){
+        for(int i=primerIndice; i<tamPob; i+=numHilos){
+            Cromosoma cromosomaNuevo = new Cromosoma(operadores.getDatos());
+            double fitnessCrom = operadores.evaluar(cromosomaNuevo);
+            fitnessSumadaPoblacion.add(fitnessCrom);
+            poblacion.set(i, cromosomaNuevo);
+            actualizarMejor(i, cromosomaNuevo, fitnessCrom, 0);
+        }
+    }
+
+    private void evolucionar(SplittableRandom random){
+        while(true){
+            long evaluacion = evaluaciones.incrementAndGet();
+            //Condición de parada 1: límite de evaluaciones; condición de parada 2: estancamiento
+            if(evaluacion>maxEvaluaciones) break;
+            if(evaluacion-evaluacionUltimaMejora.get()>evaluacionesEstanc) break;
+            Cromosoma primerPadre = seleccionarXTorneo(random);
+            Cromosoma segundoPadre = seleccionarXTorneo(random);
+            Cromosoma hijo = operadores.cruzarPar(primerPadre, segundoPadre, random);
+            hijo = operadores.mutarCromosoma(hijo, random);
+            double fitnessHijo = operadores.evaluar(hijo);
+            if(random.nextDouble()<porcHijosIngresados) ingresarHijo(hijo, fitnessHijo, evaluacion, random);
+        }
+    }
+
+    private Cromosoma seleccionarXTorneo(SplittableRandom random){
+        int indice1 = random.nextInt(tamPob);
+        int indice2;
+        do{
+            indice2 = random.nextInt(tamPob);
+        }while (indice1 == indice2);
+        Cromosoma candidato1 = poblacion.get(indice1);
+        Cromosoma candidato2 = poblacion.get(indice2);
+        return Double.compare(candidato1.getFitness(), candidato2.getFitness())>=0 ? candidato1 : candidato2;
+    }
+
+    private void ingresarHijo(Cromosoma hijo, double fitnessHijo, long evaluacion, SplittableRandom random){
+        //El hijo reemplaza a un cromosoma aleatorio que no sea el mejor actual. Si el mejor cambia de posición entre la
+        //lectura y el reemplazo, este podría salir de la población, pero se conserva en la referencia atómica del mejor
+        int indiceMejor = mejor.get().indice;
+        int indicePob;
+        do{ indicePob = random.nextInt(tamPob); }while(indicePob==indiceMejor && tamPob>1);
+        Cromosoma saliente = poblacion.getAndSet(indicePob, hijo);
+        fitnessSumadaPoblacion.add(fitnessHijo-saliente.getFitness());
+        actualizarMejor(indicePob, hijo, fitnessHijo, evaluacion);
+    }
+
+    private void actualizarMejor(int indice, Cromosoma cromosoma, double fitnessCrom, long evaluacion){
+        while(true){
+            MejorSolucion actual = mejor.get();
+            if(Double.compare(fitnessCrom, actual.fitness)<=0) return;
+            if(mejor.compareAndSet(actual, new MejorSolucion(indice, cromosoma, fitnessCrom))){
+                evaluacionUltimaMejora.accumulateAndGet(evaluacion, Math::max);
+                return;
+            }
+        }
+    }
+
+    private static void esperar(ArrayList<Future<?>> tareas){
+        for(Future<?> tarea: tareas){
+            try{
+                tarea.get();
+            }catch (InterruptedException ex){
+                Thread.currentThread().interrupt();
+                return;
+            }catch (ExecutionException ex){
+                System.err.println("ERROR: Falló un hilo del algoritmo asíncrono: " + ex.getCause());
+                ex.printStackTrace();
+                System.exit(4);
+            }
+        }
+    }
+
+    public Cromosoma[] getPoblacion() {
+        Cromosoma[] copia = new Cromosoma[tamPob];
+        for(int i=0; i<tamPob; i++) copia[i] = poblacion.get(i);
+        return copia;
+    }
+
+    public Cromosoma getMejorSolucion() {
+        return mejor.get().cromosoma;
+    }
+
+    public double getFitnessMejorSolucion() {
+        return mejor.get().fitness;
+    }
+
+    public double getFitnessSumadaPoblacion() {
+        return fitnessSumadaPoblacion.sum();
+    }
+
+    public long getEvaluaciones() {
+        return Math.min(evaluaciones.get(), maxEvaluaciones);
+    }
+
+    public double getEvaluacionesPorSegundo() {
+        return tiempoEjecucion>0 ? getEvaluaciones()/(tiempoEjecucion/1000d) : 0;
+    }
+
+    public double getTiempoEjecucion() {
+        return tiempoEjecucion;
+    }
+
+    public int getNumHilos() {
+        return numHilos;
+    }
+
+    public void setCachePrefijos(CachePrefijos cachePrefijos) {
+        //La caché es compartida por todos los hilos (es segura para acceso concurrente)
+        this.operadores.setCachePrefijos(cachePrefijos);
+    }
+}
@@ -2,14 +2,25 @@ package algoritmo;
 
 import datos_param.DatosEntrada;
 import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.CachePlanes;
+import estructuras_problema.CachePrefijos;
+import estructuras_problema.CodificacionGen;
 import estructuras_problema.Cromosoma;
+import estructuras_problema.MemoFitness;
+import estructuras_problema.TablaZobrist;
 
+import java.io.IOException;
 import java.math.RoundingMode;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class AlgoritmoGenetico {
+    private final DatosEntrada datos; //Problema a optimizar; se comparte con todos los cromosomas creados por el algoritmo
     private final int numIter;
     private final int tamPob;
     private final float porcCromCruzados;
@@ -26,20 +37,47 @@ public class AlgoritmoGenetico {
     private double tiempoEjecucion; //Tiempo de ejecución en milisegundos
     private double fitnessPromMejores10; //Fitness promedio de las 10 mejores soluciones finales
     private double fitnessPromMejores20; //Fitness promedio de las 20 mejores soluciones finales
+    private int iteracionesEjecutadas; //Iteraciones realizadas en la última ejecución (puede ser menor a numIter)
+    private int numHilos = 1; //Hilos usados para generar los hijos de cada iteración (1: ejecución secuencial)
+    private CachePrefijos cachePrefijos; //Caché de joins de prefijos compartidos (null: sin caché)
+    private MemoFitness memoFitness; //Memoria de cromosomas ya evaluados; puede compartirse entre ejecuciones (null: sin memoria)
+    //Evaluación ligera: la fitness se calcula con EvaluadorCostos sin crear objetos Tabla (no usa la caché de prefijos)
+    private boolean evaluacionLigera;
+    //Modo sin duplicados: cada cromosoma lleva un hash de Zobrist y la población mantiene la cantidad de cromosomas con
+    //cada hash. Los hijos repetidos se vuelven a mutar antes de evaluarse (null: se permiten duplicados)
+    private TablaZobrist tablaZobrist;
+    private HashMap<Long, Integer> hashesPoblacion;
+    private static final int INTENTOS_REMUTACION = 5; //Mutaciones adicionales antes de descartar un hijo repetido
+    private static final int INTENTOS_POBLACION_INICIAL = 100000; //Cromosomas aleatorios para reemplazar un inicial repetido
+    static final long SEMILLA_ZOBRIST = 0x5DEECE66DL;
+    private final AtomicLong hijosRemutados = new AtomicLong();
+    private final AtomicLong hijosDescartados = new AtomicLong();
+    //Genes de cromosomas que se incluyen en la población inicial (los inválidos para los datos se ignoran)
+    private int[][] semillas = new int[0][];
+    private int variantesPorSemilla; //Cromosomas adicionales por semilla, obtenidos mutando la semilla (inversión)
+    //Caché de planes: si el problema ya se optimizó, se devuelve el plan guardado sin ejecutar el algoritmo; si se
+    //optimizó uno con la misma estructura, su plan se usa como semilla (null: sin caché)
+    private CachePlanes cachePlanes;
+    private boolean planDesdeCache; //Si la última ejecución devolvió un plan de la caché
+    //Punto de control: cada intervaloPuntoControl iteraciones se guarda el estado de la ejecución en este archivo y, si
+    //reanudar está activo, la ejecución continúa desde el último punto de control guardado (null: sin puntos de control)
+    private Path archivoPuntoControl;
+    private int intervaloPuntoControl;
+    private boolean reanudar;
+    private boolean reanudada; //Si la última ejecución continuó desde un punto de control
 
     public AlgoritmoGenetico() {
+        this(DatosEntrada.getInstance(null));
+    }
+
+    public AlgoritmoGenetico(DatosEntrada datos) {
         //Se accede a los datos de entrada para copiar los parámetros de ejecución
-        ParametrosAlgoritmo param = DatosEntrada.getInstance(null).getParamAlg()[0];
+        this.datos = datos;
+        ParametrosAlgoritmo param = datos.getParamAlg()[0];
         this.numIter = param.getNumIter();
         this.tamPob = param.getTamPob();
         this.porcCromCruzados = param.getPorcCromCruzados();
-        int cantCruce = (int) (tamPob*porcCromCruzados);
-        //Corrección de la cantidad de cromosomas a cruzar (número par que se encuentre dentro del tamPob)
-        if(cantCruce%2==1) {
-            if(cantCruce + 1 > tamPob) this.cantCromCruzados = cantCruce - 1;
-            else this.cantCromCruzados = cantCruce + 1;
-        }
-        else this.cantCromCruzados = cantCruce;
+        this.cantCromCruzados = calcularCantCromCruzados(this.tamPob, this.porcCromCruzados);
         if(this.cantCromCruzados<2){
             System.err.println("ERROR: No es posible realizar el cruce con los parámetros especificados (tamPob: " +
                     this.tamPob + ", porcCromCruzados: " + this.porcCromCruzados + ")");
@@ -47,9 +85,7 @@ public class AlgoritmoGenetico {
         }
         this.probMut = param.getProbMut();
         this.porcHijosIngresados = param.getPorcHijosIngresados();
-        int cantIngreso = (int) ((cantCromCruzados/2)*porcHijosIngresados);
-        //Corrección de la cantidad de hijos a ingresar
-        if(cantIngreso>cantCromCruzados/2) cantIngreso = cantCromCruzados/2;
+        int cantIngreso = calcularCantHijosIngresados(this.cantCromCruzados, this.porcHijosIngresados);
         if(cantIngreso<=0){
             System.err.println("ERROR: No es posible realizar la evolución de población con los parámetros especificados " +
                     "(cantCromCruzados: " + this.cantCromCruzados + ", porcHijosIngresados: " + this.porcHijosIngresados + ")");
@@ -61,16 +97,17 @@ public class AlgoritmoGenetico {
 
     public AlgoritmoGenetico(int numIter, int tamPob, float porcCromCruzados, float probMut, float porcHijosIngresados,
                              float porcIterEstancamiento) {
+        this(DatosEntrada.getInstance(null), numIter, tamPob, porcCromCruzados, probMut, porcHijosIngresados,
+                porcIterEstancamiento);
+    }
+
+    public AlgoritmoGenetico(DatosEntrada datos, int numIter, int tamPob, float porcCromCruzados, float probMut,
+                             float porcHijosIngresados, float porcIterEstancamiento) {
+        this.datos = datos;
         this.numIter = numIter;
         this.tamPob = tamPob;
         this.porcCromCruzados = porcCromCruzados;
-        int cantCruce = (int) (tamPob*porcCromCruzados);
-        //Corrección de la cantidad de cromosomas a cruzar (número par que se encuentre dentro del tamPob)
-        if(cantCruce%2==1) {
-            if(cantCruce + 1 > tamPob) this.cantCromCruzados = cantCruce - 1;
-            else this.cantCromCruzados = cantCruce + 1;
-        }
-        else this.cantCromCruzados = cantCruce;
+        this.cantCromCruzados = calcularCantCromCruzados(this.tamPob, this.porcCromCruzados);
         if(this.cantCromCruzados<2){
             System.err.println("ERROR: No es posible realizar el cruce con los parámetros especificados (tamPob: " +
                     this.tamPob + ", porcCromCruzados: " + this.porcCromCruzados + ")");
@@ -78,9 +115,7 @@ public class AlgoritmoGenetico {
         }
         this.probMut = probMut;
         this.porcHijosIngresados = porcHijosIngresados;
-        int cantIngreso = (int) ((cantCromCruzados/2)*porcHijosIngresados);
-        //Corrección de la cantidad de hijos a ingresar
-        if(cantIngreso>cantCromCruzados/2) cantIngreso = cantCromCruzados/2;
+        int cantIngreso = calcularCantHijosIngresados(this.cantCromCruzados, this.porcHijosIngresados);
         if(cantIngreso<=0){
             System.err.println("ERROR: No es posible realizar la evolución de población con los parámetros especificados " +
                     "(cantCromCruzados: " + this.cantCromCruzados + ", porcHijosIngresados: " + this.porcHijosIngresados + ")");
@@ -90,6 +125,37 @@ public class AlgoritmoGenetico {
         this.porcIterEstancamiento = porcIterEstancamiento;
     }
 
+    public static int calcularCantCromCruzados(int tamPob, float porcCromCruzados){
+        int cantCruce = (int) (tamPob*porcCromCruzados);
+        //Corrección de la cantidad de cromosomas a cruzar (número par que se encuentre dentro del tamPob)
+        if(cantCruce%2==1) {
+            if(cantCruce + 1 > tamPob) return cantCruce - 1;
+            else return cantCruce + 1;
+        }
+        return cantCruce;
+    }
+
+    static int calcularCantHijosIngresados(int cantCromCruzados, float porcHijosIngresados){
+        int cantIngreso = (int) ((cantCromCruzados/2)*porcHijosIngresados);
+        //Corrección de la cantidad de hijos a ingresar
+        if(cantIngreso>cantCromCruzados/2) cantIngreso = cantCromCruzados/2;
+        return cantIngreso;
+    }
+
+    static int calcularCantIterEstanc(int numIter, float porcIterEstancamiento){
+        //Cantidad de iteraciones seguidas sin mejora que deben acumularse para considerarse que existe estancamiento
+        int cantIterEstanc = (int) Math.ceil(numIter*porcIterEstancamiento);
+        if(cantIterEstanc> numIter) cantIterEstanc = numIter;
+        return cantIterEstanc;
+    }
+
+    public static boolean esConfiguracionValida(ParametrosAlgoritmo param){
+        //Mismas condiciones que verifican los constructores (que terminan el programa si no se cumplen), para validar
+        //configuraciones recibidas desde fuera del programa
+        int cantCromCruzados = calcularCantCromCruzados(param.getTamPob(), param.getPorcCromCruzados());
+        return cantCromCruzados>=2 && calcularCantHijosIngresados(cantCromCruzados, param.getPorcHijosIngresados())>0;
+    }
+
     public Cromosoma ejecutar(int verbosityLevel){
         //Verbosity level:
         //<0: Sin mensajes impresos de la ejecución
@@ -102,87 +168,101 @@ public class AlgoritmoGenetico {
         df2.setRoundingMode(RoundingMode.HALF_UP);
         df2.setPositivePrefix("+");
         //Inicialización de la población de acuerdo al tamaño (tamPob)
-        if(verbosityLevel>=1) System.out.println("Inicializando población y calculando fitness");
         long tiempoIni = System.nanoTime();
-        inicializarPoblacion();
-        double fitnessPrimerMejor = this.fitnessMejorSolucion;
-        Cromosoma primerMejor = this.mejorSolucion;
+        this.planDesdeCache = false;
+        int[][] semillasEjecucion = this.semillas;
+        if(this.cachePlanes!=null){
+            Cromosoma planGuardado = this.cachePlanes.buscar(this.datos);
+            if(planGuardado!=null) return usarPlanGuardado(planGuardado, tiempoIni, verbosityLevel);
+            int[] semillaCache = this.cachePlanes.buscarSemilla(this.datos);
+            if(semillaCache!=null){
+                if(verbosityLevel>=1) System.out.println("Se usará un plan de la caché como semilla de la población");
+                semillasEjecucion = Arrays.copyOf(this.semillas, this.semillas.length+1);
+                semillasEjecucion[this.semillas.length] = semillaCache;
+            }
+        }
+        //Fuente de aleatoriedad
+        SplittableRandom random = new SplittableRandom();
+        //Contador de estancamiento
+        int contadorEstanc = 0;
+        int iteracionInicial = 1;
+        this.iteracionesEjecutadas = 0;
+        this.reanudada = false;
+        PuntoControl puntoControl = abrirPuntoControl();
+        Cromosoma primerMejor;
+        if(puntoControl!=null && this.reanudar && puntoControl.esValido()){
+            //Se restaura el estado guardado y el generador aleatorio continúa desde la semilla del punto de control
+            restaurarPuntoControl(puntoControl);
+            primerMejor = puntoControl.leerPrimerMejor(this.datos);
+            contadorEstanc = puntoControl.getContadorEstanc();
+            iteracionInicial = puntoControl.getIteracion()+1;
+            this.iteracionesEjecutadas = puntoControl.getIteracion();
+            random = new SplittableRandom(puntoControl.getSemillaRandom());
+            this.reanudada = true;
+            if(verbosityLevel>=0) System.out.println("Ejecución reanudada desde el punto de control de la iteración " +
+                    puntoControl.getIteracion() + ". Fitness del mejor cromosoma: " + this.fitnessMejorSolucion);
+        }
+        else{
+            if(verbosityLevel>=1) System.out.println("Inicializando población y calculando fitness");
+            inicializarPoblacion(semillasEjecucion);
+            primerMejor = this.mejorSolucion;
+            if(verbosityLevel>=0) System.out.println("Población inicializada. Fitness del mejor cromosoma: " + this.fitnessMejorSolucion);
+        }
+        double fitnessPrimerMejor = primerMejor.getFitness();
         //Fitness sumado de la población anterior a la actual, inicia siendo la de la población original
         double fitnessSumadaAnterior = this.fitnessSumadaPoblacion;
-        if(verbosityLevel>=0) System.out.println("Población inicializada. Fitness del mejor cromosoma: " + this.fitnessMejorSolucion);
         if(verbosityLevel>=0) System.out.println("Inicio de optimización...");
         if(verbosityLevel>=2)
             System.out.println("=".repeat(30));
         //Ahora se inician las iteraciones
-        //Fuente de aleatoriedad
-        SplittableRandom random = new SplittableRandom();
         //Condición de parada 1: estancamiento
         //Se calcula la cantidad de iteraciones seguidas que deben acumularse para considerarse que existe estancamiento
-        int cantIterEstanc = (int) Math.ceil(this.numIter*this.porcIterEstancamiento);
-        if(cantIterEstanc> this.numIter) cantIterEstanc = this.numIter;
-        //Contador de estancamiento
-        int contadorEstanc = 0;
-        for (int i=1; i<=numIter;i++){ //Condición de parada 2: Límite de iteraciones
-            if(verbosityLevel>=2)
-                System.out.println("Inicio de iteración " + i + ". Seleccionando padres...");
-            //Selección de padres mediante método de ruleta
-            Cromosoma[] arrPadres = seleccionXTorneo(random);
-            if(verbosityLevel>=2)
-                System.out.println(cantCromCruzados + " padres seleccionados");
-            //Cruce/casamiento de los padres para producir hijos
-            if(verbosityLevel>=2)
-                System.out.println("Generando hijo(s) mediante casamiento (Partially Mapped Crossover)");
-            Cromosoma[] arrHijos = casamientoPMX(arrPadres, random);
-            if(verbosityLevel>=2)
-                System.out.println((cantCromCruzados/2) + " hijo(s) generado(s) mediante casamiento");
-            //Mutación de los cromosomas hijos de forma probabilística
-            if(verbosityLevel>=2)
-                System.out.println("Iniciando mutación probabilística de hijos mediante Swap Mutation");
-            arrHijos = inversionMutation(arrHijos, verbosityLevel, random);
-            //Cálculo de fitness de los hijos (si se aplicó búsqueda local algunos fitness ya deberían estar calculadas)
-            if(verbosityLevel>=2)
-                System.out.println("Calculando fitness/calidad de los cromosomas hijos");
-            for(int j=0; j< arrHijos.length;j++) arrHijos[j].getFitness();
-            if(verbosityLevel>=2)
-                System.out.println("Fitness calculada. Iniciando evolución de población");
-            boolean cambioMejorCrom = evolPoblacion(arrHijos, random);
-            if(verbosityLevel>=2)
-                System.out.println("Obtenida nueva generación de la población. Se realizaron "
-                        + this.cantHijosIngresados + " reemplazos");
-            //Generación de un resumen de la iteración
-            double porcMejoraFitness = (this.fitnessSumadaPoblacion-fitnessSumadaAnterior)/fitnessSumadaAnterior;
-            //Actualizar fitness sumado de la población anterior
-            fitnessSumadaAnterior = this.fitnessSumadaPoblacion;
-            //Verificar parada por estancamiento
-            if(cambioMejorCrom) contadorEstanc=0;
-            else contadorEstanc++;
-            if(verbosityLevel>=2) System.out.println("--------------RESUMEN ITERACIÓN--------------");
-            if(verbosityLevel>=1)
-                System.out.println("Iteración " + i + " | Mejor fitness: " + this.fitnessMejorSolucion +
-                        " | Fitness prom. población: " + df1.format(this.fitnessSumadaPoblacion/this.tamPob) +
-                        " | % mejora fitness población: " + df2.format(porcMejoraFitness*100) + "%" +
-                        " | Nueva mejor solución? " + (cambioMejorCrom?"SI":"NO") +
-                        " | Contador estancamiento: " + contadorEstanc + "/" + cantIterEstanc);
-            if(verbosityLevel>=2)
-                System.out.println("=".repeat(30));
-            if(contadorEstanc==cantIterEstanc) break;
+        int cantIterEstanc = calcularCantIterEstanc(this.numIter, this.porcIterEstancamiento);
+        //Una ejecución reanudada que ya se había detenido por estancamiento no realiza más iteraciones
+        if(this.reanudada && contadorEstanc==cantIterEstanc) iteracionInicial = numIter+1;
+        //Pool de hilos para la generación de hijos en paralelo (solo si se configuró más de un hilo)
+        ForkJoinPool poolHilos = this.numHilos>1 ? new ForkJoinPool(this.numHilos) : null;
+        //El pool se cierra aunque la generación lance una excepción (p. ej. ErrorEvaluacion)
+        try{
+            for (int i=iteracionInicial; i<=numIter;i++){ //Condición de parada 2: Límite de iteraciones
+                if(verbosityLevel>=2)
+                    System.out.println("Inicio de iteración " + i + ". Seleccionando padres...");
+                boolean cambioMejorCrom = ejecutarGeneracion(random, poolHilos, verbosityLevel);
+                this.iteracionesEjecutadas = i;
+                //Generación de un resumen de la iteración
+                double porcMejoraFitness = (this.fitnessSumadaPoblacion-fitnessSumadaAnterior)/fitnessSumadaAnterior;
+                //Actualizar fitness sumado de la población anterior
+                fitnessSumadaAnterior = this.fitnessSumadaPoblacion;
+                //Verificar parada por estancamiento
+                if(cambioMejorCrom) contadorEstanc=0;
+                else contadorEstanc++;
+                if(puntoControl!=null && i%this.intervaloPuntoControl==0){
+                    //El generador se reinicia con una semilla nueva que se guarda, para poder continuar la misma secuencia
+                    long semilla = random.nextLong();
+                    random = new SplittableRandom(semilla);
+                    puntoControl.escribir(i, contadorEstanc, this.indiceMejorSolucion, semilla, this.fitnessSumadaPoblacion,
+                            primerMejor, this.mejorSolucion, this.poblacion);
+                }
+                if(verbosityLevel>=2) System.out.println("--------------RESUMEN ITERACIÓN--------------");
+                if(verbosityLevel>=1)
+                    System.out.println("Iteración " + i + " | Mejor fitness: " + this.fitnessMejorSolucion +
+                            " | Fitness prom. población: " + df1.format(this.fitnessSumadaPoblacion/this.tamPob) +
+                            " | % mejora fitness población: " + df2.format(porcMejoraFitness*100) + "%" +
+                            " | Nueva mejor solución? " + (cambioMejorCrom?"SI":"NO") +
+                            " | Contador estancamiento: " + contadorEstanc + "/" + cantIterEstanc);
+                if(verbosityLevel>=2)
+                    System.out.println("=".repeat(30));
+                if(contadorEstanc==cantIterEstanc) break;
+            }
+        }finally {
+            if(poolHilos!=null) poolHilos.shutdown();
         }
         //Culminada la optimización, se calcula el tiempo de ejecución
         long tiempoFin = System.nanoTime();
         double tiempoMiliseg = (tiempoFin-tiempoIni)/(1000d*1000d);
         //Se guarda el tiempo de ejecución
         this.tiempoEjecucion = tiempoMiliseg;
-        //Se ordena la población descendentemente por fitness
-        Arrays.sort(poblacion,new ComparadorCromosomas());
-        //Se calcula el fitness promedio de las mejores 10 y 20 soluciones
-        double sumaMejoresFitness= 0;
-        this.fitnessPromMejores10=0;
-        this.fitnessPromMejores20=0;
-        for(int i=0; i<Math.min(tamPob,20);i++){
-            sumaMejoresFitness+= poblacion[i].getFitness();
-            if(i==9) fitnessPromMejores10 = sumaMejoresFitness/10;
-            if(i==19) fitnessPromMejores20 = sumaMejoresFitness/20;
-        }
+        calcularMejoresFinales();
         double fitnessPeorCromosoma = poblacion[poblacion.length-1].getFitness();
         if(verbosityLevel>=0) {
             if (contadorEstanc == cantIterEstanc) System.out.println("Optimización terminada por estancamiento");
@@ -204,16 +284,150 @@ public class AlgoritmoGenetico {
             System.out.println("Mejor solución general:");
             System.out.println(this.mejorSolucion);
         }
+        if(this.cachePlanes!=null) this.cachePlanes.guardar(this.datos, this.mejorSolucion);
+        return this.mejorSolucion;
+    }
+
+    private PuntoControl abrirPuntoControl(){
+        if(this.archivoPuntoControl==null) return null;
+        try{
+            PuntoControl puntoControl = new PuntoControl(this.archivoPuntoControl, this.datos, this.tamPob);
+            if(this.reanudar && !puntoControl.estaVacio() && !puntoControl.esValido()){
+                System.err.println("ERROR: El punto de control " + this.archivoPuntoControl + " no corresponde a los " +
+                        "datos de entrada y parámetros de la ejecución");
+                System.exit(3);
+            }
+            return puntoControl;
+        }catch (IOException ex){
+            System.err.println("ERROR: No se pudo abrir el archivo del punto de control: " + ex.getMessage());
+            System.exit(1);
+        }
+        return null;
+    }
+
+    private void restaurarPuntoControl(PuntoControl puntoControl){
+        this.poblacion = puntoControl.leerPoblacion(this.datos);
+        this.fitnessSumadaPoblacion = puntoControl.getFitnessSumada();
+        this.indiceMejorSolucion = puntoControl.getIndiceMejor();
+        this.mejorSolucion = puntoControl.leerMejorSolucion(this.datos, this.poblacion);
+        this.fitnessMejorSolucion = this.mejorSolucion.getFitness();
+        this.hashesPoblacion = this.tablaZobrist!=null ? new HashMap<>() : null;
+        if(this.tablaZobrist!=null) for(Cromosoma cromosoma: this.poblacion) agregarHashPoblacion(cromosoma);
+        this.hijosRemutados.set(0);
+        this.hijosDescartados.set(0);
+    }
+
+    private Cromosoma usarPlanGuardado(Cromosoma planGuardado, long tiempoIni, int verbosityLevel){
+        //No se genera población: queda una población de un solo cromosoma (el plan), para que los métodos que consultan
+        //la población (obtenerMejores, calcularMejoresFinales, etc.) sigan funcionando
+        this.planDesdeCache = true;
+        this.poblacion = new Cromosoma[]{planGuardado};
+        this.fitnessSumadaPoblacion = planGuardado.getFitness();
+        this.mejorSolucion = planGuardado;
+        this.fitnessMejorSolucion = planGuardado.getFitness();
+        this.indiceMejorSolucion = 0;
+        this.hashesPoblacion = this.tablaZobrist!=null ? new HashMap<>() : null;
+        if(this.tablaZobrist!=null) agregarHashPoblacion(planGuardado);
+        this.hijosRemutados.set(0);
+        this.hijosDescartados.set(0);
+        this.iteracionesEjecutadas = 0;
+        calcularMejoresFinales();
+        this.tiempoEjecucion = (System.nanoTime()-tiempoIni)/(1000d*1000d);
+        if(verbosityLevel>=0){
+            System.out.println("Plan recuperado de la caché de planes (no se ejecutó la optimización)");
+            System.out.println("Tiempo de ejecución: " + this.tiempoEjecucion + "ms");
+            System.out.println("Fitness de la mejor solución:\t" + this.fitnessMejorSolucion);
+            System.out.println("Mejor solución general:");
+            System.out.println(this.mejorSolucion);
+        }
         return this.mejorSolucion;
     }
 
+    public boolean ejecutarGeneracion(SplittableRandom random, ForkJoinPool poolHilos, int verbosityLevel){
+        //Ejecuta una única generación (selección, casamiento, mutación, evaluación y evolución de la población).
+        //Devuelve true si se encontró un nuevo mejor cromosoma. Si poolHilos es null, los hijos se generan en el hilo actual
+        //Selección de padres mediante método de ruleta
+        Cromosoma[] arrPadres = seleccionXTorneo(random);
+        if(verbosityLevel>=2)
+            System.out.println(cantCromCruzados + " padres seleccionados");
+        Cromosoma[] arrHijos;
+        if(poolHilos!=null){
+            //Casamiento, mutación y cálculo de fitness de cada par de padres en paralelo
+            if(verbosityLevel>=2)
+                System.out.println("Generando, mutando y evaluando hijo(s) en paralelo (" + this.numHilos + " hilos)");
+            arrHijos = generarHijosParalelo(arrPadres, poolHilos, random);
+        }
+        else{
+            //Cruce/casamiento de los padres para producir hijos
+            if(verbosityLevel>=2)
+                System.out.println("Generando hijo(s) mediante casamiento (Partially Mapped Crossover)");
+            arrHijos = casamientoPMX(arrPadres, random);
+            if(verbosityLevel>=2)
+                System.out.println((cantCromCruzados/2) + " hijo(s) generado(s) mediante casamiento");
+            //Mutación de los cromosomas hijos de forma probabilística
+            if(verbosityLevel>=2)
+                System.out.println("Iniciando mutación probabilística de hijos mediante Swap Mutation");
+            arrHijos = inversionMutation(arrHijos, verbosityLevel, random);
+            //Los hijos que ya estén en la población se vuelven a mutar (o se descartan) antes de evaluarse
+            if(this.tablaZobrist!=null) arrHijos = descartarDuplicados(arrHijos, random);
+            //Cálculo de fitness de los hijos (si se aplicó búsqueda local algunos fitness ya deberían estar calculadas)
+            if(verbosityLevel>=2)
+                System.out.println("Calculando fitness/calidad de los cromosomas hijos");
+            for(int j=0; j< arrHijos.length;j++) evaluar(arrHijos[j]);
+        }
+        if(verbosityLevel>=2)
+            System.out.println("Fitness calculada. Iniciando evolución de población");
+        boolean cambioMejorCrom = evolPoblacion(arrHijos, random);
+        if(verbosityLevel>=2)
+            System.out.println("Obtenida nueva generación de la población. Se realizaron "
+                    + this.cantHijosIngresados + " reemplazos");
+        return cambioMejorCrom;
+    }
+
+    public void calcularMejoresFinales(){
+        //Se ordena la población descendentemente por fitness
+        Arrays.sort(poblacion,new ComparadorCromosomas());
+        //Se calcula el fitness promedio de las mejores 10 y 20 soluciones
+        double sumaMejoresFitness= 0;
+        this.fitnessPromMejores10=0;
+        this.fitnessPromMejores20=0;
+        for(int i=0; i<Math.min(poblacion.length,20);i++){
+            sumaMejoresFitness+= poblacion[i].getFitness();
+            if(i==9) fitnessPromMejores10 = sumaMejoresFitness/10;
+            if(i==19) fitnessPromMejores20 = sumaMejoresFitness/20;
+        }
+    }
+
     public void inicializarPoblacion(){
+        inicializarPoblacion(this.semillas);
+    }
+
+    private void inicializarPoblacion(int[][] semillas){
+        //Los primeros cromosomas son las semillas válidas y sus variantes (hasta tamPob) y el resto son aleatorios
+        this.hashesPoblacion = this.tablaZobrist!=null ? new HashMap<>() : null;
+        Cromosoma[] iniciales = crearCromosomasSemilla(filtrarSemillas(semillas));
         this.fitnessMejorSolucion = -1;
         this.poblacion = new Cromosoma[tamPob];
         this.fitnessSumadaPoblacion = 0;
+        this.hijosRemutados.set(0);
+        this.hijosDescartados.set(0);
         for(int i=0; i<tamPob; i++){
-            Cromosoma cromosomaNuevo = new Cromosoma();
-            double fitnessCrom = cromosomaNuevo.getFitness();
+            Cromosoma cromosomaNuevo = i<iniciales.length ? iniciales[i] : new Cromosoma(this.datos);
+            if(this.tablaZobrist!=null){
+                //Se generan otros cromosomas aleatorios mientras el nuevo ya esté en la población. Si no se encuentra
+                //uno distinto, probablemente tamPob supera la cantidad de planes posibles del problema
+                int intentos = 0;
+                while(this.hashesPoblacion.containsKey(hashZobrist(cromosomaNuevo))){
+                    if(++intentos>INTENTOS_POBLACION_INICIAL){
+                        System.err.println("ERROR: No se pudo generar una población inicial sin repetidos (se obtuvieron " +
+                                i + " cromosomas distintos de " + tamPob + ")");
+                        System.exit(3);
+                    }
+                    cromosomaNuevo = new Cromosoma(this.datos);
+                }
+                agregarHashPoblacion(cromosomaNuevo);
+            }
+            double fitnessCrom = evaluar(cromosomaNuevo);
             this.fitnessSumadaPoblacion += fitnessCrom;
             this.poblacion[i] = cromosomaNuevo;
             if(Double.compare(fitnessCrom,this.fitnessMejorSolucion)>0){
@@ -224,6 +438,36 @@ public class AlgoritmoGenetico {
         }
     }
 
+    private Cromosoma[] crearCromosomasSemilla(int[][] semillasValidas){
+        //Cada semilla va seguida de sus variantes, que se obtienen con la mutación por inversión del algoritmo
+        SplittableRandom random = new SplittableRandom();
+        Cromosoma[] iniciales = new Cromosoma[Math.min(semillasValidas.length*(1+this.variantesPorSemilla), tamPob)];
+        int cantidad = 0;
+        for(int i=0; i<semillasValidas.length && cantidad<iniciales.length; i++){
+            Cromosoma semilla = new Cromosoma(this.datos, semillasValidas[i].clone());
+            iniciales[cantidad++] = semilla;
+            for(int j=0; j<this.variantesPorSemilla && cantidad<iniciales.length; j++)
+                iniciales[cantidad++] = invertirSegmento(semilla, random);
+        }
+        return iniciales;
+    }
+
+    private int[][] filtrarSemillas(int[][] semillas){
+        int cantidad = 0;
+        int[][] validas = new int[Math.min(semillas.length, tamPob)][];
+        for(int i=0; i<semillas.length && cantidad<validas.length; i++){
+            if(Cromosoma.esPlanValido(this.datos, semillas[i])) validas[cantidad++] = semillas[i];
+        }
+        return Arrays.copyOf(validas, cantidad);
+    }
+
+    double evaluar(Cromosoma cromosoma){
+        //Calcula la fitness de un cromosoma nuevo reutilizando las evaluaciones de la memoria de fitness y los joins de
+        //la caché de prefijos (si se configuraron)
+        if(this.evaluacionLigera) return cromosoma.evaluarLigero(this.memoFitness);
+        return cromosoma.evaluar(this.memoFitness, this.cachePrefijos);
+    }
+
     public Cromosoma[] seleccionXTorneo(SplittableRandom genRandom){
         //Inicializar arreglo de padres
         Cromosoma[] arrPadres = new Cromosoma[this.cantCromCruzados];
@@ -256,130 +500,223 @@ public class AlgoritmoGenetico {
         Cromosoma[] arrHijos = new Cromosoma[arrPadres.length/2];
         //Tomar padres de 2 en dos y aplicarles casamiento PMX
         for(int i=0; i<arrPadres.length; i+=2){
-            int[] arrPrimerPadre = arrPadres[i].getCromosoma();
-            int[] indicesPrimerPadre = arrPadres[i].getIndicesTab();
-            int[] arrSegundoPadre = arrPadres[i+1].getCromosoma();
-            int[] indicesSegundoPadre = arrPadres[i+1].getIndicesTab();
-            //Generar arreglo del cromosoma hijo. Primero se llena de ceros
-            int numTablas = arrPrimerPadre.length;
-            int[] arrHijo = new int[numTablas];
-            arrHijo[0] = 0;
-            for(int j=1;j<numTablas;j+=j){
-                System.arraycopy(arrHijo,0,arrHijo, j, Math.min((numTablas - j), j));
-            }
-            //Se genera también su arreglo de índices por tabla
-            int[] indicesHijo = new int[numTablas];
-            //Escoger dos índices aleatoriamente
-            int indiceIni = genRandom.nextInt(numTablas);
-            int indiceFin = indiceIni + genRandom.nextInt(numTablas-indiceIni);
-            //Copiar el segmento del primer padre limitado por los índices al arreglo del hijo
-            System.arraycopy(arrPrimerPadre,indiceIni,arrHijo,indiceIni,(indiceFin-indiceIni+1));
-            //Se revisa el segmento en cada padre para identificar elementos del segundo que no estén en el primero
-            for(int j=indiceIni;j<=indiceFin;j++){
-                //Aprovechamos para llenar los índices del segmento copiado al hijo
-                int idTabPadre1 = arrPrimerPadre[j]/100;
-                indicesHijo[idTabPadre1-1] = j;
-                int idTabPadre2 = arrSegundoPadre[j]/100;
-                if(indicesPrimerPadre[idTabPadre2-1]>=indiceIni && indicesPrimerPadre[idTabPadre2-1]<=indiceFin) continue;
-                //Si no está en el segmento del padre 1, se encuentra una posición en la que colocarlo
-                int indiceColocacion = j; //Índice del elemento que falta colocar
-                do{
-                    //Se determina què elemento del padre 1 está en dicho índice
-                    idTabPadre1 = arrPrimerPadre[indiceColocacion]/100;
-                    //Se busca el índice de ese elemento en el padre 2
-                    indiceColocacion = indicesSegundoPadre[idTabPadre1-1];
-                }while(arrHijo[indiceColocacion]!=0); //El proceso se repite hasta encontrar un lugar disp. en el hijo
-                //El elemento faltante se coloca en el hijo
-                arrHijo[indiceColocacion] = arrSegundoPadre[j];
-                //Se actualiza el arreglo de índices
-                indicesHijo[idTabPadre2-1] = indiceColocacion;
-            }
-            //En los espacios que quedan se copian los elementos del padre 2
-            for(int j=0;j<numTablas;j++){
-                if(arrHijo[j]!=0)continue;
-                arrHijo[j] = arrSegundoPadre[j];
-                //Copiamos la información de índices también
-                int indiceTabla = arrHijo[j]/100-1;
-                indicesHijo[indiceTabla] = indicesSegundoPadre[indiceTabla];
-            }
-
-            //Con esto listo, creamos el cromosoma y lo añadimos al arreglo de hijos
-            Cromosoma nuevoHijo = new Cromosoma(arrHijo,indicesHijo);
-            arrHijos[i/2] = nuevoHijo;
+            arrHijos[i/2] = cruzarPar(arrPadres[i], arrPadres[i+1], genRandom);
         }
 
         return arrHijos;
     }
 
+    Cromosoma cruzarPar(Cromosoma primerPadre, Cromosoma segundoPadre, SplittableRandom genRandom){
+        //Casamiento PMX de un único par de padres. Se separa de casamientoPMX para poder procesar cada par de forma
+        //independiente (por ejemplo, en paralelo)
+        int[] arrPrimerPadre = primerPadre.getCromosoma();
+        int[] indicesPrimerPadre = primerPadre.getIndicesTab();
+        int[] arrSegundoPadre = segundoPadre.getCromosoma();
+        int[] indicesSegundoPadre = segundoPadre.getIndicesTab();
+        //Generar arreglo del cromosoma hijo. Primero se llena de ceros
+        int numTablas = arrPrimerPadre.length;
+        int[] arrHijo = new int[numTablas];
+        arrHijo[0] = 0;
+        for(int j=1;j<numTablas;j+=j){
+            System.arraycopy(arrHijo,0,arrHijo, j, Math.min((numTablas - j), j));
+        }
+        //Se genera también su arreglo de índices por tabla
+        int[] indicesHijo = new int[numTablas];
+        //Escoger dos índices aleatoriamente
+        int indiceIni = genRandom.nextInt(numTablas);
+        int indiceFin = indiceIni + genRandom.nextInt(numTablas-indiceIni);
+        //Copiar el segmento del primer padre limitado por los índices al arreglo del hijo
+        System.arraycopy(arrPrimerPadre,indiceIni,arrHijo,indiceIni,(indiceFin-indiceIni+1));
+        //El hijo coincide con el padre 2 fuera del segmento y de las posiciones de colocación, así que su hash de Zobrist
+        //se obtiene actualizando el del padre 2 solo en esas posiciones
+        long hashHijo = this.tablaZobrist!=null ? hashZobrist(segundoPadre) : 0;
+        //Se revisa el segmento en cada padre para identificar elementos del segundo que no estén en el primero
+        for(int j=indiceIni;j<=indiceFin;j++){
+            if(this.tablaZobrist!=null) hashHijo = this.tablaZobrist.actualizar(hashHijo, j, arrSegundoPadre[j], arrPrimerPadre[j]);
+            //Aprovechamos para llenar los índices del segmento copiado al hijo
+            int idTabPadre1 = CodificacionGen.idTabla(arrPrimerPadre[j]);
+            indicesHijo[idTabPadre1-1] = j;
+            int idTabPadre2 = CodificacionGen.idTabla(arrSegundoPadre[j]);
+            if(indicesPrimerPadre[idTabPadre2-1]>=indiceIni && indicesPrimerPadre[idTabPadre2-1]<=indiceFin) continue;
+            //Si no está en el segmento del padre 1, se encuentra una posición en la que colocarlo
+            int indiceColocacion = j; //Índice del elemento que falta colocar
+            do{
+                //Se determina què elemento del padre 1 está en dicho índice
+                idTabPadre1 = CodificacionGen.idTabla(arrPrimerPadre[indiceColocacion]);
+                //Se busca el índice de ese elemento en el padre 2
+                indiceColocacion = indicesSegundoPadre[idTabPadre1-1];
+            }while(arrHijo[indiceColocacion]!=0); //El proceso se repite hasta encontrar un lugar disp. en el hijo
+            //El elemento faltante se coloca en el hijo
+            arrHijo[indiceColocacion] = arrSegundoPadre[j];
+            if(this.tablaZobrist!=null)
+                hashHijo = this.tablaZobrist.actualizar(hashHijo, indiceColocacion, arrSegundoPadre[indiceColocacion], arrSegundoPadre[j]);
+            //Se actualiza el arreglo de índices
+            indicesHijo[idTabPadre2-1] = indiceColocacion;
+        }
+        //En los espacios que quedan se copian los elementos del padre 2
+        for(int j=0;j<numTablas;j++){
+            if(arrHijo[j]!=0)continue;
+            arrHijo[j] = arrSegundoPadre[j];
+            //Copiamos la información de índices también
+            int indiceTabla = CodificacionGen.indiceTabla(arrHijo[j]);
+            indicesHijo[indiceTabla] = indicesSegundoPadre[indiceTabla];
+        }
+
+        //Con esto listo, creamos el cromosoma hijo. Este hereda los joins del prefijo más largo que comparte con alguno de
+        //los padres (normalmente el segundo, pues el hijo copia sus genes en todas las posiciones que el cruce no llena)
+        int prefijoPadre1 = longitudPrefijoComun(arrHijo, arrPrimerPadre);
+        int prefijoPadre2 = longitudPrefijoComun(arrHijo, arrSegundoPadre);
+        Cromosoma hijo = prefijoPadre1>prefijoPadre2 ? new Cromosoma(arrHijo,indicesHijo, primerPadre, prefijoPadre1)
+                : new Cromosoma(arrHijo,indicesHijo, segundoPadre, prefijoPadre2);
+        if(this.tablaZobrist!=null) hijo.setHashZobrist(hashHijo);
+        return hijo;
+    }
+
+    private static int longitudPrefijoComun(int[] genes1, int[] genes2){
+        int longitud = 0;
+        while(longitud<genes1.length && genes1[longitud]==genes2[longitud]) longitud++;
+        return longitud;
+    }
+
     public Cromosoma[] inversionMutation(Cromosoma[] arrHijos, int verbosityLevel, SplittableRandom genRandom){
         //Inicializar arreglo de hijos mutados
         Cromosoma[] arrHijosMut = new Cromosoma[arrHijos.length];
         //Recorrer el arreglo de hijos y, en caso se cumpla la probMutacion, se realiza swap mutation
         int contadorMutados = 0;
         for (int i = 0; i< arrHijos.length; i++){
-            double random = genRandom.nextDouble();
-            if(random >= this.probMut){
-                //No se realiza mutación, el cromosoma original va al arreglo nuevo
-                arrHijosMut[i] = arrHijos[i];
-                continue;
-            }
-            //Se realiza la mutación
-            //Empezamos por copiar el cromosoma y el arreglo de índices
-            int numTablas = DatosEntrada.getInstance(null).getNumTablas();
-            int[] arrCromMut = arrHijos[i].getCromosoma().clone();
-            int[] indCromMut = arrHijos[i].getIndicesTab().clone();
-            //Se seleccionan dos índices aleatoriamente (pero se valida que no sean iguales)
-            int indiceIni = genRandom.nextInt(numTablas-1);
-            int indiceFin;
-            if(numTablas==2) indiceFin = 1;
-            else{
-                do{indiceFin = genRandom.nextInt(numTablas);}while(indiceIni>=indiceFin);
-            }
-            //Se calcula el número de intercambios necesarios
-            int numIntercambios = (indiceFin-indiceIni+1)/2; //Cantidad de elementos en el segmento divididad entre 2
-            //Se procede a invertir el orden de los elementos en el segmento definido por los índices
-            for(int j= 0; j<(indiceFin-indiceIni+1)/2; j++){
-                int indiceIntercambio1 = indiceIni+j;
-                int indiceIntercambio2 = indiceFin-j;
-                //Se intercambian los índices en el arreglo de índices
-                indCromMut[arrCromMut[indiceIntercambio1]/100-1] = indiceIntercambio2;
-                indCromMut[arrCromMut[indiceIntercambio2]/100-1] = indiceIntercambio1;
-                //Se intercambian los valores
-                int temporal;
-                temporal = arrCromMut[indiceIntercambio1];
-                arrCromMut[indiceIntercambio1] = arrCromMut[indiceIntercambio2];
-                arrCromMut[indiceIntercambio2] = temporal;
-            }
-            //Con estos cambios hechos, creamos el nuevo cromosoma y lo añadimos al arreglo
-            Cromosoma mutacion = new Cromosoma(arrCromMut,indCromMut);
-            arrHijosMut[i] = mutacion;
-            contadorMutados++;
+            arrHijosMut[i] = mutarCromosoma(arrHijos[i], genRandom);
+            //Si no se realizó mutación, el cromosoma original va al arreglo nuevo
+            if(arrHijosMut[i]!=arrHijos[i]) contadorMutados++;
         }
 
         if(verbosityLevel>=2) System.out.println(contadorMutados + " hijos mutados de un total de " + arrHijos.length);
         return arrHijosMut;
     }
 
+    Cromosoma mutarCromosoma(Cromosoma hijo, SplittableRandom genRandom){
+        //Mutación por inversión de un único cromosoma. Si no se cumple la probMut, se devuelve el mismo cromosoma
+        double random = genRandom.nextDouble();
+        if(random >= this.probMut) return hijo;
+        //Se realiza la mutación
+        return invertirSegmento(hijo, genRandom);
+    }
+
+    private Cromosoma invertirSegmento(Cromosoma hijo, SplittableRandom genRandom){
+        //Empezamos por copiar el cromosoma y el arreglo de índices
+        int numTablas = this.datos.getNumTablas();
+        int[] arrCromMut = hijo.getCromosoma().clone();
+        int[] indCromMut = hijo.getIndicesTab().clone();
+        //Se seleccionan dos índices aleatoriamente (pero se valida que no sean iguales)
+        int indiceIni = genRandom.nextInt(numTablas-1);
+        int indiceFin;
+        if(numTablas==2) indiceFin = 1;
+        else{
+            do{indiceFin = genRandom.nextInt(numTablas);}while(indiceIni>=indiceFin);
+        }
+        //Solo cambian los genes del segmento, así que el hash de Zobrist se actualiza únicamente en esas posiciones
+        long hashMutado = this.tablaZobrist!=null ? hashZobrist(hijo) : 0;
+        //Se procede a invertir el orden de los elementos en el segmento definido por los índices
+        for(int j= 0; j<(indiceFin-indiceIni+1)/2; j++){
+            int indiceIntercambio1 = indiceIni+j;
+            int indiceIntercambio2 = indiceFin-j;
+            if(this.tablaZobrist!=null){
+                hashMutado = this.tablaZobrist.actualizar(hashMutado, indiceIntercambio1, arrCromMut[indiceIntercambio1], arrCromMut[indiceIntercambio2]);
+                hashMutado = this.tablaZobrist.actualizar(hashMutado, indiceIntercambio2, arrCromMut[indiceIntercambio2], arrCromMut[indiceIntercambio1]);
+            }
+            //Se intercambian los índices en el arreglo de índices
+            indCromMut[CodificacionGen.indiceTabla(arrCromMut[indiceIntercambio1])] = indiceIntercambio2;
+            indCromMut[CodificacionGen.indiceTabla(arrCromMut[indiceIntercambio2])] = indiceIntercambio1;
+            //Se intercambian los valores
+            int temporal;
+            temporal = arrCromMut[indiceIntercambio1];
+            arrCromMut[indiceIntercambio1] = arrCromMut[indiceIntercambio2];
+            arrCromMut[indiceIntercambio2] = temporal;
+        }
+        //Con estos cambios hechos, creamos el nuevo cromosoma. Los genes anteriores a indiceIni no cambian, así que el
+        //mutado hereda los joins de ese prefijo y su evaluación empieza desde ahí
+        Cromosoma mutado = new Cromosoma(arrCromMut,indCromMut, hijo, indiceIni);
+        if(this.tablaZobrist!=null) mutado.setHashZobrist(hashMutado);
+        return mutado;
+    }
+
+    Cromosoma evitarDuplicado(Cromosoma hijo, SplittableRandom genRandom){
+        //Si el hijo ya está en la población, se le aplican nuevas mutaciones por inversión hasta que deje de estarlo.
+        //Si después de INTENTOS_REMUTACION intentos sigue repetido, se descarta (retorna null). Solo lee el conjunto de
+        //hashes de la población, por lo que puede llamarse desde varios hilos durante la generación de hijos
+        if(this.tablaZobrist==null) return hijo;
+        for(int k=0; this.hashesPoblacion.containsKey(hashZobrist(hijo)); k++){
+            if(k==INTENTOS_REMUTACION){
+                hijosDescartados.incrementAndGet();
+                return null;
+            }
+            hijo = invertirSegmento(hijo, genRandom);
+            hijosRemutados.incrementAndGet();
+        }
+        return hijo;
+    }
+
+    private Cromosoma[] descartarDuplicados(Cromosoma[] arrHijos, SplittableRandom genRandom){
+        for(int i=0; i<arrHijos.length; i++) arrHijos[i] = evitarDuplicado(arrHijos[i], genRandom);
+        return compactarHijos(arrHijos);
+    }
+
+    private static Cromosoma[] compactarHijos(Cromosoma[] arrHijos){
+        //Quita los hijos descartados (null) del arreglo
+        int cantidad = 0;
+        for(Cromosoma hijo: arrHijos) if(hijo!=null) arrHijos[cantidad++] = hijo;
+        return cantidad==arrHijos.length ? arrHijos : Arrays.copyOf(arrHijos, cantidad);
+    }
+
+    private long hashZobrist(Cromosoma cromosoma){
+        //Los cromosomas generados por los operadores ya traen su hash; los demás (p. ej. aleatorios o migrantes) se
+        //calculan una sola vez recorriendo todos sus genes
+        if(!cromosoma.isHashZobristAsignado()) cromosoma.setHashZobrist(this.tablaZobrist.calcular(cromosoma.getCromosoma()));
+        return cromosoma.getHashZobrist();
+    }
+
+    private void agregarHashPoblacion(Cromosoma cromosoma){
+        this.hashesPoblacion.merge(hashZobrist(cromosoma), 1, Integer::sum);
+    }
+
+    private void quitarHashPoblacion(Cromosoma cromosoma){
+        this.hashesPoblacion.computeIfPresent(hashZobrist(cromosoma), (hash, cantidad) -> cantidad>1 ? cantidad-1 : null);
+    }
+
+    public Cromosoma[] generarHijosParalelo(Cromosoma[] arrPadres, ForkJoinPool pool, SplittableRandom genRandom){
+        //Casamiento, mutación y cálculo de fitness de cada par de padres repartidos en las tareas de un ForkJoinPool.
+        //Cada tarea usa su propia fuente de aleatoriedad obtenida con split()
+        Cromosoma[] arrHijos = new Cromosoma[arrPadres.length/2];
+        pool.invoke(new TareaGeneracion(this, arrPadres, arrHijos, 0, arrHijos.length, genRandom.split()));
+        return this.tablaZobrist!=null ? compactarHijos(arrHijos) : arrHijos;
+    }
+
     public boolean evolPoblacion(Cromosoma[] arrHijos, SplittableRandom genRandom){
         //Para la mutación se seleccionarán aleatoriamente un cromosoma hijo y un cromosoma de la población
         //Siempre y cuando el de la población no sea el actualmente mejor, el hijo lo sustituirá
         //Flag que determina si hay un nuevo mejor cromosoma en la población
         boolean hayNuevoMejor = false;
+        if(arrHijos.length==0) return false; //Todos los hijos fueron descartados por estar repetidos
         for(int i=0; i<this.cantHijosIngresados;i++){
             //Se obtiene aleatoriamente un índice del arreglo de hijos
             int indiceHijo = genRandom.nextInt(arrHijos.length);
             Cromosoma hijoEntrante = arrHijos[indiceHijo];
+            //En el modo sin duplicados, un hijo que ya ingresó a la población no vuelve a ingresar
+            if(this.tablaZobrist!=null && this.hashesPoblacion.containsKey(hashZobrist(hijoEntrante))) continue;
             //Se obtiene aleatoriamente un índice de la población (validando que no sea el mejor de la misma)
             int indicePob;
             if(this.tamPob==2) indicePob = 1- this.indiceMejorSolucion;
             else{
-                do{ indicePob = genRandom.nextInt(this.tamPob); }while(indicePob!=this.indiceMejorSolucion);
+                do{ indicePob = genRandom.nextInt(this.tamPob); }while(indicePob==this.indiceMejorSolucion);
             }
             Cromosoma individuoSaliente = this.poblacion[indicePob];
             //Antes de efectuar el reemplazo, actualizamos la suma total de fitness de la población
             this.fitnessSumadaPoblacion-=individuoSaliente.getFitness();
             this.fitnessSumadaPoblacion+=hijoEntrante.getFitness();
             //Hecho esto, se efectúa el reemplazo
+            if(this.tablaZobrist!=null){
+                quitarHashPoblacion(individuoSaliente);
+                agregarHashPoblacion(hijoEntrante);
+            }
             this.poblacion[indicePob] = hijoEntrante;
             //Se evalúa si se ha encontrado un nuevo mejor cromosoma
             if(Double.compare(hijoEntrante.getFitness(),this.fitnessMejorSolucion)>0){
@@ -393,6 +730,53 @@ public class AlgoritmoGenetico {
         return hayNuevoMejor;
     }
 
+    public Cromosoma[] obtenerMejores(int cantidad){
+        //Devuelve copias de los mejores cromosomas (p. ej. para enviarlos como migrantes a otra población)
+        Cromosoma[] ordenados = this.poblacion.clone();
+        Arrays.sort(ordenados, new ComparadorCromosomas());
+        Cromosoma[] mejores = new Cromosoma[Math.min(cantidad, ordenados.length)];
+        for(int i=0; i<mejores.length; i++) mejores[i] = copiarEvaluado(ordenados[i]);
+        return mejores;
+    }
+
+    private static Cromosoma copiarEvaluado(Cromosoma original){
+        double fitness = original.getFitness();
+        return new Cromosoma(original.getDatos(), original.getCromosoma(), original.getIndicesTab(), original.getCostProc(),
+                original.getListaJoins(), fitness);
+    }
+
+    public boolean recibirMigrantes(Cromosoma[] migrantes){
+        //Los migrantes reemplazan a los peores cromosomas de la población (el mejor solo se reemplazaría si todos tienen la
+        //misma fitness, y en ese caso el migrante es mejor). Devuelve true si alguno de ellos pasa a ser la nueva mejor solución
+        boolean hayNuevoMejor = false;
+        for(Cromosoma migrante: migrantes){
+            //Se busca el peor cromosoma de la población
+            int indicePeor = -1;
+            for(int i=0; i<this.poblacion.length; i++){
+                if(indicePeor==-1 || Double.compare(this.poblacion[i].getFitness(), this.poblacion[indicePeor].getFitness())<0)
+                    indicePeor = i;
+            }
+            //Solo se reemplaza si el migrante es mejor que el peor cromosoma (y, en el modo sin duplicados, si no está ya
+            //en la población)
+            if(indicePeor==-1 || Double.compare(migrante.getFitness(), this.poblacion[indicePeor].getFitness())<=0) continue;
+            if(this.tablaZobrist!=null){
+                if(this.hashesPoblacion.containsKey(hashZobrist(migrante))) continue;
+                quitarHashPoblacion(this.poblacion[indicePeor]);
+                agregarHashPoblacion(migrante);
+            }
+            this.fitnessSumadaPoblacion-=this.poblacion[indicePeor].getFitness();
+            this.fitnessSumadaPoblacion+=migrante.getFitness();
+            this.poblacion[indicePeor] = migrante;
+            if(Double.compare(migrante.getFitness(),this.fitnessMejorSolucion)>0){
+                this.mejorSolucion = migrante;
+                this.fitnessMejorSolucion = migrante.getFitness();
+                this.indiceMejorSolucion = indicePeor;
+                hayNuevoMejor = true;
+            }
+        }
+        return hayNuevoMejor;
+    }
+
     public int getNumIter() {
         return numIter;
     }
@@ -405,6 +789,10 @@ public class AlgoritmoGenetico {
         return porcCromCruzados;
     }
 
+    public DatosEntrada getDatos() {
+        return datos;
+    }
+
     public int getCantCromCruzados() {
         return cantCromCruzados;
     }
@@ -456,4 +844,122 @@ public class AlgoritmoGenetico {
     public double getFitnessPromMejores20() {
         return fitnessPromMejores20;
     }
+
+    public int getIteracionesEjecutadas() {
+        return iteracionesEjecutadas;
+    }
+
+    public long getEvaluacionesRealizadas() {
+        //Cálculos de fitness de la última ejecución: población inicial más los hijos generados en cada iteración (sin
+        //contar los hijos descartados por estar repetidos). Un plan de la caché de planes solo se evalúa una vez
+        if(this.planDesdeCache) return 1;
+        return this.tamPob + (long) this.iteracionesEjecutadas*(this.cantCromCruzados/2) - this.hijosDescartados.get();
+    }
+
+    public int getNumHilos() {
+        return numHilos;
+    }
+
+    public void setNumHilos(int numHilos) {
+        this.numHilos = Math.max(1, numHilos);
+    }
+
+    public CachePrefijos getCachePrefijos() {
+        return cachePrefijos;
+    }
+
+    public void setCachePrefijos(CachePrefijos cachePrefijos) {
+        this.cachePrefijos = cachePrefijos;
+    }
+
+    public int[][] getSemillas() {
+        return semillas;
+    }
+
+    public void setSemillas(int[][] semillas) {
+        this.semillas = semillas==null ? new int[0][] : semillas;
+    }
+
+    public void setPuntoControl(Path archivoPuntoControl, int intervaloPuntoControl) {
+        //archivoPuntoControl null desactiva los puntos de control
+        if(archivoPuntoControl!=null && intervaloPuntoControl<=0){
+            System.err.println("ERROR: Intervalo inválido para los puntos de control: " + intervaloPuntoControl);
+            System.exit(3);
+        }
+        this.archivoPuntoControl = archivoPuntoControl;
+        this.intervaloPuntoControl = intervaloPuntoControl;
+    }
+
+    public Path getArchivoPuntoControl() {
+        return archivoPuntoControl;
+    }
+
+    public int getIntervaloPuntoControl() {
+        return intervaloPuntoControl;
+    }
+
+    public boolean isReanudar() {
+        return reanudar;
+    }
+
+    public void setReanudar(boolean reanudar) {
+        this.reanudar = reanudar;
+    }
+
+    public boolean isReanudada() {
+        return reanudada;
+    }
+
+    public int getVariantesPorSemilla() {
+        return variantesPorSemilla;
+    }
+
+    public void setVariantesPorSemilla(int variantesPorSemilla) {
+        this.variantesPorSemilla = Math.max(0, variantesPorSemilla);
+    }
+
+    public CachePlanes getCachePlanes() {
+        return cachePlanes;
+    }
+
+    public void setCachePlanes(CachePlanes cachePlanes) {
+        this.cachePlanes = cachePlanes;
+    }
+
+    public boolean isPlanDesdeCache() {
+        return planDesdeCache;
+    }
+
+    public MemoFitness getMemoFitness() {
+        return memoFitness;
+    }
+
+    public void setMemoFitness(MemoFitness memoFitness) {
+        this.memoFitness = memoFitness;
+    }
+
+    public boolean isEvaluacionLigera() {
+        return evaluacionLigera;
+    }
+
+    public void setEvaluacionLigera(boolean evaluacionLigera) {
+        this.evaluacionLigera = evaluacionLigera;
+    }
+
+    public boolean isEvitarDuplicados() {
+        return tablaZobrist!=null;
+    }
+
+    public void setEvitarDuplicados(boolean evitarDuplicados) {
+        //Debe configurarse antes de inicializar la población
+        this.tablaZobrist = evitarDuplicados ? new TablaZobrist(datos.getNumTablas(), datos.getNumSitios(), SEMILLA_ZOBRIST) : null;
+    }
+
+    public long getHijosRemutados() {
+        return hijosRemutados.get();
+    }
+
+    public long getHijosDescartados() {
+        return hijosDescartados.get();
+    }
 }
@@ -0,0 +1,321 @@
+package algoritmo;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.CodificacionGen;
+import estructuras_problema.Cromosoma;
+import estructuras_problema.EvaluadorCostos;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class AlgoritmoGeneticoPlano {
+    //Mismo algoritmo generacional que AlgoritmoGenetico, pero la población se guarda como estructura de arreglos: los
+    //genes de todos los cromosomas en un único int[tamPob*numTablas], sus arreglos de índices por tabla en otro y las
+    //fitness en un double[tamPob]. La selección, el casamiento, la mutación y el reemplazo trabajan con desplazamientos
+    //dentro de esos arreglos, sin crear un objeto por cromosoma. Los objetos Cromosoma solo se crean como vistas (copias)
+    //cuando se piden desde fuera.
+    private final DatosEntrada datos;
+    private final int numIter;
+    private final int tamPob;
+    private final int cantCromCruzados;
+    private final float probMut;
+    private final int cantHijosIngresados;
+    private final int cantIterEstanc;
+    private final int numTablas;
+    //Población
+    private int[] genes; //Cromosoma i: genes[i*numTablas .. (i+1)*numTablas-1]
+    private int[] indicesTab; //Índice de cada tabla en el cromosoma, con el mismo desplazamiento que genes
+    private double[] fitness;
+    private double fitnessSumadaPoblacion;
+    private int indiceMejorSolucion;
+    //Hijos de la generación actual (se reutilizan en todas las generaciones)
+    private int[] genesHijos;
+    private int[] indicesHijos;
+    private double[] fitnessHijos;
+    private int[] indicesPadres;
+    private double tiempoEjecucion; //Tiempo de ejecución en milisegundos
+    private int iteracionesEjecutadas;
+    private double fitnessPromMejores10;
+    private double fitnessPromMejores20;
+
+    public AlgoritmoGeneticoPlano(ParametrosAlgoritmo param) {
+        this(DatosEntrada.getInstance(null), param);
+    }
+
+    public AlgoritmoGeneticoPlano(DatosEntrada datos, ParametrosAlgoritmo param) {
+        //Los parámetros se corrigen con los mismos cálculos que AlgoritmoGenetico (cantidades de cruce, ingreso y
+        //estancamiento)
+        if(!AlgoritmoGenetico.esConfiguracionValida(param)){
+            System.err.println("ERROR: No es posible realizar el cruce y la evolución de población con los parámetros " +
+                    "especificados (tamPob: " + param.getTamPob() + ", porcCromCruzados: " + param.getPorcCromCruzados() +
+                    ", porcHijosIngresados: " + param.getPorcHijosIngresados() + ")");
+            System.exit(3);
+        }
+        this.datos = datos;
+        this.numIter = param.getNumIter();
+        this.tamPob = param.getTamPob();
+        this.cantCromCruzados = AlgoritmoGenetico.calcularCantCromCruzados(tamPob, param.getPorcCromCruzados());
+        this.probMut = param.getProbMut();
+        this.cantHijosIngresados = AlgoritmoGenetico.calcularCantHijosIngresados(cantCromCruzados,
+                param.getPorcHijosIngresados());
+        this.cantIterEstanc = AlgoritmoGenetico.calcularCantIterEstanc(numIter, param.getPorcIterEstanc());
+        this.numTablas = datos.getNumTablas();
+    }
+
+    public AlgoritmoGeneticoPlano() {
+        this(DatosEntrada.getInstance(null));
+    }
+
+    public AlgoritmoGeneticoPlano(DatosEntrada datos) {
+        this(datos, datos.getParamAlg()[0]);
+    }
+
+    public Cromosoma ejecutar(int verbosityLevel){
+        long tiempoIni = System.nanoTime();
+        SplittableRandom random = new SplittableRandom();
+        inicializarPoblacion(random);
+        double fitnessPrimerMejor = fitness[indiceMejorSolucion];
+        if(verbosityLevel>=0) System.out.println("Población inicializada. Fitness del mejor cromosoma: " + fitnessPrimerMejor);
+        int contadorEstanc = 0;
+        this.iteracionesEjecutadas = 0;
+        for(int i=1; i<=numIter; i++){
+            boolean cambioMejorCrom = ejecutarGeneracion(random);
+            this.iteracionesEjecutadas = i;
+            if(cambioMejorCrom) contadorEstanc = 0;
+            else contadorEstanc++;
+            if(verbosityLevel>=1)
+                System.out.println("Iteración " + i + " | Mejor fitness: " + fitness[indiceMejorSolucion] +
+                        " | Fitness prom. población: " + (fitnessSumadaPoblacion/tamPob) +
+                        " | Nueva mejor solución? " + (cambioMejorCrom?"SI":"NO") +
+                        " | Contador estancamiento: " + contadorEstanc + "/" + cantIterEstanc);
+            if(contadorEstanc==cantIterEstanc) break;
+        }
+        this.tiempoEjecucion = (System.nanoTime()-tiempoIni)/(1000d*1000d);
+        calcularMejoresFinales();
+        Cromosoma mejorSolucion = getMejorSolucion();
+        if(verbosityLevel>=0){
+            if(contadorEstanc==cantIterEstanc) System.out.println("Optimización terminada por estancamiento");
+            else System.out.println("Optimización concluida exitosamente");
+            System.out.println("Tiempo de ejecución: " + tiempoEjecucion + "ms");
+            System.out.println("Fitness de la mejor solución de la población original:\t" + fitnessPrimerMejor);
+            System.out.println("Fitness de la mejor solución de la población final:\t\t" + fitness[indiceMejorSolucion]);
+            System.out.println("Fitness promedio de la población final:\t\t\t\t\t" + (fitnessSumadaPoblacion/tamPob));
+            System.out.println("Fitness promedio de las 10 mejores soluciones finales:\t" + fitnessPromMejores10);
+            System.out.println("Fitness promedio de las 20 mejores soluciones finales:\t" + fitnessPromMejores20);
+            System.out.println("Mejor solución general:");
+            System.out.println(mejorSolucion);
+        }
+        return mejorSolucion;
+    }
+
+    public void inicializarPoblacion(SplittableRandom random){
+        this.genes = new int[tamPob*numTablas];
+        this.indicesTab = new int[tamPob*numTablas];
+        this.fitness = new double[tamPob];
+        int cantHijos = cantCromCruzados/2;
+        this.genesHijos = new int[cantHijos*numTablas];
+        this.indicesHijos = new int[cantHijos*numTablas];
+        this.fitnessHijos = new double[cantHijos];
+        this.indicesPadres = new int[cantCromCruzados];
+        this.fitnessSumadaPoblacion = 0;
+        this.indiceMejorSolucion = 0;
+        for(int i=0; i<tamPob; i++){
+            generarAleatorio(i*numTablas, datos, random);
+            fitness[i] = evaluar(genes, i*numTablas);
+            fitnessSumadaPoblacion+= fitness[i];
+            if(Double.compare(fitness[i], fitness[indiceMejorSolucion])>0) indiceMejorSolucion = i;
+        }
+    }
+
+    private void generarAleatorio(int desplazamiento, DatosEntrada datos, SplittableRandom random){
+        //Misma lógica que el constructor vacío de Cromosoma, escribiendo en la posición indicada de la población
+        int numSitios = datos.getNumSitios();
+        boolean[][] distTabSit = datos.getDistTabSit();
+        Arrays.fill(genes, desplazamiento, desplazamiento+numTablas, 0);
+        for(int i=0; i<numTablas; i++){
+            int indiceSitio;
+            do{ indiceSitio = random.nextInt(numSitios); }while(!distTabSit[i][indiceSitio]);
+            int indiceCrom;
+            do{ indiceCrom = random.nextInt(numTablas); }while(genes[desplazamiento+indiceCrom]!=0);
+            genes[desplazamiento+indiceCrom] = CodificacionGen.codificar(i+1, indiceSitio+1);
+            indicesTab[desplazamiento+i] = indiceCrom;
+        }
+    }
+
+    private double evaluar(int[] arrGenes, int desplazamiento){
+        //Se evalúa directamente sobre el arreglo plano, sin copiar los genes ni crear objetos Tabla
+        return EvaluadorCostos.calcularFitness(arrGenes, desplazamiento, numTablas, datos);
+    }
+
+    public boolean ejecutarGeneracion(SplittableRandom random){
+        seleccionXTorneo(random);
+        int cantHijos = cantCromCruzados/2;
+        for(int h=0; h<cantHijos; h++){
+            cruzarPar(indicesPadres[2*h]*numTablas, indicesPadres[2*h+1]*numTablas, h*numTablas, random);
+            if(random.nextDouble()<probMut) invertirSegmento(h*numTablas, random);
+            fitnessHijos[h] = evaluar(genesHijos, h*numTablas);
+        }
+        return evolPoblacion(random);
+    }
+
+    private void seleccionXTorneo(SplittableRandom random){
+        //Torneo binario sobre los índices de la población; solo se comparan fitness contiguas en memoria
+        for(int i=0; i<cantCromCruzados; i++){
+            int indice1 = random.nextInt(tamPob);
+            int indice2;
+            do{ indice2 = random.nextInt(tamPob); }while(indice1==indice2);
+            indicesPadres[i] = Double.compare(fitness[indice1], fitness[indice2])>=0 ? indice1 : indice2;
+        }
+    }
+
+    private void cruzarPar(int despPadre1, int despPadre2, int despHijo, SplittableRandom random){
+        //Casamiento PMX (misma lógica que AlgoritmoGenetico.cruzarPar) escribiendo el hijo en genesHijos/indicesHijos.
+        //Los índices de tabla del padre i están en indicesTab[despPadre+idTabla-1]
+        Arrays.fill(genesHijos, despHijo, despHijo+numTablas, 0);
+        int indiceIni = random.nextInt(numTablas);
+        int indiceFin = indiceIni + random.nextInt(numTablas-indiceIni);
+        System.arraycopy(genes, despPadre1+indiceIni, genesHijos, despHijo+indiceIni, indiceFin-indiceIni+1);
+        for(int j=indiceIni; j<=indiceFin; j++){
+            int idTabPadre1 = CodificacionGen.idTabla(genes[despPadre1+j]);
+            indicesHijos[despHijo+idTabPadre1-1] = j;
+            int idTabPadre2 = CodificacionGen.idTabla(genes[despPadre2+j]);
+            int indiceEnPadre1 = indicesTab[despPadre1+idTabPadre2-1];
+            if(indiceEnPadre1>=indiceIni && indiceEnPadre1<=indiceFin) continue;
+            int indiceColocacion = j;
+            do{
+                idTabPadre1 = CodificacionGen.idTabla(genes[despPadre1+indiceColocacion]);
+                indiceColocacion = indicesTab[despPadre2+idTabPadre1-1];
+            }while(genesHijos[despHijo+indiceColocacion]!=0);
+            genesHijos[despHijo+indiceColocacion] = genes[despPadre2+j];
+            indicesHijos[despHijo+idTabPadre2-1] = indiceColocacion;
+        }
+        for(int j=0; j<numTablas; j++){
+            if(genesHijos[despHijo+j]!=0) continue;
+            genesHijos[despHijo+j] = genes[despPadre2+j];
+            int indiceTabla = CodificacionGen.indiceTabla(genesHijos[despHijo+j]);
+            indicesHijos[despHijo+indiceTabla] = indicesTab[despPadre2+indiceTabla];
+        }
+    }
+
+    private void invertirSegmento(int despHijo, SplittableRandom random){
+        //Mutación por inversión (misma lógica que AlgoritmoGenetico) aplicada directamente sobre el hijo
+        int indiceIni = random.nextInt(numTablas-1);
+        int indiceFin;
+        if(numTablas==2) indiceFin = 1;
+        else{
+            do{ indiceFin = random.nextInt(numTablas); }while(indiceIni>=indiceFin);
+        }
+        for(int j=0; j<(indiceFin-indiceIni+1)/2; j++){
+            int posicion1 = despHijo+indiceIni+j;
+            int posicion2 = despHijo+indiceFin-j;
+            indicesHijos[despHijo+CodificacionGen.indiceTabla(genesHijos[posicion1])] = indiceFin-j;
+            indicesHijos[despHijo+CodificacionGen.indiceTabla(genesHijos[posicion2])] = indiceIni+j;
+            int temporal = genesHijos[posicion1];
+            genesHijos[posicion1] = genesHijos[posicion2];
+            genesHijos[posicion2] = temporal;
+        }
+    }
+
+    private boolean evolPoblacion(SplittableRandom random){
+        //Cada hijo elegido reemplaza a un cromosoma aleatorio de la población (que no sea el mejor) copiando sus genes
+        boolean hayNuevoMejor = false;
+        int cantHijos = fitnessHijos.length;
+        for(int i=0; i<cantHijosIngresados; i++){
+            int indiceHijo = random.nextInt(cantHijos);
+            int indicePob;
+            if(tamPob==2) indicePob = 1-indiceMejorSolucion;
+            else{
+                do{ indicePob = random.nextInt(tamPob); }while(indicePob==indiceMejorSolucion);
+            }
+            System.arraycopy(genesHijos, indiceHijo*numTablas, genes, indicePob*numTablas, numTablas);
+            System.arraycopy(indicesHijos, indiceHijo*numTablas, indicesTab, indicePob*numTablas, numTablas);
+            fitnessSumadaPoblacion+= fitnessHijos[indiceHijo]-fitness[indicePob];
+            fitness[indicePob] = fitnessHijos[indiceHijo];
+            if(Double.compare(fitness[indicePob], fitness[indiceMejorSolucion])>0){
+                indiceMejorSolucion = indicePob;
+                hayNuevoMejor = true;
+            }
+        }
+        return hayNuevoMejor;
+    }
+
+    public void calcularMejoresFinales(){
+        double[] ordenadas = fitness.clone();
+        Arrays.sort(ordenadas);
+        double sumaMejoresFitness = 0;
+        this.fitnessPromMejores10 = 0;
+        this.fitnessPromMejores20 = 0;
+        for(int i=0; i<Math.min(tamPob, 20); i++){
+            sumaMejoresFitness+= ordenadas[tamPob-1-i];
+            if(i==9) fitnessPromMejores10 = sumaMejoresFitness/10;
+            if(i==19) fitnessPromMejores20 = sumaMejoresFitness/20;
+        }
+    }
+
+    public Cromosoma getCromosoma(int indice){
+        //Vista (copia) del cromosoma indicado de la población
+        int desplazamiento = indice*numTablas;
+        return new Cromosoma(datos, Arrays.copyOfRange(genes, desplazamiento, desplazamiento+numTablas),
+                Arrays.copyOfRange(indicesTab, desplazamiento, desplazamiento+numTablas));
+    }
+
+    public Cromosoma[] getPoblacion() {
+        Cromosoma[] poblacion = new Cromosoma[tamPob];
+        for(int i=0; i<tamPob; i++) poblacion[i] = getCromosoma(i);
+        return poblacion;
+    }
+
+    public Cromosoma getMejorSolucion() {
+        return getCromosoma(indiceMejorSolucion);
+    }
+
+    public double getFitnessMejorSolucion() {
+        return fitness[indiceMejorSolucion];
+    }
+
+    public int getIndiceMejorSolucion() {
+        return indiceMejorSolucion;
+    }
+
+    public double getFitnessSumadaPoblacion() {
+        return fitnessSumadaPoblacion;
+    }
+
+    public int[] getGenes() {
+        //Copia de los genes de toda la población (numTablas genes por cromosoma)
+        return genes.clone();
+    }
+
+    public double[] getFitness() {
+        return fitness.clone();
+    }
+
+    public int getTamPob() {
+        return tamPob;
+    }
+
+    public int getNumTablas() {
+        return numTablas;
+    }
+
+    public int getCantCromCruzados() {
+        return cantCromCruzados;
+    }
+
+    public double getTiempoEjecucion() {
+        return tiempoEjecucion;
+    }
+
+    public int getIteracionesEjecutadas() {
+        return iteracionesEjecutadas;
+    }
+
+    public double getFitnessPromMejores10() {
+        return fitnessPromMejores10;
+    }
+
+    public double getFitnessPromMejores20() {
+        return fitnessPromMejores20;
+    }
+}
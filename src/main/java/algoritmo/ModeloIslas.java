@@ -0,0 +1,197 @@
+package algoritmo;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.Cromosoma;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+public class ModeloIslas {
+    //Modelo de islas: varias poblaciones independientes (cada una es un AlgoritmoGenetico con su propia población,
+    //mejor solución y contador de estancamiento) evolucionan en hilos separados. Cada intervaloMigracion generaciones
+    //todas las islas se sincronizan e intercambian sus mejores cromosomas según la topología configurada.
+    private final AlgoritmoGenetico[] islas;
+    private final int numIter;
+    private final int cantIterEstanc; //Generaciones sin mejora de la mejor solución global para detener el modelo
+    private final int intervaloMigracion; //Generaciones entre dos migraciones consecutivas
+    private final int cantMigrantes; //Cromosomas que envía cada isla en cada migración
+    private final TopologiaMigracion topologia;
+    private final int[] contadoresEstanc; //Contador de estancamiento propio de cada isla
+    private Cromosoma mejorSolucion;
+    private double fitnessMejorSolucion;
+    private int generacionesEjecutadas;
+    private int contadorEstanc; //Contador de estancamiento de la mejor solución global
+    private boolean poblacionesIniciadas; //Indica si ya se realizó la sincronización inicial de las islas
+    private volatile boolean detener;
+    private double tiempoEjecucion; //Tiempo de ejecución en milisegundos
+
+    public ModeloIslas(ParametrosAlgoritmo param, int numIslas, int intervaloMigracion, int cantMigrantes,
+                       TopologiaMigracion topologia) {
+        this(DatosEntrada.getInstance(null), param, numIslas, intervaloMigracion, cantMigrantes, topologia);
+    }
+
+    public ModeloIslas(DatosEntrada datos, ParametrosAlgoritmo param, int numIslas, int intervaloMigracion,
+                       int cantMigrantes, TopologiaMigracion topologia) {
+        if(numIslas<2 || intervaloMigracion<=0 || cantMigrantes<=0){
+            System.err.println("ERROR: Parámetros inválidos para el modelo de islas (numIslas: " + numIslas +
+                    ", intervaloMigracion: " + intervaloMigracion + ", cantMigrantes: " + cantMigrantes + ")");
+            System.exit(3);
+        }
+        //El tamaño total de población se reparte entre las islas
+        int tamPobIsla = param.getTamPob()/numIslas;
+        this.islas = new AlgoritmoGenetico[numIslas];
+        for(int i=0; i<numIslas; i++){
+            this.islas[i] = new AlgoritmoGenetico(datos, param.getNumIter(), tamPobIsla, param.getPorcCromCruzados(),
+                    param.getProbMut(), param.getPorcHijosIngresados(), param.getPorcIterEstanc());
+        }
+        this.numIter = param.getNumIter();
+        int cantEstanc = (int) Math.ceil(this.numIter*param.getPorcIterEstanc());
+        this.cantIterEstanc = Math.min(cantEstanc, this.numIter);
+        this.intervaloMigracion = intervaloMigracion;
+        this.cantMigrantes = Math.min(cantMigrantes, tamPobIsla-1);
+        this.topologia = topologia;
+        this.contadoresEstanc = new int[numIslas];
+    }
+
+    public Cromosoma ejecutar(int verbosityLevel){
+        long tiempoIni = System.nanoTime();
+        this.mejorSolucion = null;
+        this.fitnessMejorSolucion = -1;
+        this.generacionesEjecutadas = 0;
+        this.contadorEstanc = 0;
+        this.poblacionesIniciadas = false;
+        this.detener = false;
+        Arrays.fill(this.contadoresEstanc, 0);
+        //La acción de la barrera la ejecuta un único hilo cuando todas las islas terminaron su época, por lo que puede
+        //leer y modificar las poblaciones sin bloqueos adicionales
+        CyclicBarrier barrera = new CyclicBarrier(islas.length, () -> migrar(verbosityLevel));
+        SplittableRandom randomBase = new SplittableRandom();
+        Thread[] hilos = new Thread[islas.length];
+        for(int i=0; i<islas.length; i++){
+            int indiceIsla = i;
+            SplittableRandom random = randomBase.split();
+            hilos[i] = new Thread(() -> evolucionarIsla(indiceIsla, random, barrera), "isla-" + (i+1));
+            hilos[i].start();
+        }
+        for(Thread hilo: hilos){
+            try{
+                hilo.join();
+            }catch (InterruptedException ex){
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        this.tiempoEjecucion = (System.nanoTime()-tiempoIni)/(1000d*1000d);
+        if(verbosityLevel>=0){
+            if(this.contadorEstanc>=this.cantIterEstanc) System.out.println("Modelo de islas terminado por estancamiento");
+            else System.out.println("Modelo de islas concluido exitosamente");
+            System.out.println("Islas: " + islas.length + "|intervaloMigracion: " + intervaloMigracion +
+                    "|cantMigrantes: " + cantMigrantes + "|topologia: " + topologia +
+                    "|generaciones: " + generacionesEjecutadas);
+            System.out.println("Tiempo de ejecución: " + tiempoEjecucion + "ms");
+            System.out.println("Fitness de la mejor solución global:\t" + fitnessMejorSolucion);
+            System.out.println("Mejor solución general:");
+            System.out.println(mejorSolucion);
+        }
+        return this.mejorSolucion;
+    }
+
+    private void evolucionarIsla(int indiceIsla, SplittableRandom random, CyclicBarrier barrera){
+        AlgoritmoGenetico isla = islas[indiceIsla];
+        isla.inicializarPoblacion();
+        try{
+            //La primera sincronización solo registra la mejor solución de las poblaciones iniciales
+            barrera.await();
+            while(!detener){
+                //Se ejecuta una época (hasta intervaloMigracion generaciones, sin superar numIter)
+                int generacionesEpoca = Math.min(intervaloMigracion, numIter-generacionesEjecutadas);
+                for(int g=0; g<generacionesEpoca; g++){
+                    if(isla.ejecutarGeneracion(random, null, -1)) contadoresEstanc[indiceIsla]=0;
+                    else contadoresEstanc[indiceIsla]++;
+                }
+                barrera.await();
+            }
+        }catch (InterruptedException ex){
+            Thread.currentThread().interrupt();
+        }catch (BrokenBarrierException ex){
+            System.err.println("ERROR: Se interrumpió la sincronización de la isla " + (indiceIsla+1));
+        }
+        isla.calcularMejoresFinales();
+    }
+
+    private void migrar(int verbosityLevel){
+        //Se ejecuta al terminar cada época. Primero se actualiza la mejor solución global y el estancamiento
+        boolean hayNuevoMejor = false;
+        for(AlgoritmoGenetico isla: islas){
+            if(Double.compare(isla.getFitnessMejorSolucion(), this.fitnessMejorSolucion)>0){
+                this.fitnessMejorSolucion = isla.getFitnessMejorSolucion();
+                this.mejorSolucion = isla.getMejorSolucion();
+                hayNuevoMejor = true;
+            }
+        }
+        //La sincronización inicial solo registra la mejor solución de las poblaciones iniciales
+        if(!this.poblacionesIniciadas){
+            this.poblacionesIniciadas = true;
+            return;
+        }
+        //Generaciones ejecutadas en la época que acaba de terminar
+        int generacionesEpoca = Math.min(intervaloMigracion, numIter-generacionesEjecutadas);
+        this.generacionesEjecutadas+= generacionesEpoca;
+        if(hayNuevoMejor) this.contadorEstanc = 0;
+        else this.contadorEstanc+= generacionesEpoca;
+        if(verbosityLevel>=1)
+            System.out.println("Generación " + generacionesEjecutadas + " | Mejor fitness global: " + fitnessMejorSolucion +
+                    " | Contadores de estancamiento por isla: " + Arrays.toString(contadoresEstanc) +
+                    " | Contador estancamiento global: " + contadorEstanc + "/" + cantIterEstanc);
+        if(this.generacionesEjecutadas>=numIter || this.contadorEstanc>=cantIterEstanc){
+            this.detener = true;
+            return;
+        }
+        //Se obtienen los emigrantes de cada isla y se envían según la topología
+        Cromosoma[][] emigrantes = new Cromosoma[islas.length][];
+        for(int i=0; i<islas.length; i++) emigrantes[i] = islas[i].obtenerMejores(cantMigrantes);
+        for(int i=0; i<islas.length; i++){
+            Cromosoma[] inmigrantes;
+            if(topologia==TopologiaMigracion.ANILLO){
+                //La isla i recibe los emigrantes de la isla anterior
+                inmigrantes = emigrantes[(i-1+islas.length)%islas.length];
+            }
+            else{
+                //La isla i recibe los mejores de entre los emigrantes de todas las demás islas
+                Cromosoma[] candidatos = new Cromosoma[(islas.length-1)*cantMigrantes];
+                int contador = 0;
+                for(int j=0; j<islas.length; j++){
+                    if(j==i) continue;
+                    for(Cromosoma emigrante: emigrantes[j]) candidatos[contador++] = emigrante;
+                }
+                candidatos = Arrays.copyOf(candidatos, contador);
+                Arrays.sort(candidatos, new ComparadorCromosomas());
+                inmigrantes = Arrays.copyOf(candidatos, Math.min(cantMigrantes, candidatos.length));
+            }
+            if(islas[i].recibirMigrantes(inmigrantes)) contadoresEstanc[i] = 0;
+        }
+    }
+
+    public AlgoritmoGenetico[] getIslas() {
+        return islas;
+    }
+
+    public Cromosoma getMejorSolucion() {
+        return mejorSolucion;
+    }
+
+    public double getFitnessMejorSolucion() {
+        return fitnessMejorSolucion;
+    }
+
+    public int getGeneracionesEjecutadas() {
+        return generacionesEjecutadas;
+    }
+
+    public double getTiempoEjecucion() {
+        return tiempoEjecucion;
+    }
+}
@@ -0,0 +1,166 @@
+package algoritmo;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.Cromosoma;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class Portafolio {
+    //Ejecuta varias configuraciones de parámetros a la vez, cada una en su propio hilo, compartiendo la mejor solución
+    //encontrada hasta el momento (incumbente). Cada intervaloCompartir generaciones, una configuración cuya mejor
+    //solución sea peor que la incumbente la incorpora a su población. Todas se detienen cuando una de ellas llega al
+    //estancamiento o cuando se agota el presupuesto de tiempo; el resultado es la mejor solución de todas.
+    private final AlgoritmoGenetico[] algoritmos;
+    private final int[] cantIterEstanc;
+    private final long presupuestoMiliseg; //Tiempo máximo de ejecución (0 o menos: sin límite)
+    private final int intervaloCompartir; //Generaciones entre dos consultas de la incumbente
+    private final AtomicReference<Incumbente> incumbente = new AtomicReference<>();
+    private final int[] iteracionesEjecutadas;
+    private volatile boolean detener;
+    private volatile String motivoParada;
+    private int indiceConfigGanadora; //Configuración que encontró la incumbente final (-1: ninguna)
+    private double tiempoEjecucion; //Tiempo de ejecución en milisegundos
+
+    private static final class Incumbente {
+        //Mejor solución compartida junto con la configuración que la publicó (se actualizan juntas en el mismo CAS)
+        private final Cromosoma cromosoma;
+        private final int indiceConfig;
+
+        private Incumbente(Cromosoma cromosoma, int indiceConfig) {
+            this.cromosoma = cromosoma;
+            this.indiceConfig = indiceConfig;
+        }
+    }
+
+    public Portafolio(ParametrosAlgoritmo[] configuraciones, long presupuestoMiliseg, int intervaloCompartir) {
+        this(DatosEntrada.getInstance(null), configuraciones, presupuestoMiliseg, intervaloCompartir);
+    }
+
+    public Portafolio(DatosEntrada datos, ParametrosAlgoritmo[] configuraciones, long presupuestoMiliseg,
+                      int intervaloCompartir) {
+        this.algoritmos = new AlgoritmoGenetico[configuraciones.length];
+        this.cantIterEstanc = new int[configuraciones.length];
+        for(int i=0; i<configuraciones.length; i++){
+            ParametrosAlgoritmo config = configuraciones[i];
+            this.algoritmos[i] = new AlgoritmoGenetico(datos, config.getNumIter(), config.getTamPob(), config.getPorcCromCruzados(),
+                    config.getProbMut(), config.getPorcHijosIngresados(), config.getPorcIterEstanc());
+            int cantEstanc = (int) Math.ceil(config.getNumIter()*config.getPorcIterEstanc());
+            this.cantIterEstanc[i] = Math.min(cantEstanc, config.getNumIter());
+        }
+        this.presupuestoMiliseg = presupuestoMiliseg;
+        this.intervaloCompartir = Math.max(1, intervaloCompartir);
+        this.iteracionesEjecutadas = new int[configuraciones.length];
+    }
+
+    public Cromosoma ejecutar(int verbosityLevel){
+        long tiempoIni = System.nanoTime();
+        long limite = presupuestoMiliseg>0 ? tiempoIni + presupuestoMiliseg*1000L*1000L : Long.MAX_VALUE;
+        this.incumbente.set(null);
+        this.detener = false;
+        this.motivoParada = "límite de iteraciones";
+        Arrays.fill(this.iteracionesEjecutadas, 0);
+        SplittableRandom randomBase = new SplittableRandom();
+        Thread[] hilos = new Thread[algoritmos.length];
+        for(int i=0; i<algoritmos.length; i++){
+            int indiceConfig = i;
+            SplittableRandom random = randomBase.split();
+            hilos[i] = new Thread(() -> ejecutarConfiguracion(indiceConfig, random, limite), "portafolio-" + (i+1));
+            hilos[i].start();
+        }
+        for(Thread hilo: hilos){
+            try{
+                hilo.join();
+            }catch (InterruptedException ex){
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        this.tiempoEjecucion = (System.nanoTime()-tiempoIni)/(1000d*1000d);
+        Incumbente ganadora = incumbente.get();
+        Cromosoma mejor = ganadora==null ? null : ganadora.cromosoma;
+        this.indiceConfigGanadora = ganadora==null ? -1 : ganadora.indiceConfig;
+        if(verbosityLevel>=0){
+            System.out.println("Portafolio detenido por " + motivoParada);
+            System.out.println("Configuraciones: " + algoritmos.length + "|iteraciones por configuración: " +
+                    Arrays.toString(iteracionesEjecutadas) + "|configuración ganadora: " + (indiceConfigGanadora+1));
+            System.out.println("Tiempo de ejecución: " + tiempoEjecucion + "ms");
+            System.out.println("Fitness de la mejor solución:\t" + (mejor==null ? -1 : mejor.getFitness()));
+            System.out.println("Mejor solución general:");
+            System.out.println(mejor);
+        }
+        return mejor;
+    }
+
+    private void ejecutarConfiguracion(int indiceConfig, SplittableRandom random, long limite){
+        AlgoritmoGenetico algoritmo = algoritmos[indiceConfig];
+        algoritmo.inicializarPoblacion();
+        publicar(indiceConfig, algoritmo.getMejorSolucion());
+        int contadorEstanc = 0;
+        for(int i=1; i<=algoritmo.getNumIter() && !detener; i++){
+            if(algoritmo.ejecutarGeneracion(random, null, -1)){
+                contadorEstanc = 0;
+                publicar(indiceConfig, algoritmo.getMejorSolucion());
+            }
+            else contadorEstanc++;
+            iteracionesEjecutadas[indiceConfig] = i;
+            //Se incorpora la incumbente si es mejor que la mejor solución propia
+            if(i%intervaloCompartir==0){
+                Incumbente actual = incumbente.get();
+                Cromosoma mejorGlobal = actual==null ? null : actual.cromosoma;
+                if(mejorGlobal!=null && Double.compare(mejorGlobal.getFitness(), algoritmo.getFitnessMejorSolucion())>0){
+                    algoritmo.recibirMigrantes(new Cromosoma[]{new Cromosoma(mejorGlobal.getDatos(), mejorGlobal.getCromosoma(),
+                            mejorGlobal.getIndicesTab(), mejorGlobal.getCostProc(), mejorGlobal.getListaJoins(),
+                            mejorGlobal.getFitness())});
+                }
+            }
+            if(contadorEstanc==cantIterEstanc[indiceConfig]){
+                motivoParada = "estancamiento de la configuración " + (indiceConfig+1);
+                detener = true;
+            }
+            else if(System.nanoTime()>=limite){
+                motivoParada = "presupuesto de tiempo agotado";
+                detener = true;
+            }
+        }
+        algoritmo.calcularMejoresFinales();
+    }
+
+    private void publicar(int indiceConfig, Cromosoma candidato){
+        //Actualiza la incumbente mediante compareAndSet si el candidato es mejor, registrando la configuración que lo halló
+        double fitnessCandidato = candidato.getFitness();
+        Incumbente nueva = new Incumbente(candidato, indiceConfig);
+        while(true){
+            Incumbente actual = incumbente.get();
+            if(actual!=null && Double.compare(fitnessCandidato, actual.cromosoma.getFitness())<=0) return;
+            if(incumbente.compareAndSet(actual, nueva)) return;
+        }
+    }
+
+    public AlgoritmoGenetico[] getAlgoritmos() {
+        return algoritmos;
+    }
+
+    public Cromosoma getMejorSolucion() {
+        Incumbente actual = incumbente.get();
+        return actual==null ? null : actual.cromosoma;
+    }
+
+    public int getIndiceConfigGanadora() {
+        return indiceConfigGanadora;
+    }
+
+    public String getMotivoParada() {
+        return motivoParada;
+    }
+
+    public int[] getIteracionesEjecutadas() {
+        return iteracionesEjecutadas;
+    }
+
+    public double getTiempoEjecucion() {
+        return tiempoEjecucion;
+    }
+}
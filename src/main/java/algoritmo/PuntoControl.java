@@ -0,0 +1,127 @@
+package algoritmo;
+
+import datos_param.DatosEntrada;
+import estructuras_problema.CachePlanes;
+import estructuras_problema.Cromosoma;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class PuntoControl {
+    //Punto de control de una ejecución de AlgoritmoGenetico en un archivo binario de tamaño fijo, escrito a través de un
+    //MappedByteBuffer: guardar el estado solo copia enteros y doubles a memoria (el sistema operativo escribe las páginas
+    //en el archivo), así que no hay serialización. El estado sobrevive a la terminación del proceso, pero no a una caída
+    //del sistema operativo. Contenido:
+    //  cabecera: mágico, versión, numTablas, tamPob, firma exacta de los datos (CachePlanes.firmaExacta), iteración
+    //  (0: sin punto de control), contador de estancamiento, índice de la mejor solución, si la mejor solución sigue en
+    //  la población (en ese índice), semilla del generador aleatorio y fitness sumada de la población
+    //  registros (fitness, costo de comunicación y genes): mejor solución inicial, mejor solución y población
+    //La iteración se escribe al final, por lo que un punto de control interrumpido queda marcado como inválido
+    private static final int MAGICO = 0x41475043;
+    private static final int VERSION = 1;
+    private static final int POS_ITERACION = 24;
+    private static final int TAM_CABECERA = 64;
+    private final MappedByteBuffer buffer;
+    private final int numTablas;
+    private final int tamPob;
+    private final long firma;
+
+    PuntoControl(Path archivo, DatosEntrada datos, int tamPob) throws IOException {
+        this.numTablas = datos.getNumTablas();
+        this.tamPob = tamPob;
+        this.firma = CachePlanes.firmaExacta(datos);
+        long tamanio = TAM_CABECERA + (long) (tamPob+2)*tamRegistro();
+        try(FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)){
+            //El mapeo sigue siendo válido después de cerrar el canal
+            this.buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanio);
+        }
+    }
+
+    private int tamRegistro(){
+        return 16 + 4*numTablas;
+    }
+
+    boolean esValido(){
+        //Si el archivo tiene un punto de control completo de la misma ejecución (datos y tamaño de población)
+        return buffer.getInt(0)==MAGICO && buffer.getInt(4)==VERSION && buffer.getInt(8)==numTablas &&
+                buffer.getInt(12)==tamPob && buffer.getLong(16)==firma && buffer.getInt(POS_ITERACION)>0;
+    }
+
+    boolean estaVacio(){
+        return buffer.getInt(0)==0;
+    }
+
+    void escribir(int iteracion, int contadorEstanc, int indiceMejor, long semillaRandom, double fitnessSumada,
+                  Cromosoma primerMejor, Cromosoma mejorSolucion, Cromosoma[] poblacion){
+        buffer.putInt(POS_ITERACION, 0);
+        buffer.putInt(0, MAGICO);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, numTablas);
+        buffer.putInt(12, tamPob);
+        buffer.putLong(16, firma);
+        buffer.putInt(28, contadorEstanc);
+        buffer.putInt(32, indiceMejor);
+        buffer.putInt(36, indiceMejor>=0 && poblacion[indiceMejor]==mejorSolucion ? 1 : 0);
+        buffer.putLong(40, semillaRandom);
+        buffer.putDouble(48, fitnessSumada);
+        escribirRegistro(0, primerMejor);
+        escribirRegistro(1, mejorSolucion);
+        for(int i=0; i<tamPob; i++) escribirRegistro(i+2, poblacion[i]);
+        buffer.putInt(POS_ITERACION, iteracion);
+    }
+
+    private void escribirRegistro(int registro, Cromosoma cromosoma){
+        int posicion = TAM_CABECERA + registro*tamRegistro();
+        buffer.putDouble(posicion, cromosoma.getFitness());
+        buffer.putDouble(posicion+8, cromosoma.getCostCom());
+        int[] genes = cromosoma.getCromosoma();
+        for(int j=0; j<numTablas; j++) buffer.putInt(posicion+16+4*j, genes[j]);
+    }
+
+    private Cromosoma leerRegistro(int registro, DatosEntrada datos){
+        int posicion = TAM_CABECERA + registro*tamRegistro();
+        int[] genes = new int[numTablas];
+        for(int j=0; j<numTablas; j++) genes[j] = buffer.getInt(posicion+16+4*j);
+        return new Cromosoma(datos, genes, buffer.getDouble(posicion), buffer.getDouble(posicion+8));
+    }
+
+    Cromosoma leerPrimerMejor(DatosEntrada datos){
+        return leerRegistro(0, datos);
+    }
+
+    Cromosoma leerMejorSolucion(DatosEntrada datos, Cromosoma[] poblacion){
+        //Se mantiene la identidad con el cromosoma de la población, como en la ejecución original
+        if(buffer.getInt(36)==1) return poblacion[getIndiceMejor()];
+        return leerRegistro(1, datos);
+    }
+
+    Cromosoma[] leerPoblacion(DatosEntrada datos){
+        Cromosoma[] poblacion = new Cromosoma[tamPob];
+        for(int i=0; i<tamPob; i++) poblacion[i] = leerRegistro(i+2, datos);
+        return poblacion;
+    }
+
+    int getIteracion(){
+        return buffer.getInt(POS_ITERACION);
+    }
+
+    int getContadorEstanc(){
+        return buffer.getInt(28);
+    }
+
+    int getIndiceMejor(){
+        return buffer.getInt(32);
+    }
+
+    long getSemillaRandom(){
+        return buffer.getLong(40);
+    }
+
+    double getFitnessSumada(){
+        return buffer.getDouble(48);
+    }
+}
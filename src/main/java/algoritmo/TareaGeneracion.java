@@ -0,0 +1,49 @@
+package algoritmo;
+
+import estructuras_problema.Cromosoma;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+class TareaGeneracion extends RecursiveAction {
+    //Tarea que aplica casamiento PMX, mutación y cálculo de fitness a un rango de pares de padres. El rango se divide
+    //recursivamente hasta llegar al umbral, de modo que el ForkJoinPool reparta los pares entre sus hilos.
+    private static final long serialVersionUID = 1L;
+    private static final int UMBRAL_PARES = 4; //Cantidad máxima de pares que procesa una tarea sin dividirse
+
+    private final AlgoritmoGenetico algoritmo;
+    private final Cromosoma[] arrPadres;
+    private final Cromosoma[] arrHijos;
+    private final int indiceIni; //Primer par (incluido) a procesar
+    private final int indiceFin; //Último par (excluido) a procesar
+    private final SplittableRandom genRandom; //Fuente de aleatoriedad propia de la tarea
+
+    TareaGeneracion(AlgoritmoGenetico algoritmo, Cromosoma[] arrPadres, Cromosoma[] arrHijos, int indiceIni,
+                    int indiceFin, SplittableRandom genRandom) {
+        this.algoritmo = algoritmo;
+        this.arrPadres = arrPadres;
+        this.arrHijos = arrHijos;
+        this.indiceIni = indiceIni;
+        this.indiceFin = indiceFin;
+        this.genRandom = genRandom;
+    }
+
+    @Override
+    protected void compute() {
+        if(indiceFin-indiceIni<=UMBRAL_PARES){
+            for(int i=indiceIni; i<indiceFin; i++){
+                Cromosoma hijo = algoritmo.cruzarPar(arrPadres[2*i], arrPadres[2*i+1], genRandom);
+                hijo = algoritmo.mutarCromosoma(hijo, genRandom);
+                //En el modo sin duplicados, un hijo repetido se vuelve a mutar o se descarta (null) sin evaluarse
+                hijo = algoritmo.evitarDuplicado(hijo, genRandom);
+                if(hijo!=null) algoritmo.evaluar(hijo);
+                arrHijos[i] = hijo;
+            }
+            return;
+        }
+        //Se divide el rango en dos mitades; la primera recibe una nueva fuente de aleatoriedad mediante split()
+        int indiceMedio = (indiceIni+indiceFin)>>>1;
+        invokeAll(new TareaGeneracion(algoritmo, arrPadres, arrHijos, indiceIni, indiceMedio, genRandom.split()),
+                new TareaGeneracion(algoritmo, arrPadres, arrHijos, indiceMedio, indiceFin, genRandom));
+    }
+}
@@ -0,0 +1,7 @@
+package algoritmo;
+
+public enum TopologiaMigracion {
+    //Topologías de intercambio de migrantes entre las islas del modelo de islas
+    ANILLO, //Cada isla envía sus mejores cromosomas únicamente a la siguiente isla
+    COMPLETA //Cada isla recibe los mejores cromosomas de entre los enviados por todas las demás islas
+}
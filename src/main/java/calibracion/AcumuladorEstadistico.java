@@ -0,0 +1,44 @@
+package calibracion;
+
+public class AcumuladorEstadistico {
+    //Acumula media y varianza de una serie de valores en una sola pasada, sin guardar los valores (método de Welford)
+    private long cantidad;
+    private double media;
+    private double sumaCuadradosDif; //Suma de cuadrados de las diferencias respecto a la media (M2)
+    private double minimo = Double.POSITIVE_INFINITY;
+    private double maximo = Double.NEGATIVE_INFINITY;
+
+    public void agregar(double valor){
+        cantidad++;
+        double diferencia = valor-media;
+        media+= diferencia/cantidad;
+        sumaCuadradosDif+= diferencia*(valor-media);
+        minimo = Math.min(minimo, valor);
+        maximo = Math.max(maximo, valor);
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    public double getVarianza() {
+        //Varianza muestral (0 si hay menos de dos valores)
+        return cantidad>1 ? sumaCuadradosDif/(cantidad-1) : 0;
+    }
+
+    public double getDesviacion() {
+        return Math.sqrt(getVarianza());
+    }
+
+    public double getMinimo() {
+        return minimo;
+    }
+
+    public double getMaximo() {
+        return maximo;
+    }
+}
@@ -0,0 +1,146 @@
+package calibracion;
+
+import algoritmo.AlgoritmoGenetico;
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.MemoFitness;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CalibradorParalelo {
+    //Ejecuta cada combinación de parámetros cantRepeticiones veces repartiendo los trabajos (configuración, repetición)
+    //entre un pool de hilos acotado. Los resultados de cada configuración se agregan con acumuladores de una sola pasada
+    //y se imprimen con el mismo formato separado por ";" que la calibración secuencial.
+    private final DatosEntrada datos;
+    private final ParametrosAlgoritmo[] configuraciones;
+    private final int cantRepeticiones;
+    private final int numHilos;
+    private final AcumuladorEstadistico[] fitnessMejorSol;
+    private final AcumuladorEstadistico[] fitnessMejores10;
+    private final AcumuladorEstadistico[] fitnessMejores20;
+    private final AcumuladorEstadistico[] tiemposEjec;
+    private final long[] evaluaciones; //Cálculos de fitness realizados por todas las repeticiones de cada configuración
+    private MemoFitness memoFitness; //Memoria de fitness compartida por todas las repeticiones (null: sin memoria)
+
+    public CalibradorParalelo(ParametrosAlgoritmo[] configuraciones, int cantRepeticiones, int numHilos) {
+        this(DatosEntrada.getInstance(null), configuraciones, cantRepeticiones, numHilos);
+    }
+
+    public CalibradorParalelo(DatosEntrada datos, ParametrosAlgoritmo[] configuraciones, int cantRepeticiones, int numHilos) {
+        this.datos = datos;
+        this.configuraciones = configuraciones;
+        this.cantRepeticiones = cantRepeticiones;
+        this.numHilos = Math.max(1, numHilos);
+        this.fitnessMejorSol = new AcumuladorEstadistico[configuraciones.length];
+        this.fitnessMejores10 = new AcumuladorEstadistico[configuraciones.length];
+        this.fitnessMejores20 = new AcumuladorEstadistico[configuraciones.length];
+        this.tiemposEjec = new AcumuladorEstadistico[configuraciones.length];
+        this.evaluaciones = new long[configuraciones.length];
+    }
+
+    public String[] ejecutar(){
+        for(int i=0; i<configuraciones.length; i++){
+            fitnessMejorSol[i] = new AcumuladorEstadistico();
+            fitnessMejores10[i] = new AcumuladorEstadistico();
+            fitnessMejores20[i] = new AcumuladorEstadistico();
+            tiemposEjec[i] = new AcumuladorEstadistico();
+            evaluaciones[i] = 0;
+        }
+        ExecutorService ejecutor = Executors.newFixedThreadPool(numHilos);
+        ArrayList<Future<?>> trabajos = new ArrayList<>();
+        try{
+            //Las repeticiones se encolan intercaladas por configuración para que los resultados de todas avancen a la par
+            for(int j=0; j<cantRepeticiones; j++){
+                for(int i=0; i<configuraciones.length; i++){
+                    int indiceConfig = i;
+                    trabajos.add(ejecutor.submit(() -> ejecutarRepeticion(indiceConfig)));
+                }
+            }
+            for(Future<?> trabajo: trabajos){
+                try{
+                    trabajo.get();
+                }catch (ExecutionException ex){
+                    System.err.println("ERROR: Falló una repetición de la calibración: " + ex.getCause());
+                    ex.printStackTrace();
+                    System.exit(4);
+                }
+            }
+        }catch (InterruptedException ex){
+            Thread.currentThread().interrupt();
+        }finally {
+            ejecutor.shutdownNow();
+        }
+        String[] lineas = new String[configuraciones.length];
+        for(int i=0; i<configuraciones.length; i++) lineas[i] = formatearLinea(i);
+        return lineas;
+    }
+
+    private void ejecutarRepeticion(int indiceConfig){
+        ParametrosAlgoritmo config = configuraciones[indiceConfig];
+        //Cada trabajo usa su propia instancia del algoritmo, pues esta guarda el estado de la ejecución
+        AlgoritmoGenetico algMem = new AlgoritmoGenetico(datos, config.getNumIter(), config.getTamPob(), config.getPorcCromCruzados(),
+                config.getProbMut(), config.getPorcHijosIngresados(), config.getPorcIterEstanc());
+        //Todas las repeticiones resuelven el mismo problema, así que pueden compartir las evaluaciones ya realizadas
+        algMem.setMemoFitness(memoFitness);
+        algMem.ejecutar(-1);
+        //Los acumuladores de una configuración se actualizan con su propio bloqueo
+        synchronized (fitnessMejorSol[indiceConfig]){
+            fitnessMejorSol[indiceConfig].agregar(algMem.getFitnessMejorSolucion());
+            fitnessMejores10[indiceConfig].agregar(algMem.getFitnessPromMejores10());
+            fitnessMejores20[indiceConfig].agregar(algMem.getFitnessPromMejores20());
+            tiemposEjec[indiceConfig].agregar(algMem.getTiempoEjecucion());
+            evaluaciones[indiceConfig]+= algMem.getEvaluacionesRealizadas();
+        }
+    }
+
+    public static StringBuilder prefijoConfiguracion(ParametrosAlgoritmo config){
+        //Columnas de parámetros de una línea de calibración
+        StringBuilder salida = new StringBuilder();
+        salida.append(config.getNumIter()).append(";").append(config.getTamPob()).append(";")
+                .append(config.getPorcCromCruzados()).append(";").append(config.getProbMut())
+                .append(";").append(config.getPorcHijosIngresados()).append(";")
+                .append(config.getPorcIterEstanc()).append(";|;");
+        return salida;
+    }
+
+    private String formatearLinea(int indiceConfig){
+        StringBuilder salida = prefijoConfiguracion(configuraciones[indiceConfig]);
+        salida.append(fitnessMejorSol[indiceConfig].getMedia()).append(";")
+                .append(fitnessMejores10[indiceConfig].getMedia()).append(";")
+                .append(fitnessMejores20[indiceConfig].getMedia()).append(";")
+                .append(tiemposEjec[indiceConfig].getMedia());
+        return salida.toString();
+    }
+
+    public AcumuladorEstadistico[] getFitnessMejorSol() {
+        return fitnessMejorSol;
+    }
+
+    public AcumuladorEstadistico[] getFitnessMejores10() {
+        return fitnessMejores10;
+    }
+
+    public AcumuladorEstadistico[] getFitnessMejores20() {
+        return fitnessMejores20;
+    }
+
+    public AcumuladorEstadistico[] getTiemposEjec() {
+        return tiemposEjec;
+    }
+
+    public long[] getEvaluaciones() {
+        return evaluaciones;
+    }
+
+    public MemoFitness getMemoFitness() {
+        return memoFitness;
+    }
+
+    public void setMemoFitness(MemoFitness memoFitness) {
+        this.memoFitness = memoFitness;
+    }
+}
@@ -0,0 +1,154 @@
+package calibracion;
+
+import algoritmo.AlgoritmoGenetico;
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.MemoFitness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class CalibradorRacing {
+    //Calibración por successive halving: todas las combinaciones de parámetros empiezan con pocas repeticiones y pocas
+    //iteraciones; en cada ronda solo pasa la fracción 1/eta de combinaciones con mejor fitness promedio de la mejor
+    //solución, y las que pasan reciben eta veces más repeticiones e iteraciones. La última ronda usa cantRepeticiones y
+    //el numIter completo de cada combinación, por lo que sus resultados son comparables con la calibración exhaustiva.
+    private final DatosEntrada datos;
+    private final ParametrosAlgoritmo[] configuraciones;
+    private final int cantRepeticiones;
+    private final int eta; //Factor de reducción de combinaciones (y de aumento de presupuesto) entre rondas
+    private final int numHilos;
+    static final int REPETICIONES_MINIMAS = 2; //Ninguna ronda evalúa una combinación con menos repeticiones
+    private long evaluacionesRealizadas; //Cálculos de fitness realizados en todas las rondas
+    private long presupuestoRacing; //Evaluaciones máximas de todas las ejecuciones de las rondas
+    private long presupuestoExhaustivo; //Evaluaciones máximas de la calibración exhaustiva equivalente
+    private int[] indicesFinalistas; //Índices (en configuraciones) de las combinaciones que llegan a la última ronda
+    private MemoFitness memoFitness; //Memoria de fitness compartida por todas las rondas (null: sin memoria)
+
+    public CalibradorRacing(ParametrosAlgoritmo[] configuraciones, int cantRepeticiones, int eta, int numHilos) {
+        this(DatosEntrada.getInstance(null), configuraciones, cantRepeticiones, eta, numHilos);
+    }
+
+    public CalibradorRacing(DatosEntrada datos, ParametrosAlgoritmo[] configuraciones, int cantRepeticiones, int eta,
+                            int numHilos) {
+        if(eta<2 || cantRepeticiones<=0){
+            System.err.println("ERROR: Parámetros inválidos para la calibración por racing (eta: " + eta +
+                    ", cantRepeticiones: " + cantRepeticiones + ")");
+            System.exit(3);
+        }
+        this.datos = datos;
+        this.configuraciones = configuraciones;
+        this.cantRepeticiones = cantRepeticiones;
+        this.eta = eta;
+        this.numHilos = numHilos;
+    }
+
+    public String[] ejecutar(int verbosityLevel){
+        this.evaluacionesRealizadas = 0;
+        this.presupuestoRacing = 0;
+        this.presupuestoExhaustivo = 0;
+        for(ParametrosAlgoritmo config: configuraciones) presupuestoExhaustivo+= cantRepeticiones*presupuesto(config);
+        int numRondas = numRondas(configuraciones.length, eta);
+        int[] supervivientes = new int[configuraciones.length];
+        for(int i=0; i<supervivientes.length; i++) supervivientes[i] = i;
+        String[] lineasFinales = null;
+        for(int ronda=0; ronda<=numRondas; ronda++){
+            //Fracción del presupuesto completo que recibe cada combinación en esta ronda (1 en la última)
+            double fraccion = Math.pow(eta, ronda-numRondas);
+            int repeticiones = repeticionesRonda(cantRepeticiones, eta, ronda, numRondas);
+            ParametrosAlgoritmo[] configsRonda = new ParametrosAlgoritmo[supervivientes.length];
+            for(int i=0; i<supervivientes.length; i++){
+                ParametrosAlgoritmo config = configuraciones[supervivientes[i]];
+                int numIterRonda = Math.max(1, (int) Math.ceil(config.getNumIter()*fraccion));
+                configsRonda[i] = new ParametrosAlgoritmo(numIterRonda, config.getTamPob(), config.getPorcCromCruzados(),
+                        config.getProbMut(), config.getProbBusq(), config.getPorcHijosIngresados(),
+                        config.getCantVecinosEvaluados(), config.getPorcIterEstanc());
+                presupuestoRacing+= repeticiones*presupuesto(configsRonda[i]);
+            }
+            CalibradorParalelo calibrador = new CalibradorParalelo(datos, configsRonda, repeticiones, numHilos);
+            calibrador.setMemoFitness(memoFitness);
+            String[] lineas = calibrador.ejecutar();
+            for(long evaluacionesConfig: calibrador.getEvaluaciones()) evaluacionesRealizadas+= evaluacionesConfig;
+            if(verbosityLevel>=1)
+                System.out.println("Ronda " + (ronda+1) + "/" + (numRondas+1) + ": " + supervivientes.length +
+                        " combinaciones, " + repeticiones + " repeticiones, " + Math.round(fraccion*100) + "% de numIter");
+            if(ronda==numRondas){
+                lineasFinales = lineas;
+                break;
+            }
+            //Pasan las ceil(n/eta) combinaciones con mejor fitness promedio de la mejor solución
+            AcumuladorEstadistico[] fitnessMejorSol = calibrador.getFitnessMejorSol();
+            Integer[] orden = new Integer[supervivientes.length];
+            for(int i=0; i<orden.length; i++) orden[i] = i;
+            Arrays.sort(orden, Comparator.comparingDouble((Integer i) -> fitnessMejorSol[i].getMedia()).reversed());
+            int cantPasan = cantPasan(supervivientes.length, eta);
+            int[] siguientes = new int[cantPasan];
+            for(int i=0; i<cantPasan; i++) siguientes[i] = supervivientes[orden[i]];
+            if(verbosityLevel>=2){
+                for(int i=cantPasan; i<orden.length; i++)
+                    System.out.println("Eliminada: " + lineas[orden[i]]);
+            }
+            Arrays.sort(siguientes);
+            supervivientes = siguientes;
+        }
+        this.indicesFinalistas = supervivientes;
+        ArrayList<String> salida = new ArrayList<>(Arrays.asList(lineasFinales));
+        salida.add("Racing: " + configuraciones.length + " combinaciones, " + (numRondas+1) + " rondas, " +
+                supervivientes.length + " finalista(s)");
+        salida.add("Evaluaciones presupuestadas: " + presupuestoRacing + " de " + presupuestoExhaustivo +
+                " de la calibración exhaustiva (ahorro: " + getEvaluacionesAhorradas() + ", " +
+                Math.round(100d*getEvaluacionesAhorradas()/presupuestoExhaustivo) + "%). Evaluaciones realizadas: " +
+                evaluacionesRealizadas);
+        return salida.toArray(new String[0]);
+    }
+
+    static int numRondas(int cantConfiguraciones, int eta){
+        //Cantidad de rondas de eliminación necesarias para quedarse con una sola combinación
+        int numRondas = 0;
+        for(long restantes = cantConfiguraciones; restantes>1; restantes = cantPasan(restantes, eta)) numRondas++;
+        return numRondas;
+    }
+
+    static int cantPasan(long cantSupervivientes, int eta){
+        //Pasan ceil(n/eta) combinaciones a la siguiente ronda
+        return (int) ((cantSupervivientes+eta-1)/eta);
+    }
+
+    static int repeticionesRonda(int cantRepeticiones, int eta, int ronda, int numRondas){
+        //Repeticiones proporcionales a la fracción del presupuesto de la ronda, sin bajar de REPETICIONES_MINIMAS (salvo
+        //que cantRepeticiones sea menor)
+        double fraccion = Math.pow(eta, ronda-numRondas);
+        return Math.max(Math.min(REPETICIONES_MINIMAS, cantRepeticiones), (int) Math.ceil(cantRepeticiones*fraccion));
+    }
+
+    private static long presupuesto(ParametrosAlgoritmo config){
+        //Evaluaciones de una ejecución que no se detiene por estancamiento: población inicial más hijos por iteración
+        int cantCruce = AlgoritmoGenetico.calcularCantCromCruzados(config.getTamPob(), config.getPorcCromCruzados());
+        return config.getTamPob() + (long) config.getNumIter()*(cantCruce/2);
+    }
+
+    public long getEvaluacionesAhorradas() {
+        return presupuestoExhaustivo-presupuestoRacing;
+    }
+
+    public long getEvaluacionesRealizadas() {
+        return evaluacionesRealizadas;
+    }
+
+    public long getPresupuestoRacing() {
+        return presupuestoRacing;
+    }
+
+    public long getPresupuestoExhaustivo() {
+        return presupuestoExhaustivo;
+    }
+
+    public int[] getIndicesFinalistas() {
+        return indicesFinalistas;
+    }
+
+    public void setMemoFitness(MemoFitness memoFitness) {
+        this.memoFitness = memoFitness;
+    }
+}
@@ -1,13 +1,22 @@
 package datos_param;
 
 import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import estructuras_problema.CodificacionGen;
+import estructuras_problema.ModeloCompilado;
 import estructuras_problema.Tabla;
 
 public class DatosEntrada {
-    //Esta clase contiene todos los datos de entrada del problema.
+    //Esta clase contiene todos los datos de entrada del problema. Una misma instancia puede pasarse a varios algoritmos
+    //y cromosomas, y varias instancias (problemas distintos) pueden optimizarse a la vez. El constructor copia los
+    //arreglos recibidos, y getCardTablas, getCapTransSitios y getParamAlg devuelven copias. getTablas y getDistTabSit
+    //devuelven los arreglos internos sin copiarlos, porque se consultan al crear y evaluar cada cromosoma: son de solo
+    //lectura (modificarlos desincronizaría el ModeloCompilado). getInstance mantiene una instancia global para el código
+    //que no recibe los datos (p. ej. los constructores de Cromosoma y AlgoritmoGenetico sin DatosEntrada).
     private final int numTablas; //NumTab
     private final int numSitios; //NumSit
     private final int numTotalColumnas;
@@ -21,6 +30,7 @@ public class DatosEntrada {
     private final float coefProc;
     private final ParametrosAlgoritmo[] paramAlg;
     private final int verbosityLevel;
+    private final ModeloCompilado modelo; //Datos preparados para el cálculo de la fitness (se arman al cargar los datos)
 
     //Necesario para aplicar el patrón Singleton en esta clase
     private static DatosEntrada INSTANCIA;
@@ -29,16 +39,26 @@ public class DatosEntrada {
         this.numTablas = numTablas;
         this.numSitios = numSitios;
         this.numTotalColumnas = numTotalColumnas;
-        this.distTabSit = distTabSit;
-        this.tablas = tablas;
-        this.cardTablas = cardTablas;
-        this.capTransSitios = capTransSitios;
+        //Se copian los arreglos para que el llamador no pueda modificarlos después de armar el modelo
+        this.distTabSit = new boolean[distTabSit.length][];
+        for(int i=0; i<distTabSit.length; i++) this.distTabSit[i] = distTabSit[i].clone();
+        this.tablas = new Tabla[tablas.length];
+        for(int i=0; i<tablas.length; i++) this.tablas[i] = Tabla.copiaSoloLectura(tablas[i]);
+        this.cardTablas = copiar(cardTablas);
+        this.capTransSitios = copiar(capTransSitios);
         this.tamPromColumna = tamPromColumna;
         this.overheadTrans = overheadTrans;
         this.coefCom = coefCom;
         this.coefProc = coefProc;
-        this.paramAlg = paramAlg;
+        this.paramAlg = paramAlg.clone();
         this.verbosityLevel = verbosityLevel;
+        this.modelo = new ModeloCompilado(this.tablas, numTotalColumnas, this.capTransSitios, overheadTrans, tamPromColumna);
+    }
+
+    private static int[][] copiar(int[][] matriz){
+        int[][] copia = new int[matriz.length][];
+        for(int i=0; i<matriz.length; i++) copia[i] = matriz[i].clone();
+        return copia;
     }
 
     public static DatosEntrada getInstance(String pathArchivoDatos){
@@ -48,206 +68,236 @@ public class DatosEntrada {
         return INSTANCIA;
     }
 
+    public static DatosEntrada cargar(String pathArchivoDatos){
+        //Lee un archivo de datos sin reemplazar la instancia global
+        return loadInstance(pathArchivoDatos);
+    }
+
     private static DatosEntrada loadInstance(String pathArchivoDatos){
-        //Lógica para leer el archivo de datos de entrada
+        try{
+            return leer(pathArchivoDatos);
+        }catch (NumberFormatException | IOException ex){
+            System.err.println(ex.getMessage());
+            ex.printStackTrace();
+            System.exit(2);
+        }
+        return null;
+    }
+
+    public static DatosEntrada leer(String pathArchivoDatos) throws IOException{
+        //Lógica para leer el archivo de datos de entrada. A diferencia de getInstance y cargar, los errores de lectura se
+        //lanzan (IOException o NumberFormatException) en lugar de terminar el programa
         String path;
-        String separadorCsv = ";";
         //Obtener path del archivo de
         if(pathArchivoDatos == null)
             path = (new File(DatosEntrada.class.getProtectionDomain().getCodeSource().getLocation().getPath()).getParent()) + "/datos.csv";
         else path = pathArchivoDatos;
         File archivoDatos = new File(path);
-        //Verificar que el archivo exista
-        try{
-            FileReader fileReader= new FileReader(archivoDatos);
-            BufferedReader csvReader = new BufferedReader(fileReader);
-            //Lectura del archivo de datos
-            int numTablas;
-            int numSitios;
-            int numTotalColumnas;
-            boolean[][] distTabSit;
-            Tabla[] tablas;
-            int[][] cardTablas;
-            int[][] capTrans;
-            int tamPromColumna;
-            int overheadTrans;
-            float coefCom;
-            float coefProc;
-            ParametrosAlgoritmo[] combParamAlg;
-            //Primera línea, datos del problema (numTab, numSit, numTotalCol, tamPromCol, overheadTransm, coefCom)
-            String fila = csvReader.readLine();
-            if(fila==null){
-                throw new IOException("ERROR: El archivo de datos está vacío");
-            }
-            String[] datos = fila.split(separadorCsv);
-            if(datos.length!=6){
-                throw new IOException("ERROR: Faltan datos del problema en el archivo de datos (linea 1)");
+        //Verificar que el archivo exista (FileInputStream lanza la misma excepción que FileReader)
+        try(FileInputStream entrada = new FileInputStream(archivoDatos);
+            FileChannel canal = entrada.getChannel()){
+            //El archivo se mapea en memoria y se lee sobre sus bytes (LectorBytes); un archivo que no entra en un solo
+            //mapeo se lee por líneas como texto. Los archivos en formato binario (FormatoBinario) se cargan sin conversión
+            if(canal.size()>Integer.MAX_VALUE)
+                return leer(new BufferedReader(new InputStreamReader(entrada)));
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if(FormatoBinario.esBinario(buffer)) return FormatoBinario.leer(buffer);
+            return leer(new LectorBytes(buffer), Long.MAX_VALUE);
+        }
+    }
+
+    public static DatosEntrada leer(BufferedReader csvReader) throws IOException{
+        //Lectura de los datos de entrada desde cualquier origen con el formato del archivo de datos (por ejemplo, una
+        //solicitud del servidor de optimización). Lanza los mismos errores que la lectura del archivo
+        return leer(new LectorTexto(csvReader), Long.MAX_VALUE);
+    }
+
+    public static DatosEntrada leer(BufferedReader csvReader, long maxCaracteres) throws IOException{
+        //Igual que leer(BufferedReader), pero para un texto de como máximo maxCaracteres caracteres: si las dimensiones de
+        //la línea 1 necesitan más caracteres, se rechaza antes de reservar las matrices
+        return leer(new LectorTexto(csvReader), maxCaracteres);
+    }
+
+    private static long minCaracteres(int numTablas, int numSitios, int numTotalColumnas){
+        //Caracteres mínimos de las secciones de tablas, distribución y capacidades (cada campo tiene al menos un carácter
+        //y los campos se separan con ";"; no se cuentan los guiones ni los fines de línea)
+        return numTablas*(2L*numTotalColumnas+3) + numTablas*(2L*numSitios-1) + numSitios*(2L*numSitios-1);
+    }
+
+    private static DatosEntrada leer(LectorLineas lector, long maxCaracteres) throws IOException{
+        //Lectura del archivo de datos
+        int numTablas;
+        int numSitios;
+        int numTotalColumnas;
+        boolean[][] distTabSit;
+        Tabla[] tablas;
+        int[][] cardTablas;
+        int[][] capTrans;
+        int tamPromColumna;
+        int overheadTrans;
+        float coefCom;
+        float coefProc;
+        ParametrosAlgoritmo[] combParamAlg;
+        //Primera línea, datos del problema (numTab, numSit, numTotalCol, tamPromCol, overheadTransm, coefCom)
+        if(!lector.siguienteLinea()){
+            throw new IOException("ERROR: El archivo de datos está vacío");
+        }
+        if(lector.numCampos()!=6){
+            throw new IOException("ERROR: Faltan datos del problema en el archivo de datos (linea 1)");
+        }
+        //Se llenan los datos
+        numTablas=lector.entero(0);
+        numSitios=lector.entero(1);
+        numTotalColumnas=lector.entero(2);
+        tamPromColumna=lector.entero(3);
+        overheadTrans=lector.entero(4);
+        coefCom=lector.flotante(5);
+        if(numTablas <= 1 || numSitios <=0 || numTotalColumnas <=0 || tamPromColumna <= 0 || overheadTrans < 0 || coefCom <0){
+            throw new IOException("ERROR: Datos inválidos en la línea 1 del archivo de datos");
+        }
+        if(minCaracteres(numTablas, numSitios, numTotalColumnas) > maxCaracteres){
+            throw new IOException("ERROR: Las dimensiones de la línea 1 del archivo de datos no caben en " + maxCaracteres + " caracteres");
+        }
+        if(numTablas > CodificacionGen.MAX_TABLAS || numSitios > CodificacionGen.MAX_SITIOS){
+            throw new IOException("ERROR: El número de tablas o sitios excede el máximo admitido por la codificación de genes (linea 1)");
+        }
+        coefProc=1-coefCom;
+        //Segunda línea, se debe leer un guion que separa la siguiente sección de datos
+        if(!lector.siguienteLinea()){
+            throw new IOException("ERROR: El archivo de datos está incompleto (solamente se leyó primera línea");
+        }
+        //Sección de información de tablas
+        tablas = new Tabla[numTablas];
+        cardTablas = new int[numTablas][numTotalColumnas];
+        for(int i=0;i<numTablas;i++){
+            if(!lector.siguienteLinea()){
+                throw new IOException("ERROR: El archivo de datos está incompleto (solamente se leyó hasta la línea " + (2+i));
             }
-            //Se llenan los datos
-            numTablas=Integer.parseInt(datos[0]);
-            numSitios=Integer.parseInt(datos[1]);
-            numTotalColumnas=Integer.parseInt(datos[2]);
-            tamPromColumna=Integer.parseInt(datos[3]);
-            overheadTrans=Integer.parseInt(datos[4]);
-            coefCom=Float.parseFloat(datos[5]);
-            if(numTablas <= 1 || numSitios <=0 || numTotalColumnas <=0 || tamPromColumna <= 0 || overheadTrans < 0 || coefCom <0){
-                throw new IOException("ERROR: Datos inválidos en la línea 1 del archivo de datos");
+            if(lector.numCampos()!=numTotalColumnas+2 || lector.esGuion(0)){
+                throw new IOException("ERROR: Archivo de datos - Faltan datos para la tabla " + (i+1) + " (linea " + (3+i) + ")");
             }
-            coefProc=1-coefCom;
-            //Segunda línea, se debe leer un guion que separa la siguiente sección de datos
-            fila = csvReader.readLine();
-            if(fila==null){
-                throw new IOException("ERROR: El archivo de datos está incompleto (solamente se leyó primera línea");
+            //Datos de "cabecera" de la tabla
+            int numFilas = lector.entero(0);
+            int numBytes = lector.entero(1);
+            if(numFilas <=0 || numBytes <=0){
+                throw new IOException("ERROR: Archivo de datos - Datos de cabecera incorrectos para la tabla " + (i+1) + " (linea " + (3+i) + ")");
             }
-            //Sección de información de tablas
-            tablas = new Tabla[numTablas];
-            cardTablas = new int[numTablas][numTotalColumnas];
-            for(int i=0;i<numTablas;i++){
-                fila = csvReader.readLine();
-                if(fila==null){
-                    throw new IOException("ERROR: El archivo de datos está incompleto (solamente se leyó hasta la línea " + (2+i));
+            //Lectura de cardinalidades de la tabla
+            int[] cardColumnas = cardTablas[i];
+            int numColumnas = 0;
+            for (int j=0;j<numTotalColumnas;j++){
+                cardColumnas[j] = lector.entero(j+2);
+                if(cardColumnas[j]<0){
+                    throw new IOException("ERROR: Archivo de datos - Cardinalidad negativa para la tabla " + (i+1) + ", columna " + (j+1) + " (linea " + (3+i) + ")");
                 }
-                datos = fila.split(separadorCsv);
-                if(datos.length!=numTotalColumnas+2 || datos[0].equals("-")){
-                    throw new IOException("ERROR: Archivo de datos - Faltan datos para la tabla " + (i+1) + " (linea " + (3+i) + ")");
+                if(cardColumnas[j]>numFilas){
+                    throw new IOException("ERROR: Archivo de datos - Cardinalidad mayor a numFilas para la tabla " + (i+1) + ", columna " + (j+1) + " (linea " + (3+i) + ")");
                 }
-                //Datos de "cabecera" de la tabla
-                int numFilas = Integer.parseInt(datos[0]);
-                int numBytes = Integer.parseInt(datos[1]);
-                if(numFilas <=0 || numBytes <=0){
-                    throw new IOException("ERROR: Archivo de datos - Datos de cabecera incorrectos para la tabla " + (i+1) + " (linea " + (3+i) + ")");
-                }
-                //Lectura de cardinalidades de la tabla
-                int[] cardColumnas = cardTablas[i];
-                int numColumnas = 0;
-                for (int j=0;j<numTotalColumnas;j++){
-                    cardColumnas[j] = Integer.parseInt(datos[j+2]);
-                    if(cardColumnas[j]<0){
-                        throw new IOException("ERROR: Archivo de datos - Cardinalidad negativa para la tabla " + (i+1) + ", columna " + (j+1) + " (linea " + (3+i) + ")");
-                    }
-                    if(cardColumnas[j]>numFilas){
-                        throw new IOException("ERROR: Archivo de datos - Cardinalidad mayor a numFilas para la tabla " + (i+1) + ", columna " + (j+1) + " (linea " + (3+i) + ")");
-                    }
-                    if(cardColumnas[j]!=0)numColumnas++;
-                }
-                Tabla nuevaTabla = new Tabla(i+1,numFilas,numColumnas,numBytes,cardColumnas);
-                tablas[i] = nuevaTabla;
+                if(cardColumnas[j]!=0)numColumnas++;
             }
-            //Segundo guión separador
-            fila = csvReader.readLine();
-            if(fila==null){
-                throw new IOException("ERROR: El archivo de datos está incompleto (líneas leídas: " + (numTablas+2) + ")");
+            Tabla nuevaTabla = new Tabla(i+1,numFilas,numColumnas,numBytes,cardColumnas);
+            tablas[i] = nuevaTabla;
+        }
+        //Segundo guión separador
+        if(!lector.siguienteLinea()){
+            throw new IOException("ERROR: El archivo de datos está incompleto (líneas leídas: " + (numTablas+2) + ")");
+        }
+        //Sección de distribución de tablas en sitios
+        distTabSit = new boolean[numTablas][numSitios];
+        for(int i=0;i<numTablas;i++){
+            if(!lector.siguienteLinea()){
+                throw new IOException("ERROR: El archivo de datos está incompleto (solamente se leyó hasta la línea " + (numTablas+3+i) + ")");
             }
-            //Sección de distribución de tablas en sitios
-            distTabSit = new boolean[numTablas][numSitios];
-            for(int i=0;i<numTablas;i++){
-                fila = csvReader.readLine();
-                if(fila==null){
-                    throw new IOException("ERROR: El archivo de datos está incompleto (solamente se leyó hasta la línea " + (numTablas+3+i) + ")");
-                }
-                datos = fila.split(separadorCsv);
-                if(datos.length!=numSitios || datos[0].equals("-")){
-                    throw new IOException("ERROR: Archivo de datos - Faltan datos de dist. para la tabla " + i+1 + " (linea " + (numTablas+4+i) + ")");
-                }
-                int numSitiosDisp=0;
-                boolean[] distTabla = distTabSit[i];
-                for(int j=0; j<numSitios;j++){
-                    int valor = Integer.parseInt(datos[j]);
-                    if(valor==0) distTabla[j] = false;
-                    else{
-                        distTabla[j] = true;
-                        numSitiosDisp++;
-                    }
-                }
-                //La tabla debe existir en al menos un sitio
-                if(numSitiosDisp==0){
-                    throw new IOException("ERROR: Archivo de datos - La tabla " + i+1 + " no existe en ningún sitio (linea " + (numTablas+4+i) + ")");
+            if(lector.numCampos()!=numSitios || lector.esGuion(0)){
+                throw new IOException("ERROR: Archivo de datos - Faltan datos de dist. para la tabla " + i+1 + " (linea " + (numTablas+4+i) + ")");
+            }
+            int numSitiosDisp=0;
+            boolean[] distTabla = distTabSit[i];
+            for(int j=0; j<numSitios;j++){
+                int valor = lector.entero(j);
+                if(valor==0) distTabla[j] = false;
+                else{
+                    distTabla[j] = true;
+                    numSitiosDisp++;
                 }
             }
-            //Tercer guion separador
-            fila = csvReader.readLine();
-            if(fila==null){
-                throw new IOException("ERROR: El archivo de datos está incompleto (líneas leídas: " + (numTablas*2+3) + ")");
+            //La tabla debe existir en al menos un sitio
+            if(numSitiosDisp==0){
+                throw new IOException("ERROR: Archivo de datos - La tabla " + i+1 + " no existe en ningún sitio (linea " + (numTablas+4+i) + ")");
             }
-            //Sección de capacidades de transmisión entre tablas
-            capTrans = new int[numSitios][numSitios];
-            for(int i=0;i<numSitios;i++){
-                fila = csvReader.readLine();
-                if(fila==null){
-                    throw new IOException("ERROR: El archivo de datos está incompleto (solamente se leyó hasta la línea " + (numTablas*2+4+i) + ")");
-                }
-                datos = fila.split(separadorCsv);
-                if(datos.length!=numSitios || datos[0].equals("-")){
-                    throw new IOException("ERROR: Archivo de datos - Faltan datos de cap. de trans. para el sitio " + i+1 + " (linea " + (numTablas*2+5+i) + ")");
-                }
-                for(int j=i; j<numSitios;j++){
-                    //En la diagonal de la matriz se fuerzan capacidades de trans. de 0
-                    if(i==j) capTrans[i][j] = 0;
-                    else{
-                        int capacidad = Integer.parseInt(datos[j]);
-                        //Capacidad inválida
-                        if(capacidad<=0){
-                            throw new IOException("ERROR: Archivo de datos - Cap. de trans. inválida para los sitios " + i+1 + " y " + j+1 + " (linea " + (numTablas*2+5+i) + ")");
-                        }
-                        capTrans[i][j] = capacidad;
-                        capTrans[j][i] = capacidad;
+        }
+        //Tercer guion separador
+        if(!lector.siguienteLinea()){
+            throw new IOException("ERROR: El archivo de datos está incompleto (líneas leídas: " + (numTablas*2+3) + ")");
+        }
+        //Sección de capacidades de transmisión entre tablas
+        capTrans = new int[numSitios][numSitios];
+        for(int i=0;i<numSitios;i++){
+            if(!lector.siguienteLinea()){
+                throw new IOException("ERROR: El archivo de datos está incompleto (solamente se leyó hasta la línea " + (numTablas*2+4+i) + ")");
+            }
+            if(lector.numCampos()!=numSitios || lector.esGuion(0)){
+                throw new IOException("ERROR: Archivo de datos - Faltan datos de cap. de trans. para el sitio " + i+1 + " (linea " + (numTablas*2+5+i) + ")");
+            }
+            for(int j=i; j<numSitios;j++){
+                //En la diagonal de la matriz se fuerzan capacidades de trans. de 0
+                if(i==j) capTrans[i][j] = 0;
+                else{
+                    int capacidad = lector.entero(j);
+                    //Capacidad inválida
+                    if(capacidad<=0){
+                        throw new IOException("ERROR: Archivo de datos - Cap. de trans. inválida para los sitios " + i+1 + " y " + j+1 + " (linea " + (numTablas*2+5+i) + ")");
                     }
+                    capTrans[i][j] = capacidad;
+                    capTrans[j][i] = capacidad;
                 }
             }
-            //Cuarto y último guion separador
-            //Tercer guion separador
-            fila = csvReader.readLine();
-            if(fila==null){
-                throw new IOException("ERROR: El archivo de datos está incompleto (líneas leídas: " + (numTablas*2+numSitios+4) + ")");
+        }
+        //Cuarto y último guion separador
+        //Tercer guion separador
+        if(!lector.siguienteLinea()){
+            throw new IOException("ERROR: El archivo de datos está incompleto (líneas leídas: " + (numTablas*2+numSitios+4) + ")");
+        }
+        //Sección de parámetros de ejecución del algoritmo
+        ArrayList<ParametrosAlgoritmo> combinacionesParam = new ArrayList<>();
+        int contadorCombinaciones = 0;
+        int verbosityLevel=-1;
+        while(true) {
+            if(!lector.siguienteLinea()){
+                if(contadorCombinaciones==0)
+                    throw new IOException("ERROR: El archivo de datos está incompleto (líneas leídas: " + (numTablas * 2 + numSitios + 5 + contadorCombinaciones) + ")");
+                else break;
             }
-            //Sección de parámetros de ejecución del algoritmo
-            ArrayList<ParametrosAlgoritmo> combinacionesParam = new ArrayList<>();
-            int contadorCombinaciones = 0;
-            int verbosityLevel=-1;
-            while(true) {
-                fila = csvReader.readLine();
-                if (fila == null) {
-                    if(contadorCombinaciones==0)
-                        throw new IOException("ERROR: El archivo de datos está incompleto (líneas leídas: " + (numTablas * 2 + numSitios + 5 + contadorCombinaciones) + ")");
-                    else break;
-                }
-                datos = fila.split(separadorCsv);
-                if (datos.length != 9 || datos[0].equals("-")) {
-                    throw new IOException("ERROR: Archivo de datos - Número incorrecto de parámetros de ejecución del algoritmo (linea " + (numTablas * 2 + numSitios + 6 + contadorCombinaciones) + ")");
-                }
-                int numIter = Integer.parseInt(datos[0]);
-                int tamPob = Integer.parseInt(datos[1]);
-                float porcCruce = Float.parseFloat(datos[2]);
-                float probMut = Float.parseFloat(datos[3]);
-                float probBusq = Float.parseFloat(datos[4]);
-                float porcHijos = Float.parseFloat(datos[5]);
-                int cantVecinosEval = Integer.parseInt(datos[6]);
-                float porcIterEstanc = Float.parseFloat(datos[7]);
-                if(contadorCombinaciones==0) verbosityLevel = Integer.parseInt(datos[8]);
-                if (numIter <= 0 || tamPob <= 0 || porcCruce > 1 || probMut > 1 || probBusq > 1
-                        || porcHijos > 1 || cantVecinosEval <= 0 || porcIterEstanc > 1) {
-                    throw new IOException("ERROR: Datos inválidos en la sección de parámetros de ejecución del algoritmo");
-                }
-                ParametrosAlgoritmo paramAlg = new ParametrosAlgoritmo(numIter, tamPob, porcCruce, probMut, probBusq, porcHijos, cantVecinosEval, porcIterEstanc);
-                combinacionesParam.add(paramAlg);
-                contadorCombinaciones++;
+            if (lector.numCampos() != 9 || lector.esGuion(0)) {
+                throw new IOException("ERROR: Archivo de datos - Número incorrecto de parámetros de ejecución del algoritmo (linea " + (numTablas * 2 + numSitios + 6 + contadorCombinaciones) + ")");
             }
-            combParamAlg = new ParametrosAlgoritmo[combinacionesParam.size()];
-            int indiceParam = 0;
-            for(ParametrosAlgoritmo param: combinacionesParam){
-                combParamAlg[indiceParam] = param;
-                indiceParam++;
+            int numIter = lector.entero(0);
+            int tamPob = lector.entero(1);
+            float porcCruce = lector.flotante(2);
+            float probMut = lector.flotante(3);
+            float probBusq = lector.flotante(4);
+            float porcHijos = lector.flotante(5);
+            int cantVecinosEval = lector.entero(6);
+            float porcIterEstanc = lector.flotante(7);
+            if(contadorCombinaciones==0) verbosityLevel = lector.entero(8);
+            if (numIter <= 0 || tamPob <= 0 || porcCruce > 1 || probMut > 1 || probBusq > 1
+                    || porcHijos > 1 || cantVecinosEval <= 0 || porcIterEstanc > 1) {
+                throw new IOException("ERROR: Datos inválidos en la sección de parámetros de ejecución del algoritmo");
             }
-            DatosEntrada datosEntrada =
-                    new DatosEntrada(numTablas,numSitios,numTotalColumnas,distTabSit,tablas,cardTablas,
-                            capTrans,tamPromColumna,overheadTrans,coefCom,coefProc,combParamAlg, verbosityLevel);
-            return datosEntrada;
-        }catch (NumberFormatException | IOException ex){
-            System.err.println(ex.getMessage());
-            ex.printStackTrace();
-            System.exit(2);
+            ParametrosAlgoritmo paramAlg = new ParametrosAlgoritmo(numIter, tamPob, porcCruce, probMut, probBusq, porcHijos, cantVecinosEval, porcIterEstanc);
+            combinacionesParam.add(paramAlg);
+            contadorCombinaciones++;
         }
-        return null;
+        combParamAlg = new ParametrosAlgoritmo[combinacionesParam.size()];
+        int indiceParam = 0;
+        for(ParametrosAlgoritmo param: combinacionesParam){
+            combParamAlg[indiceParam] = param;
+            indiceParam++;
+        }
+        DatosEntrada datosEntrada =
+                new DatosEntrada(numTablas,numSitios,numTotalColumnas,distTabSit,tablas,cardTablas,
+                        capTrans,tamPromColumna,overheadTrans,coefCom,coefProc,combParamAlg, verbosityLevel);
+        return datosEntrada;
     }
 
     public int getNumTablas() {
@@ -263,19 +313,21 @@ public class DatosEntrada {
     }
 
     public boolean[][] getDistTabSit() {
+        //Arreglo interno, de solo lectura
         return distTabSit;
     }
 
     public Tabla[] getTablas() {
+        //Arreglo interno, de solo lectura; sus tablas rechazan los setters (ver Tabla.copiaSoloLectura)
         return tablas;
     }
 
     public int[][] getCardTablas() {
-        return cardTablas;
+        return copiar(cardTablas);
     }
 
     public int[][] getCapTransSitios() {
-        return capTransSitios;
+        return copiar(capTransSitios);
     }
 
     public int getTamPromColumna() {
@@ -295,13 +347,17 @@ public class DatosEntrada {
     }
 
     public ParametrosAlgoritmo[] getParamAlg() {
-        return paramAlg;
+        return paramAlg.clone();
     }
 
     public int getVerbosityLevel() {
         return verbosityLevel;
     }
 
+    public ModeloCompilado getModelo() {
+        return modelo;
+    }
+
     @Override
     public String toString() {
         return "datos_param.DatosEntrada{" +
@@ -0,0 +1,213 @@
+package datos_param;
+
+import estructuras_problema.CodificacionGen;
+import estructuras_problema.Tabla;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class FormatoBinario {
+    //Formato binario de los datos de entrada, equivalente al archivo CSV pero que se carga sin conversión de texto: el
+    //archivo se mapea en memoria y las matrices se copian en bloque. Aunque se genere con convertir a partir de un CSV
+    //ya validado, al cargarlo se aplican las mismas comprobaciones que a la lectura del CSV (cualquier archivo con el
+    //número mágico se acepta como binario, p. ej. en el modo por lotes). Contenido (enteros y float de 4 bytes):
+    //  cabecera: mágico, versión, numTablas, numSitios, numTotalColumnas, tamPromColumna, overheadTrans, coefCom,
+    //  cantidad de combinaciones de parámetros y verbosityLevel
+    //  tablas: numFilas, numBytes y las numTotalColumnas cardinalidades de cada tabla
+    //  distTabSit: un bit por tabla y sitio (por filas), completado con ceros hasta un múltiplo de 4 bytes
+    //  capTransSitios: solo el triángulo superior sin la diagonal (la matriz es simétrica con diagonal 0)
+    //  parámetros: numIter, tamPob, porcCruce, probMut, probBusq, porcHijos, cantVecinosEval y porcIterEstanc
+    public static final int MAGICO = 0x89414744; //El primer byte no es ASCII, así que no se confunde con un CSV
+    public static final int VERSION = 1;
+    private static final int TAM_CABECERA = 40;
+    private static final int TAM_PARAMETROS = 32;
+
+    private FormatoBinario() {
+    }
+
+    private static long tamDistribucion(int numTablas, int numSitios){
+        long bytes = ((long) numTablas*numSitios + 7)/8;
+        return (bytes + 3)/4*4;
+    }
+
+    private static long tamArchivo(int numTablas, int numSitios, int numTotalColumnas, int numCombinaciones){
+        return TAM_CABECERA + 4L*numTablas*(numTotalColumnas+2) + tamDistribucion(numTablas, numSitios)
+                + 4L*numSitios*(numSitios-1)/2 + (long) TAM_PARAMETROS*numCombinaciones;
+    }
+
+    public static void convertir(String pathCsv, String pathBinario) throws IOException {
+        //Conversión de un archivo de datos CSV al formato binario. Los errores de lectura del CSV son los de DatosEntrada.leer
+        escribir(DatosEntrada.leer(pathCsv), Path.of(pathBinario));
+    }
+
+    public static void escribir(DatosEntrada datos, Path archivo) throws IOException {
+        int numTablas = datos.getNumTablas();
+        int numSitios = datos.getNumSitios();
+        int numTotalColumnas = datos.getNumTotalColumnas();
+        ParametrosAlgoritmo[] combParamAlg = datos.getParamAlg();
+        long tamanio = tamArchivo(numTablas, numSitios, numTotalColumnas, combParamAlg.length);
+        if(tamanio>Integer.MAX_VALUE){
+            throw new IOException("ERROR: Los datos exceden el tamaño máximo del archivo binario de datos");
+        }
+        MappedByteBuffer buffer;
+        try(FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)){
+            buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanio);
+        }
+        buffer.putInt(MAGICO);
+        buffer.putInt(VERSION);
+        buffer.putInt(numTablas);
+        buffer.putInt(numSitios);
+        buffer.putInt(numTotalColumnas);
+        buffer.putInt(datos.getTamPromColumna());
+        buffer.putInt(datos.getOverheadTrans());
+        buffer.putFloat(datos.getCoefCom());
+        buffer.putInt(combParamAlg.length);
+        buffer.putInt(datos.getVerbosityLevel());
+        Tabla[] tablas = datos.getTablas();
+        int[][] cardTablas = datos.getCardTablas();
+        for(int i=0; i<numTablas; i++){
+            buffer.putInt(tablas[i].getNumFilas());
+            buffer.putInt(tablas[i].getNumBytes());
+            buffer.asIntBuffer().put(cardTablas[i]);
+            buffer.position(buffer.position() + 4*numTotalColumnas);
+        }
+        boolean[][] distTabSit = datos.getDistTabSit();
+        int inicioDist = buffer.position();
+        for(int i=0; i<numTablas; i++){
+            for(int j=0; j<numSitios; j++){
+                if(!distTabSit[i][j]) continue;
+                int bit = i*numSitios + j;
+                int posicion = inicioDist + (bit>>>3);
+                buffer.put(posicion, (byte) (buffer.get(posicion) | (1 << (bit & 7))));
+            }
+        }
+        buffer.position(inicioDist + (int) tamDistribucion(numTablas, numSitios));
+        int[][] capTrans = datos.getCapTransSitios();
+        for(int i=0; i<numSitios; i++){
+            buffer.asIntBuffer().put(capTrans[i], i+1, numSitios-i-1);
+            buffer.position(buffer.position() + 4*(numSitios-i-1));
+        }
+        for(ParametrosAlgoritmo param: combParamAlg){
+            buffer.putInt(param.getNumIter());
+            buffer.putInt(param.getTamPob());
+            buffer.putFloat(param.getPorcCromCruzados());
+            buffer.putFloat(param.getProbMut());
+            buffer.putFloat(param.getProbBusq());
+            buffer.putFloat(param.getPorcHijosIngresados());
+            buffer.putInt(param.getCantVecinosEvaluados());
+            buffer.putFloat(param.getPorcIterEstanc());
+        }
+        buffer.force();
+    }
+
+    static boolean esBinario(ByteBuffer buffer){
+        return buffer.limit()>=4 && buffer.getInt(0)==MAGICO;
+    }
+
+    static DatosEntrada leer(ByteBuffer buffer) throws IOException {
+        if(buffer.limit()<TAM_CABECERA){
+            throw new IOException("ERROR: Archivo binario de datos - Cabecera incompleta");
+        }
+        int version = buffer.getInt(4);
+        if(version!=VERSION){
+            throw new IOException("ERROR: Archivo binario de datos - Versión no soportada: " + version);
+        }
+        buffer.position(8);
+        int numTablas = buffer.getInt();
+        int numSitios = buffer.getInt();
+        int numTotalColumnas = buffer.getInt();
+        int tamPromColumna = buffer.getInt();
+        int overheadTrans = buffer.getInt();
+        float coefCom = buffer.getFloat();
+        int numCombinaciones = buffer.getInt();
+        int verbosityLevel = buffer.getInt();
+        if(numTablas <= 1 || numSitios <=0 || numTotalColumnas <=0 || tamPromColumna <= 0 || overheadTrans < 0
+                || coefCom <0 || numCombinaciones <= 0){
+            throw new IOException("ERROR: Datos inválidos en la cabecera del archivo binario de datos");
+        }
+        if(numTablas > CodificacionGen.MAX_TABLAS || numSitios > CodificacionGen.MAX_SITIOS){
+            throw new IOException("ERROR: El número de tablas o sitios excede el máximo admitido por la codificación de genes (archivo binario)");
+        }
+        long tamEsperado = tamArchivo(numTablas, numSitios, numTotalColumnas, numCombinaciones);
+        if(buffer.limit()!=tamEsperado){
+            throw new IOException("ERROR: Archivo binario de datos - Tamaño incorrecto (se esperaban " + tamEsperado + " bytes y el archivo tiene " + buffer.limit() + ")");
+        }
+        //Sección de tablas
+        Tabla[] tablas = new Tabla[numTablas];
+        int[][] cardTablas = new int[numTablas][numTotalColumnas];
+        for(int i=0; i<numTablas; i++){
+            int numFilas = buffer.getInt();
+            int numBytes = buffer.getInt();
+            if(numFilas <=0 || numBytes <=0){
+                throw new IOException("ERROR: Archivo binario de datos - Datos de cabecera incorrectos para la tabla " + (i+1));
+            }
+            int[] cardColumnas = cardTablas[i];
+            buffer.asIntBuffer().get(cardColumnas);
+            buffer.position(buffer.position() + 4*numTotalColumnas);
+            int numColumnas = 0;
+            for(int j=0; j<numTotalColumnas; j++){
+                if(cardColumnas[j]<0){
+                    throw new IOException("ERROR: Archivo binario de datos - Cardinalidad negativa para la tabla " + (i+1) + ", columna " + (j+1));
+                }
+                if(cardColumnas[j]>numFilas){
+                    throw new IOException("ERROR: Archivo binario de datos - Cardinalidad mayor a numFilas para la tabla " + (i+1) + ", columna " + (j+1));
+                }
+                if(cardColumnas[j]!=0) numColumnas++;
+            }
+            tablas[i] = new Tabla(i+1, numFilas, numColumnas, numBytes, cardColumnas);
+        }
+        //Sección de distribución de tablas en sitios
+        boolean[][] distTabSit = new boolean[numTablas][numSitios];
+        int inicioDist = buffer.position();
+        for(int i=0; i<numTablas; i++){
+            int numSitiosDisp = 0;
+            for(int j=0; j<numSitios; j++){
+                int bit = i*numSitios + j;
+                distTabSit[i][j] = (buffer.get(inicioDist + (bit>>>3)) & (1 << (bit & 7))) != 0;
+                if(distTabSit[i][j]) numSitiosDisp++;
+            }
+            //La tabla debe existir en al menos un sitio
+            if(numSitiosDisp==0){
+                throw new IOException("ERROR: Archivo binario de datos - La tabla " + (i+1) + " no existe en ningún sitio");
+            }
+        }
+        buffer.position(inicioDist + (int) tamDistribucion(numTablas, numSitios));
+        //Sección de capacidades de transmisión (simétrica, con diagonal 0)
+        int[][] capTrans = new int[numSitios][numSitios];
+        for(int i=0; i<numSitios; i++){
+            buffer.asIntBuffer().get(capTrans[i], i+1, numSitios-i-1);
+            buffer.position(buffer.position() + 4*(numSitios-i-1));
+            for(int j=i+1; j<numSitios; j++){
+                if(capTrans[i][j]<=0){
+                    throw new IOException("ERROR: Archivo binario de datos - Cap. de trans. inválida para los sitios " + (i+1) + " y " + (j+1));
+                }
+                capTrans[j][i] = capTrans[i][j];
+            }
+        }
+        //Sección de parámetros de ejecución del algoritmo
+        ParametrosAlgoritmo[] combParamAlg = new ParametrosAlgoritmo[numCombinaciones];
+        for(int k=0; k<numCombinaciones; k++){
+            int numIter = buffer.getInt();
+            int tamPob = buffer.getInt();
+            float porcCruce = buffer.getFloat();
+            float probMut = buffer.getFloat();
+            float probBusq = buffer.getFloat();
+            float porcHijos = buffer.getFloat();
+            int cantVecinosEval = buffer.getInt();
+            float porcIterEstanc = buffer.getFloat();
+            if (numIter <= 0 || tamPob <= 0 || porcCruce > 1 || probMut > 1 || probBusq > 1
+                    || porcHijos > 1 || cantVecinosEval <= 0 || porcIterEstanc > 1) {
+                throw new IOException("ERROR: Archivo binario de datos - Datos inválidos en la combinación de parámetros " + (k+1));
+            }
+            combParamAlg[k] = new ParametrosAlgoritmo(numIter, tamPob, porcCruce, probMut, probBusq, porcHijos,
+                    cantVecinosEval, porcIterEstanc);
+        }
+        return new DatosEntrada(numTablas, numSitios, numTotalColumnas, distTabSit, tablas, cardTablas, capTrans,
+                tamPromColumna, overheadTrans, coefCom, 1-coefCom, combParamAlg, verbosityLevel);
+    }
+}
@@ -0,0 +1,110 @@
+package datos_param;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+final class LectorBytes implements LectorLineas {
+    //Lectura del archivo de datos directamente sobre sus bytes (p. ej. un archivo mapeado en memoria): cada línea se
+    //recorre una vez para ubicar sus campos y los enteros se convierten en el mismo buffer, sin crear Strings. Sigue las
+    //reglas de BufferedReader.readLine (fin de línea \n, \r o \r\n) y de String.split (una línea sin separadores es un
+    //campo, aunque esté vacía; los campos vacíos del final se descartan). Un campo que no es un entero simple de hasta 9
+    //dígitos, y todos los float, se convierten con Integer.parseInt/Float.parseFloat para lanzar las mismas excepciones
+    private final ByteBuffer buffer;
+    private final Charset charset = Charset.defaultCharset(); //El mismo que usa FileReader
+    private int posicion; //Inicio de la siguiente línea
+    private int[] inicios = new int[16];
+    private int[] fines = new int[16];
+    private int numCampos;
+
+    LectorBytes(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public boolean siguienteLinea() {
+        int limite = buffer.limit();
+        if(posicion>=limite) return false;
+        int i = posicion;
+        int campos = 0;
+        int inicioCampo = i;
+        while(i<limite){
+            byte b = buffer.get(i);
+            if(b=='\n' || b=='\r') break;
+            if(b==';'){
+                agregarCampo(campos++, inicioCampo, i);
+                inicioCampo = i+1;
+            }
+            i++;
+        }
+        agregarCampo(campos++, inicioCampo, i);
+        if(i<limite){
+            if(buffer.get(i)=='\r' && i+1<limite && buffer.get(i+1)=='\n') i+= 2;
+            else i++;
+        }
+        this.posicion = i;
+        if(campos>1){
+            while(campos>0 && fines[campos-1]==inicios[campos-1]) campos--;
+        }
+        this.numCampos = campos;
+        return true;
+    }
+
+    private void agregarCampo(int campo, int inicio, int fin){
+        if(campo==inicios.length){
+            int nuevaLongitud = inicios.length*2;
+            int[] nuevosInicios = new int[nuevaLongitud];
+            int[] nuevosFines = new int[nuevaLongitud];
+            System.arraycopy(inicios, 0, nuevosInicios, 0, campo);
+            System.arraycopy(fines, 0, nuevosFines, 0, campo);
+            inicios = nuevosInicios;
+            fines = nuevosFines;
+        }
+        inicios[campo] = inicio;
+        fines[campo] = fin;
+    }
+
+    @Override
+    public int numCampos() {
+        return numCampos;
+    }
+
+    @Override
+    public boolean esGuion(int campo) {
+        return fines[campo]-inicios[campo]==1 && buffer.get(inicios[campo])=='-';
+    }
+
+    @Override
+    public int entero(int campo) {
+        int i = inicios[campo];
+        int fin = fines[campo];
+        boolean negativo = false;
+        if(i<fin){
+            byte signo = buffer.get(i);
+            if(signo=='-'){
+                negativo = true;
+                i++;
+            }
+            else if(signo=='+') i++;
+        }
+        //Con hasta 9 dígitos no hay desborde
+        if(fin-i<=0 || fin-i>9) return Integer.parseInt(texto(campo));
+        int valor = 0;
+        for(; i<fin; i++){
+            int digito = buffer.get(i)-'0';
+            if(digito<0 || digito>9) return Integer.parseInt(texto(campo));
+            valor = valor*10 + digito;
+        }
+        return negativo ? -valor : valor;
+    }
+
+    @Override
+    public float flotante(int campo) {
+        return Float.parseFloat(texto(campo));
+    }
+
+    private String texto(int campo){
+        byte[] bytes = new byte[fines[campo]-inicios[campo]];
+        buffer.get(inicios[campo], bytes);
+        return new String(bytes, charset);
+    }
+}
@@ -0,0 +1,18 @@
+package datos_param;
+
+import java.io.IOException;
+
+interface LectorLineas {
+    //Lectura por líneas del archivo de datos. Los campos de la línea actual son los que daría String.split(";") (sin los
+    //campos vacíos del final) y los números se convierten como Integer.parseInt y Float.parseFloat, con las mismas
+    //excepciones
+    boolean siguienteLinea() throws IOException; //false si no hay más líneas
+
+    int numCampos();
+
+    boolean esGuion(int campo);
+
+    int entero(int campo);
+
+    float flotante(int campo);
+}
@@ -0,0 +1,43 @@
+package datos_param;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+final class LectorTexto implements LectorLineas {
+    //Lectura con BufferedReader y String.split, para datos que no vienen de un archivo (p. ej. una solicitud del servidor)
+    private static final String SEPARADOR_CSV = ";";
+    private final BufferedReader csvReader;
+    private String[] datos;
+
+    LectorTexto(BufferedReader csvReader) {
+        this.csvReader = csvReader;
+    }
+
+    @Override
+    public boolean siguienteLinea() throws IOException {
+        String fila = csvReader.readLine();
+        if(fila==null) return false;
+        datos = fila.split(SEPARADOR_CSV);
+        return true;
+    }
+
+    @Override
+    public int numCampos() {
+        return datos.length;
+    }
+
+    @Override
+    public boolean esGuion(int campo) {
+        return datos[campo].equals("-");
+    }
+
+    @Override
+    public int entero(int campo) {
+        return Integer.parseInt(datos[campo]);
+    }
+
+    @Override
+    public float flotante(int campo) {
+        return Float.parseFloat(datos[campo]);
+    }
+}
@@ -0,0 +1,145 @@
+package distribuido;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.Cromosoma;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+public class CoordinadorIslas {
+    //Coordinador del modelo de islas multiproceso. Acepta la conexión de numIslas procesos (IslaRemota), les ordena
+    //ejecutar épocas de intervaloMigracion generaciones, recibe sus mejores cromosomas, mantiene la mejor solución global,
+    //aplica la regla de estancamiento (porcIterEstanc) sobre todas las islas y reenvía los migrantes en anillo.
+    private final DatosEntrada datos;
+    private final ServerSocket servidor;
+    private final int numIslas;
+    private final int numIter;
+    private final int cantIterEstanc;
+    private final int intervaloMigracion;
+    private final int cantMigrantes;
+    private int[] genesMejorSolucion;
+    private double fitnessMejorSolucion;
+    private int generacionesEjecutadas;
+    private int contadorEstanc;
+    private double tiempoEjecucion; //Tiempo de ejecución en milisegundos
+
+    public CoordinadorIslas(int puerto, int numIslas, ParametrosAlgoritmo param, int intervaloMigracion,
+                            int cantMigrantes) throws IOException {
+        this(DatosEntrada.getInstance(null), puerto, numIslas, param, intervaloMigracion, cantMigrantes);
+    }
+
+    public CoordinadorIslas(DatosEntrada datos, int puerto, int numIslas, ParametrosAlgoritmo param,
+                            int intervaloMigracion, int cantMigrantes) throws IOException {
+        if(numIslas<1 || intervaloMigracion<=0 || cantMigrantes<=0){
+            System.err.println("ERROR: Parámetros inválidos para el coordinador de islas (numIslas: " + numIslas +
+                    ", intervaloMigracion: " + intervaloMigracion + ", cantMigrantes: " + cantMigrantes + ")");
+            System.exit(3);
+        }
+        this.datos = datos;
+        this.servidor = new ServerSocket(puerto);
+        this.numIslas = numIslas;
+        this.numIter = param.getNumIter();
+        int cantEstanc = (int) Math.ceil(this.numIter*param.getPorcIterEstanc());
+        this.cantIterEstanc = Math.min(cantEstanc, this.numIter);
+        this.intervaloMigracion = intervaloMigracion;
+        this.cantMigrantes = cantMigrantes;
+    }
+
+    public Cromosoma ejecutar(int verbosityLevel) throws IOException {
+        long tiempoIni = System.nanoTime();
+        int numTablas = datos.getNumTablas();
+        this.genesMejorSolucion = null;
+        this.fitnessMejorSolucion = -1;
+        this.generacionesEjecutadas = 0;
+        this.contadorEstanc = 0;
+        Socket[] conexiones = new Socket[numIslas];
+        DataInputStream[] entradas = new DataInputStream[numIslas];
+        DataOutputStream[] salidas = new DataOutputStream[numIslas];
+        try{
+            //Se espera la conexión de todas las islas
+            for(int i=0; i<numIslas; i++){
+                conexiones[i] = servidor.accept();
+                conexiones[i].setTcpNoDelay(true);
+                entradas[i] = new DataInputStream(new BufferedInputStream(conexiones[i].getInputStream()));
+                salidas[i] = new DataOutputStream(new BufferedOutputStream(conexiones[i].getOutputStream()));
+                ProtocoloIslas.saludar(entradas[i], salidas[i], datos);
+                if(verbosityLevel>=1) System.out.println("Isla " + (i+1) + " conectada desde " + conexiones[i].getRemoteSocketAddress());
+            }
+            //Primera orden: ejecutar una época sin inmigrantes
+            Cromosoma[] sinMigrantes = new Cromosoma[0];
+            int generacionesEpoca = Math.min(intervaloMigracion, numIter);
+            for(DataOutputStream salida: salidas) ProtocoloIslas.escribirOrden(salida, generacionesEpoca, cantMigrantes, sinMigrantes, numTablas);
+            while(true){
+                //Se reciben los emigrantes de todas las islas (el primero de cada isla es su mejor cromosoma)
+                Cromosoma[][] emigrantes = new Cromosoma[numIslas][];
+                boolean hayNuevoMejor = false;
+                for(int i=0; i<numIslas; i++){
+                    int[][] genes = ProtocoloIslas.leerCromosomas(entradas[i], datos, cantMigrantes);
+                    emigrantes[i] = new Cromosoma[genes.length];
+                    for(int j=0; j<genes.length; j++) emigrantes[i][j] = new Cromosoma(datos, genes[j]);
+                    if(emigrantes[i].length>0 && Double.compare(emigrantes[i][0].getFitness(), fitnessMejorSolucion)>0){
+                        fitnessMejorSolucion = emigrantes[i][0].getFitness();
+                        genesMejorSolucion = genes[0];
+                        hayNuevoMejor = true;
+                    }
+                }
+                //Regla de parada común a todas las islas
+                this.generacionesEjecutadas+= generacionesEpoca;
+                if(hayNuevoMejor) this.contadorEstanc = 0;
+                else this.contadorEstanc+= generacionesEpoca;
+                if(verbosityLevel>=1)
+                    System.out.println("Generación " + generacionesEjecutadas + " | Mejor fitness global: " +
+                            fitnessMejorSolucion + " | Contador estancamiento: " + contadorEstanc + "/" + cantIterEstanc);
+                boolean detener = generacionesEjecutadas>=numIter || contadorEstanc>=cantIterEstanc;
+                generacionesEpoca = detener ? 0 : Math.min(intervaloMigracion, numIter-generacionesEjecutadas);
+                //Cada isla recibe los emigrantes de la isla anterior (topología de anillo)
+                for(int i=0; i<numIslas; i++){
+                    Cromosoma[] inmigrantes = detener || numIslas==1 ? sinMigrantes : emigrantes[(i-1+numIslas)%numIslas];
+                    ProtocoloIslas.escribirOrden(salidas[i], generacionesEpoca, cantMigrantes, inmigrantes, numTablas);
+                }
+                if(detener) break;
+            }
+        }finally {
+            for(Socket conexion: conexiones){
+                if(conexion!=null) conexion.close();
+            }
+            servidor.close();
+        }
+        this.tiempoEjecucion = (System.nanoTime()-tiempoIni)/(1000d*1000d);
+        Cromosoma mejorSolucion = genesMejorSolucion==null ? null : new Cromosoma(datos, genesMejorSolucion);
+        if(mejorSolucion!=null) mejorSolucion.getFitness();
+        if(verbosityLevel>=0){
+            if(contadorEstanc>=cantIterEstanc) System.out.println("Modelo de islas distribuido terminado por estancamiento");
+            else System.out.println("Modelo de islas distribuido concluido exitosamente");
+            System.out.println("Islas: " + numIslas + "|intervaloMigracion: " + intervaloMigracion +
+                    "|cantMigrantes: " + cantMigrantes + "|generaciones: " + generacionesEjecutadas);
+            System.out.println("Tiempo de ejecución: " + tiempoEjecucion + "ms");
+            System.out.println("Fitness de la mejor solución global:\t" + fitnessMejorSolucion);
+            System.out.println("Mejor solución general:");
+            System.out.println(mejorSolucion);
+        }
+        return mejorSolucion;
+    }
+
+    public int getPuerto() {
+        return servidor.getLocalPort();
+    }
+
+    public double getFitnessMejorSolucion() {
+        return fitnessMejorSolucion;
+    }
+
+    public int getGeneracionesEjecutadas() {
+        return generacionesEjecutadas;
+    }
+
+    public double getTiempoEjecucion() {
+        return tiempoEjecucion;
+    }
+}
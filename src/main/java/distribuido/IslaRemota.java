@@ -0,0 +1,83 @@
+package distribuido;
+
+import algoritmo.AlgoritmoGenetico;
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.Cromosoma;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.SplittableRandom;
+
+public class IslaRemota {
+    //Isla del modelo de islas multiproceso. Mantiene su propia población (un AlgoritmoGenetico local) y ejecuta las
+    //épocas que le ordena el coordinador; al terminar cada una le envía sus mejores cromosomas y recibe inmigrantes.
+    private final DatosEntrada datos;
+    private final String host;
+    private final int puerto;
+    private final AlgoritmoGenetico algoritmo;
+    private int generacionesEjecutadas;
+
+    public IslaRemota(String host, int puerto, ParametrosAlgoritmo param) {
+        this(host, puerto, DatosEntrada.getInstance(null), param);
+    }
+
+    public IslaRemota(String host, int puerto, DatosEntrada datos, ParametrosAlgoritmo param) {
+        this.datos = datos;
+        this.host = host;
+        this.puerto = puerto;
+        this.algoritmo = new AlgoritmoGenetico(datos, param.getNumIter(), param.getTamPob(), param.getPorcCromCruzados(),
+                param.getProbMut(), param.getPorcHijosIngresados(), param.getPorcIterEstanc());
+    }
+
+    public Cromosoma ejecutar(int verbosityLevel) throws IOException {
+        this.generacionesEjecutadas = 0;
+        SplittableRandom random = new SplittableRandom();
+        int tamPob = algoritmo.getTamPob();
+        try(Socket conexion = new Socket(host, puerto)){
+            conexion.setTcpNoDelay(true);
+            DataInputStream entrada = new DataInputStream(new BufferedInputStream(conexion.getInputStream()));
+            DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(conexion.getOutputStream()));
+            ProtocoloIslas.saludar(entrada, salida, datos);
+            algoritmo.inicializarPoblacion();
+            if(verbosityLevel>=0) System.out.println("Isla conectada a " + host + ":" + puerto +
+                    ". Fitness del mejor cromosoma inicial: " + algoritmo.getFitnessMejorSolucion());
+            while(true){
+                //Se lee la orden del coordinador e ingresan los inmigrantes
+                int generaciones = entrada.readInt();
+                int cantEmigrantes = entrada.readInt();
+                if(cantEmigrantes<0 || cantEmigrantes>tamPob){
+                    throw new IOException("ERROR: Cantidad de emigrantes solicitados inválida: " + cantEmigrantes);
+                }
+                int[][] genesInmigrantes = ProtocoloIslas.leerCromosomas(entrada, datos, tamPob);
+                if(generaciones<=0) break;
+                Cromosoma[] inmigrantes = new Cromosoma[genesInmigrantes.length];
+                for(int i=0; i<inmigrantes.length; i++) inmigrantes[i] = new Cromosoma(datos, genesInmigrantes[i]);
+                algoritmo.recibirMigrantes(inmigrantes);
+                //Se ejecuta la época y se reportan los mejores cromosomas
+                for(int g=0; g<generaciones; g++) algoritmo.ejecutarGeneracion(random, null, -1);
+                generacionesEjecutadas+= generaciones;
+                if(verbosityLevel>=1) System.out.println("Generación " + generacionesEjecutadas +
+                        " | Mejor fitness de la isla: " + algoritmo.getFitnessMejorSolucion());
+                ProtocoloIslas.escribirCromosomas(salida, algoritmo.obtenerMejores(cantEmigrantes), datos.getNumTablas());
+                salida.flush();
+            }
+        }
+        algoritmo.calcularMejoresFinales();
+        if(verbosityLevel>=0) System.out.println("Isla finalizada. Fitness de su mejor solución: " +
+                algoritmo.getFitnessMejorSolucion());
+        return algoritmo.getMejorSolucion();
+    }
+
+    public AlgoritmoGenetico getAlgoritmo() {
+        return algoritmo;
+    }
+
+    public int getGeneracionesEjecutadas() {
+        return generacionesEjecutadas;
+    }
+}
@@ -0,0 +1,70 @@
+package distribuido;
+
+import datos_param.DatosEntrada;
+import estructuras_problema.CachePlanes;
+import estructuras_problema.Cromosoma;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+final class ProtocoloIslas {
+    //Mensajes intercambiados entre el coordinador y las islas remotas:
+    //Saludo (ambos sentidos, al conectarse): long firma exacta de los datos del problema (CachePlanes.firmaExacta); si
+    //                                        no coincide con la propia se cierra la conexión
+    //Coordinador -> isla (orden): int generaciones a ejecutar (0: detener), int cantidad de emigrantes solicitados,
+    //                             bloque de cromosomas inmigrantes
+    //Isla -> coordinador (reporte): bloque de cromosomas emigrantes, ordenados de mejor a peor
+    //Bloque de cromosomas: int cantidad, int numTablas y luego los genes de cada cromosoma (cantidad*numTablas enteros).
+    //La fitness no se transmite; el receptor la recalcula a partir de los genes. Como los datos llegan de otro proceso,
+    //el receptor valida la cantidad, el número de tablas y cada plan antes de evaluarlo.
+
+    private ProtocoloIslas() {
+    }
+
+    static void saludar(DataInputStream entrada, DataOutputStream salida, DatosEntrada datos) throws IOException {
+        //Intercambio de las firmas de los datos, para confirmar que ambos procesos cargaron el mismo problema
+        long firma = CachePlanes.firmaExacta(datos);
+        salida.writeLong(firma);
+        salida.flush();
+        long firmaRemota = entrada.readLong();
+        if(firmaRemota!=firma){
+            throw new IOException("ERROR: El otro proceso cargó datos del problema distintos (firma " +
+                    Long.toHexString(firmaRemota) + ", se esperaba " + Long.toHexString(firma) + ")");
+        }
+    }
+
+    static void escribirCromosomas(DataOutputStream salida, Cromosoma[] cromosomas, int numTablas) throws IOException {
+        salida.writeInt(cromosomas.length);
+        salida.writeInt(numTablas);
+        for(Cromosoma cromosoma: cromosomas){
+            for(int gen: cromosoma.getCromosoma()) salida.writeInt(gen);
+        }
+    }
+
+    static int[][] leerCromosomas(DataInputStream entrada, DatosEntrada datos, int maxCantidad) throws IOException {
+        //Se valida el bloque antes de reservar memoria para los genes y cada plan antes de devolverlo
+        int cantidad = entrada.readInt();
+        int numTablas = entrada.readInt();
+        if(cantidad<0 || cantidad>maxCantidad || numTablas!=datos.getNumTablas()){
+            throw new IOException("ERROR: Bloque de cromosomas inválido (cantidad: " + cantidad + ", máximo: " + maxCantidad +
+                    ", numTablas: " + numTablas + ", se esperaban: " + datos.getNumTablas() + ")");
+        }
+        int[][] genes = new int[cantidad][numTablas];
+        for(int i=0; i<cantidad; i++){
+            for(int j=0; j<numTablas; j++) genes[i][j] = entrada.readInt();
+            if(!Cromosoma.esPlanValido(datos, genes[i])){
+                throw new IOException("ERROR: Bloque de cromosomas inválido (el cromosoma " + (i+1) + " no es un plan válido para los datos)");
+            }
+        }
+        return genes;
+    }
+
+    static void escribirOrden(DataOutputStream salida, int generaciones, int cantEmigrantes, Cromosoma[] inmigrantes,
+                              int numTablas) throws IOException {
+        salida.writeInt(generaciones);
+        salida.writeInt(cantEmigrantes);
+        escribirCromosomas(salida, inmigrantes, numTablas);
+        salida.flush();
+    }
+}
@@ -0,0 +1,98 @@
+package estructuras_problema;
+
+import datos_param.DatosEntrada;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ArchivoElite {
+    //Archivo de texto con los mejores cromosomas (élite) de ejecuciones anteriores sobre el mismo problema o uno parecido.
+    //Sus genes se usan como semillas de la población inicial (ver AlgoritmoGenetico.setSemillas) y, al terminar la
+    //ejecución, se reemplazan por los mejores cromosomas distintos de la población final. Formato: una línea por
+    //cromosoma con fitness;genes (genes separados por comas, del mejor al peor). Las líneas que empiezan con # se ignoran
+    private final Path archivo;
+    private final int tamanio; //Cantidad máxima de cromosomas guardados (k)
+
+    public ArchivoElite(Path archivo, int tamanio) {
+        if(tamanio<=0){
+            System.err.println("ERROR: Tamaño inválido para el archivo élite: " + tamanio);
+            System.exit(3);
+        }
+        this.archivo = archivo;
+        this.tamanio = tamanio;
+    }
+
+    public int[][] cargar(DatosEntrada datos) throws IOException {
+        //Genes de los cromosomas guardados que son válidos para los datos (hasta tamanio). Si el archivo no existe, no hay
+        //semillas
+        List<int[]> semillas = new ArrayList<>();
+        if(!Files.exists(archivo)) return new int[0][];
+        try(BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)){
+            String linea;
+            int numLinea = 0;
+            while((linea = lector.readLine())!=null && semillas.size()<tamanio){
+                numLinea++;
+                if(linea.isEmpty() || linea.startsWith("#")) continue;
+                String[] campos = linea.split(";");
+                if(campos.length!=2)
+                    throw new IOException("ERROR: Archivo élite inválido (linea " + numLinea + ")");
+                String[] textoGenes = campos[1].split(",");
+                int[] genes = new int[textoGenes.length];
+                try{
+                    for(int i=0; i<textoGenes.length; i++) genes[i] = Integer.parseInt(textoGenes[i]);
+                }catch (NumberFormatException ex){
+                    throw new IOException("ERROR: Archivo élite inválido (linea " + numLinea + ")", ex);
+                }
+                if(Cromosoma.esPlanValido(datos, genes)) semillas.add(genes);
+            }
+        }
+        return semillas.toArray(new int[0][]);
+    }
+
+    public void guardar(Cromosoma[] mejores) throws IOException {
+        //Recibe los cromosomas ordenados del mejor al peor (p. ej. AlgoritmoGenetico.obtenerMejores) y guarda los
+        //primeros tamanio cromosomas distintos
+        List<Cromosoma> elite = new ArrayList<>();
+        for(Cromosoma cromosoma: mejores){
+            if(elite.size()==tamanio) break;
+            boolean repetido = false;
+            for(Cromosoma guardado: elite){
+                if(Arrays.equals(guardado.getCromosoma(), cromosoma.getCromosoma())){
+                    repetido = true;
+                    break;
+                }
+            }
+            if(!repetido) elite.add(cromosoma);
+        }
+        try(BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)){
+            escritor.write("#fitness;genes");
+            escritor.newLine();
+            for(Cromosoma cromosoma: elite){
+                StringBuilder linea = new StringBuilder();
+                linea.append(cromosoma.getFitness()).append(';');
+                int[] genes = cromosoma.getCromosoma();
+                for(int i=0; i<genes.length; i++){
+                    if(i>0) linea.append(',');
+                    linea.append(genes[i]);
+                }
+                escritor.write(linea.toString());
+                escritor.newLine();
+            }
+        }
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+}
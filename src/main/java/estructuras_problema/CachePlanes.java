@@ -0,0 +1,211 @@
+package estructuras_problema;
+
+import datos_param.DatosEntrada;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CachePlanes {
+    //Caché de la mejor solución encontrada para cada problema, para no volver a ejecutar el algoritmo sobre datos de
+    //entrada que ya se optimizaron. Los planes se indexan con dos firmas de 64 bits de DatosEntrada: la exacta (todos los
+    //datos que intervienen en los costos, sin los parámetros de ejecución) y la estructural (tablas, columnas presentes en
+    //cada tabla y distribución de las tablas en los sitios, sin filas, bytes, cardinalidades, capacidades de transmisión
+    //ni coeficientes). Un acierto exacto devuelve el cromosoma guardado evaluado de nuevo con los datos actuales (si su
+    //fitness no coincide con la guardada, la firma colisionó y se cuenta como fallo); un acierto estructural devuelve sus
+    //genes, que son válidos para los datos y sirven como semilla de la población. Tiene una capacidad máxima (descarte LRU),
+    //puede usarse desde varios hilos y puede guardarse en un archivo de texto para usarse en otras ejecuciones.
+    private final MapaLRUSegmentado<Entrada> planes;
+    private final MapaLRUSegmentado<Entrada> planesEstructurales;
+    private final Path archivo;
+    private final LongAdder aciertosExactos = new LongAdder();
+    private final LongAdder aciertosEstructurales = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    public CachePlanes(int capacidad, Path archivo) throws IOException {
+        //Si se indica un archivo y ya existe, se cargan sus planes
+        if(capacidad<=0){
+            System.err.println("ERROR: Capacidad inválida para la caché de planes: " + capacidad);
+            System.exit(3);
+        }
+        this.planes = new MapaLRUSegmentado<>(capacidad, 16);
+        this.planesEstructurales = new MapaLRUSegmentado<>(capacidad, 16);
+        this.archivo = archivo;
+        if(archivo!=null && Files.exists(archivo)) cargar();
+    }
+
+    public CachePlanes(int capacidad) {
+        //Caché solo en memoria
+        if(capacidad<=0){
+            System.err.println("ERROR: Capacidad inválida para la caché de planes: " + capacidad);
+            System.exit(3);
+        }
+        this.planes = new MapaLRUSegmentado<>(capacidad, 16);
+        this.planesEstructurales = new MapaLRUSegmentado<>(capacidad, 16);
+        this.archivo = null;
+    }
+
+    public static long firmaExacta(DatosEntrada datos){
+        //Incluye todos los datos que usa el cálculo de los costos (ModeloCompilado y Cromosoma)
+        long hash = firmaEstructural(datos);
+        hash = MapaLRUSegmentado.mezclar(hash, datos.getTamPromColumna());
+        hash = MapaLRUSegmentado.mezclar(hash, datos.getOverheadTrans());
+        hash = MapaLRUSegmentado.mezclar(hash, Float.floatToIntBits(datos.getCoefCom()));
+        hash = MapaLRUSegmentado.mezclar(hash, Float.floatToIntBits(datos.getCoefProc()));
+        for(Tabla tabla: datos.getTablas()){
+            hash = MapaLRUSegmentado.mezclar(hash, tabla.getNumFilas());
+            hash = MapaLRUSegmentado.mezclar(hash, tabla.getNumBytes());
+            hash = MapaLRUSegmentado.mezclar(hash, tabla.getNumColumnas());
+            for(int card: tabla.getCardColumnas()) hash = MapaLRUSegmentado.mezclar(hash, card);
+        }
+        for(int[] capacidades: datos.getCapTransSitios()){
+            for(int capacidad: capacidades) hash = MapaLRUSegmentado.mezclar(hash, capacidad);
+        }
+        return hash;
+    }
+
+    public static long firmaEstructural(DatosEntrada datos){
+        long hash = MapaLRUSegmentado.mezclar(datos.getNumTablas(), datos.getNumSitios());
+        hash = MapaLRUSegmentado.mezclar(hash, datos.getNumTotalColumnas());
+        ModeloCompilado modelo = datos.getModelo();
+        boolean[][] distTabSit = datos.getDistTabSit();
+        for(int t=0; t<datos.getNumTablas(); t++){
+            //Se separan las tablas con un valor que no puede ser un índice de columna ni de sitio
+            hash = MapaLRUSegmentado.mezclar(hash, -1);
+            for(int columna: modelo.getColumnasPresentes(t)) hash = MapaLRUSegmentado.mezclar(hash, columna);
+            for(int s=0; s<distTabSit[t].length; s++) if(distTabSit[t][s]) hash = MapaLRUSegmentado.mezclar(hash, -2-s);
+        }
+        return hash;
+    }
+
+    public Cromosoma buscar(DatosEntrada datos){
+        //Plan guardado para exactamente los mismos datos (evaluado con esos datos) o null
+        Entrada entrada = planes.obtener(firmaExacta(datos));
+        if(entrada==null || !Cromosoma.esPlanValido(datos, entrada.genes)){
+            fallos.increment();
+            return null;
+        }
+        //No se confía en la fitness guardada: el plan se evalúa con los datos actuales (los joins se calculan recién si
+        //se piden)
+        Cromosoma plan = new Cromosoma(datos, entrada.genes.clone());
+        if(plan.getFitness()!=entrada.fitness){
+            fallos.increment();
+            return null;
+        }
+        aciertosExactos.increment();
+        return plan;
+    }
+
+    public int[] buscarSemilla(DatosEntrada datos){
+        //Genes del último plan guardado para un problema con la misma estructura (sin evaluar) o null
+        Entrada entrada = planesEstructurales.obtener(firmaEstructural(datos));
+        if(entrada==null || !Cromosoma.esPlanValido(datos, entrada.genes)) return null;
+        aciertosEstructurales.increment();
+        return entrada.genes.clone();
+    }
+
+    public void guardar(DatosEntrada datos, Cromosoma plan){
+        //Solo se guardan los genes y la fitness: buscar evalúa el plan de nuevo con los datos actuales
+        Entrada entrada = new Entrada(firmaEstructural(datos), plan.getCromosoma().clone(), plan.getFitness());
+        planes.guardar(firmaExacta(datos), entrada);
+        planesEstructurales.guardar(entrada.firmaEstructural, entrada);
+    }
+
+    private void cargar() throws IOException {
+        //Formato: una línea por plan con firmaExacta;firmaEstructural;fitness;genes (firmas en hexadecimal, genes
+        //separados por comas). Las líneas que empiezan con # se ignoran
+        try(BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)){
+            String linea;
+            int numLinea = 0;
+            while((linea = lector.readLine())!=null){
+                numLinea++;
+                if(linea.isEmpty() || linea.startsWith("#")) continue;
+                String[] campos = linea.split(";");
+                if(campos.length!=4)
+                    throw new IOException("ERROR: Archivo de la caché de planes inválido (linea " + numLinea + ")");
+                try{
+                    String[] textoGenes = campos[3].split(",");
+                    int[] genes = new int[textoGenes.length];
+                    for(int i=0; i<textoGenes.length; i++) genes[i] = Integer.parseInt(textoGenes[i]);
+                    Entrada entrada = new Entrada(Long.parseUnsignedLong(campos[1], 16), genes,
+                            Double.parseDouble(campos[2]));
+                    planes.guardar(Long.parseUnsignedLong(campos[0], 16), entrada);
+                    planesEstructurales.guardar(entrada.firmaEstructural, entrada);
+                }catch (NumberFormatException ex){
+                    throw new IOException("ERROR: Archivo de la caché de planes inválido (linea " + numLinea + ")", ex);
+                }
+            }
+        }
+    }
+
+    public void persistir() throws IOException {
+        //Escribe todos los planes en el archivo de la caché (si se configuró uno)
+        if(archivo==null) return;
+        try(BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)){
+            escritor.write("#firmaExacta;firmaEstructural;fitness;genes");
+            escritor.newLine();
+            IOException[] error = new IOException[1];
+            planes.recorrer((firma, entrada) -> {
+                if(error[0]!=null) return;
+                StringBuilder linea = new StringBuilder();
+                linea.append(Long.toHexString(firma)).append(';').append(Long.toHexString(entrada.firmaEstructural))
+                        .append(';').append(entrada.fitness).append(';');
+                for(int i=0; i<entrada.genes.length; i++){
+                    if(i>0) linea.append(',');
+                    linea.append(entrada.genes[i]);
+                }
+                try{
+                    escritor.write(linea.toString());
+                    escritor.newLine();
+                }catch (IOException ex){
+                    error[0] = ex;
+                }
+            });
+            if(error[0]!=null) throw error[0];
+        }
+    }
+
+    public void limpiar(){
+        planes.limpiar();
+        planesEstructurales.limpiar();
+        aciertosExactos.reset();
+        aciertosEstructurales.reset();
+        fallos.reset();
+    }
+
+    public long getAciertosExactos() {
+        return aciertosExactos.sum();
+    }
+
+    public long getAciertosEstructurales() {
+        return aciertosEstructurales.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public int getTamanio() {
+        return planes.tamanio();
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    private static final class Entrada {
+        private final long firmaEstructural;
+        private final int[] genes;
+        private final double fitness; //Para detectar colisiones de la firma exacta
+
+        private Entrada(long firmaEstructural, int[] genes, double fitness) {
+            this.firmaEstructural = firmaEstructural;
+            this.genes = genes;
+            this.fitness = fitness;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package estructuras_problema;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CachePrefijos {
+    //Caché de joins compartida entre cromosomas. Dos cromosomas que empiezan con los mismos genes (mismas tablas en los
+    //mismos sitios) generan exactamente los mismos joins y costos para ese prefijo, así que al evaluar un cromosoma se
+    //busca el prefijo más largo ya calculado y el cálculo continúa desde ahí. Las entradas se indexan con un hash de
+    //64 bits del prefijo y se verifican comparando los genes. Puede usarse desde varios hilos, pero solo con cromosomas
+    //de los mismos datos de entrada.
+    private final MapaLRUSegmentado<Entrada> entradas;
+    private final LongAdder consultas = new LongAdder();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder joinsReutilizados = new LongAdder();
+
+    public CachePrefijos(int capacidad, int numSegmentos) {
+        if(capacidad<=0 || numSegmentos<=0){
+            System.err.println("ERROR: Parámetros inválidos para la caché de prefijos (capacidad: " + capacidad +
+                    ", numSegmentos: " + numSegmentos + ")");
+            System.exit(3);
+        }
+        this.entradas = new MapaLRUSegmentado<>(capacidad, numSegmentos);
+    }
+
+    public CachePrefijos(int capacidad) {
+        this(capacidad, 16);
+    }
+
+    int recuperar(int[] genes, double[] costProc, Tabla[] listaJoins, double[] costComAcum){
+        //Copia en los arreglos los datos del prefijo más largo de genes que esté en la caché y retorna su cantidad de
+        //joins (0 si no hay ninguno)
+        consultas.increment();
+        long[] hashes = hashesPrefijos(genes);
+        for(int numJoins=genes.length-1; numJoins>=1; numJoins--){
+            Entrada entrada = entradas.obtener(hashes[numJoins]);
+            if(entrada!=null && entrada.coincide(genes, numJoins)){
+                System.arraycopy(entrada.costProc, 0, costProc, 0, numJoins);
+                System.arraycopy(entrada.listaJoins, 0, listaJoins, 0, numJoins);
+                System.arraycopy(entrada.costComAcum, 0, costComAcum, 0, numJoins);
+                aciertos.increment();
+                joinsReutilizados.add(numJoins);
+                return numJoins;
+            }
+        }
+        return 0;
+    }
+
+    void guardar(int[] genes, double[] costProc, Tabla[] listaJoins, double[] costComAcum, int joinsRecuperados){
+        //Guarda los prefijos que no estaban en la caché. Todas las entradas comparten una misma copia de los arreglos
+        if(joinsRecuperados>=genes.length-1) return;
+        int[] copiaGenes = genes.clone();
+        double[] copiaCostProc = costProc.clone();
+        Tabla[] copiaJoins = listaJoins.clone();
+        double[] copiaCostCom = costComAcum.clone();
+        long[] hashes = hashesPrefijos(genes);
+        for(int numJoins=joinsRecuperados+1; numJoins<genes.length; numJoins++){
+            entradas.guardar(hashes[numJoins],
+                    new Entrada(copiaGenes, numJoins, copiaCostProc, copiaJoins, copiaCostCom));
+        }
+    }
+
+    private static long[] hashesPrefijos(int[] genes){
+        //hashes[k] corresponde al prefijo de k joins, es decir, a los genes 0..k
+        long[] hashes = new long[genes.length];
+        long hash = genes.length;
+        for(int i=0; i<genes.length; i++){
+            hash = MapaLRUSegmentado.mezclar(hash, genes[i]);
+            hashes[i] = hash;
+        }
+        return hashes;
+    }
+
+    public void limpiar(){
+        entradas.limpiar();
+        consultas.reset();
+        aciertos.reset();
+        joinsReutilizados.reset();
+    }
+
+    public long getConsultas() {
+        return consultas.sum();
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getJoinsReutilizados() {
+        return joinsReutilizados.sum();
+    }
+
+    public double getTasaAciertos() {
+        long totalConsultas = consultas.sum();
+        return totalConsultas==0 ? 0 : aciertos.sum()*1d/totalConsultas;
+    }
+
+    public int getTamanio() {
+        return entradas.tamanio();
+    }
+
+    private static final class Entrada {
+        private final int[] genes;
+        private final int numJoins;
+        private final double[] costProc;
+        private final Tabla[] listaJoins;
+        private final double[] costComAcum;
+
+        private Entrada(int[] genes, int numJoins, double[] costProc, Tabla[] listaJoins, double[] costComAcum) {
+            this.genes = genes;
+            this.numJoins = numJoins;
+            this.costProc = costProc;
+            this.listaJoins = listaJoins;
+            this.costComAcum = costComAcum;
+        }
+
+        private boolean coincide(int[] otrosGenes, int numJoins){
+            //Se descartan las colisiones del hash comparando los genes del prefijo
+            return this.numJoins==numJoins && this.genes.length==otrosGenes.length &&
+                    Arrays.equals(this.genes, 0, numJoins+1, otrosGenes, 0, numJoins+1);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package estructuras_problema;
+
+public final class CodificacionGen {
+    //Un gen guarda el id de la tabla en los 16 bits altos y el id del sitio en los 16 bits bajos (ambos desde 1). Así se
+    //admiten hasta 65535 sitios y los operadores obtienen cada parte con un desplazamiento o una máscara en lugar de
+    //una división. Ordenar los genes sigue ordenándolos por tabla. La codificación anterior (idTabla*100 + idSitio)
+    //se puede obtener con aFormatoDecimal, y toString mantiene el formato T<tabla>(S<sitio>).
+    public static final int BITS_SITIO = 16;
+    public static final int MASCARA_SITIO = (1<<BITS_SITIO)-1;
+    public static final int MAX_SITIOS = MASCARA_SITIO;
+    public static final int MAX_TABLAS = Integer.MAX_VALUE>>>BITS_SITIO;
+
+    private CodificacionGen() {
+    }
+
+    public static int codificar(int idTabla, int idSitio){
+        return idTabla<<BITS_SITIO | idSitio;
+    }
+
+    public static int idTabla(int gen){
+        return gen>>>BITS_SITIO;
+    }
+
+    public static int idSitio(int gen){
+        return gen & MASCARA_SITIO;
+    }
+
+    public static int indiceTabla(int gen){
+        //Índice de la tabla en DatosEntrada.getTablas() (desde 0)
+        return (gen>>>BITS_SITIO)-1;
+    }
+
+    public static int indiceSitio(int gen){
+        //Índice del sitio en las matrices de DatosEntrada (desde 0)
+        return (gen & MASCARA_SITIO)-1;
+    }
+
+    public static int aFormatoDecimal(int gen){
+        //Codificación anterior, solo válida con menos de 100 sitios
+        return idTabla(gen)*100 + idSitio(gen);
+    }
+
+    public static int desdeFormatoDecimal(int genDecimal){
+        return codificar(genDecimal/100, genDecimal%100);
+    }
+
+    public static String toString(int gen){
+        return "T" + idTabla(gen) + "(S" + idSitio(gen) + ")";
+    }
+}
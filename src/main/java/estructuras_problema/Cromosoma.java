@@ -5,6 +5,8 @@ import datos_param.DatosEntrada;
 import java.util.SplittableRandom;
 
 public class Cromosoma {
+    //Problema al que pertenece el cromosoma. Los constructores que no lo reciben usan la instancia de DatosEntrada
+    private final DatosEntrada datos;
     private final int[] cromosoma; //Estructura de cromosoma descrita en el documento de tesis. Este es el cromosoma como tal.
     //Atributos correspondientes a cálculos para crear el cromosoma, modificarlo y determinar su fitness
     //Estructura que contiene el índice de cada tabla en el arreglo cromosoma. Permite acelerar búsquedas al aplicar
@@ -14,11 +16,25 @@ public class Cromosoma {
     private Tabla[] listaJoins;
     private double costCom;
     private double fitness;
-    private boolean fitnessCalculada;
+    //Volatile para publicar de forma segura la fitness (y los costos calculados antes que ella) cuando el cromosoma es
+    //evaluado por un hilo y leído por otro. Siempre se escribe al final del cálculo
+    private volatile boolean fitnessCalculada;
+    //Hash de Zobrist de los genes (solo se usa si el algoritmo evita duplicados en la población)
+    private long hashZobrist;
+    private boolean hashZobristAsignado;
+    //Prefijo de joins heredado de un cromosoma con los mismos primeros genes (p. ej. el cromosoma original de una
+    //mutación). Se usa solo en el primer cálculo de la fitness, que empieza a partir del último join heredado
+    private double[] costProcHeredado;
+    private Tabla[] joinsHeredados;
+    private int numJoinsHeredados;
 
     public Cromosoma() {
+        this(DatosEntrada.getInstance(null));
+    }
+
+    public Cromosoma(DatosEntrada datosEntrada) {
         //Lógica para la creación de un cromosoma
-        DatosEntrada datosEntrada = DatosEntrada.getInstance(null);
+        this.datos = datosEntrada;
         int numTablas = datosEntrada.getNumTablas();
         int numSitios = datosEntrada.getNumSitios();
         boolean[][] distTabSit = datosEntrada.getDistTabSit();
@@ -32,7 +48,7 @@ public class Cromosoma {
         }
         for(int i=0; i<numTablas;i++){
             //Se crea la primera mitad del elemento
-            int elemento = (i+1)*100;
+            int elemento = CodificacionGen.codificar(i+1, 0);
             //Se elige un sitio aleatoriamente en el que la tabla exista
             boolean[] distSitios = distTabSit[i];
             int indiceSitio;
@@ -55,6 +71,11 @@ public class Cromosoma {
 
     //Constructor usado por ejemplo para generar cromosomas hijos o mutaciones
     public Cromosoma(int[] cromosoma, int[] indicesTablas) {
+        this(DatosEntrada.getInstance(null), cromosoma, indicesTablas);
+    }
+
+    public Cromosoma(DatosEntrada datos, int[] cromosoma, int[] indicesTablas) {
+        this.datos = datos;
         this.cromosoma = cromosoma;
         this.indicesTab = indicesTablas;
         this.costProc = null;
@@ -62,7 +83,41 @@ public class Cromosoma {
         this.fitnessCalculada = false;
     }
 
+    //Constructor usado para generar cromosomas que comparten sus primeros genesComunes genes con otro cromosoma (padre):
+    //los joins de ese prefijo se toman del padre en lugar de recalcularse
+    public Cromosoma(int[] cromosoma, int[] indicesTablas, Cromosoma padre, int genesComunes) {
+        this(padre.datos, cromosoma, indicesTablas);
+        heredarPrefijo(padre, genesComunes);
+    }
+
+    //Constructor usado para reconstruir un cromosoma a partir únicamente de sus genes (p. ej. recibidos de otro proceso)
+    public Cromosoma(int[] cromosoma) {
+        this(DatosEntrada.getInstance(null), cromosoma);
+    }
+
+    public Cromosoma(DatosEntrada datos, int[] cromosoma) {
+        this.datos = datos;
+        this.cromosoma = cromosoma;
+        this.indicesTab = new int[cromosoma.length];
+        for(int i=0; i<cromosoma.length; i++) this.indicesTab[CodificacionGen.indiceTabla(cromosoma[i])] = i;
+        this.costProc = null;
+        this.listaJoins = null;
+        this.fitnessCalculada = false;
+    }
+
+    //Constructor usado para restaurar un cromosoma ya evaluado (p. ej. desde un punto de control). Los costos de
+    //procesamiento y los joins se calculan recién si se piden
+    public Cromosoma(DatosEntrada datos, int[] cromosoma, double fitness, double costCom) {
+        this(datos, cromosoma);
+        asignarEvaluacion(null, null, costCom, fitness);
+    }
+
     public Cromosoma(int[] cromosoma, int[] indicesTablas, double[] costProc, Tabla[] joins) {
+        this(DatosEntrada.getInstance(null), cromosoma, indicesTablas, costProc, joins);
+    }
+
+    public Cromosoma(DatosEntrada datos, int[] cromosoma, int[] indicesTablas, double[] costProc, Tabla[] joins) {
+        this.datos = datos;
         this.cromosoma = cromosoma.clone();
         this.indicesTab = indicesTablas.clone();
         this.costProc = costProc.clone();
@@ -71,6 +126,12 @@ public class Cromosoma {
     }
 
     public Cromosoma(int[] cromosoma, int[] indicesTablas, double[] costProc, Tabla[] joins, double fitness) {
+        this(DatosEntrada.getInstance(null), cromosoma, indicesTablas, costProc, joins, fitness);
+    }
+
+    public Cromosoma(DatosEntrada datos, int[] cromosoma, int[] indicesTablas, double[] costProc, Tabla[] joins,
+                     double fitness) {
+        this.datos = datos;
         this.cromosoma = cromosoma.clone();
         this.indicesTab = indicesTablas.clone();
         this.costProc = costProc.clone();
@@ -79,110 +140,215 @@ public class Cromosoma {
         this.fitnessCalculada = true;
     }
 
-    private void calcularFitness(){
+    public static boolean esPlanValido(DatosEntrada datos, int[] genes){
+        //Verifica que los genes formen un cromosoma válido para los datos: cada tabla una sola vez y en un sitio que la
+        //contiene (p. ej. para genes leídos de un archivo o de otra ejecución)
+        int numTablas = datos.getNumTablas();
+        if(genes==null || genes.length!=numTablas) return false;
+        boolean[][] distTabSit = datos.getDistTabSit();
+        boolean[] tablasUsadas = new boolean[numTablas];
+        for(int gen: genes){
+            int tabla = CodificacionGen.indiceTabla(gen);
+            int sitio = CodificacionGen.indiceSitio(gen);
+            if(tabla<0 || tabla>=numTablas || tablasUsadas[tabla] || sitio<0 || sitio>=datos.getNumSitios() ||
+                    !distTabSit[tabla][sitio]) return false;
+            tablasUsadas[tabla] = true;
+        }
+        return true;
+    }
+
+    private void calcularFitness(CachePrefijos cache){
         //Lógica para el cálculo del fitness del cromosoma con base en la función objetivo del trabajo de tesis
         //y los datos de entrada
-        DatosEntrada datos = DatosEntrada.getInstance(null);
+        DatosEntrada datos = this.datos;
         double costoProc;
         double costoCom;
-        double costoTotal;
-        if(this.costProc==null && this.listaJoins==null) costoProc= calcularCostProc(datos);
+        boolean costoComCalculado = false; //El cálculo con caché obtiene ambos costos en un solo recorrido
+        if(this.costProc==null && this.listaJoins==null){
+            if(cache!=null){
+                costoProc= calcularCostosConCache(datos, cache);
+                costoComCalculado = true;
+            }
+            else costoProc= calcularCostProc(datos);
+        }
         else{
             costoProc=0;
             assert this.costProc != null;
             for(double costoJoin: this.costProc) costoProc+= costoJoin;
         }
-        if(this.listaJoins!=null) costoCom= calcularCostCom(datos);
+        if(costoComCalculado) costoCom= this.costCom;
+        else if(this.listaJoins!=null) costoCom= calcularCostCom(datos);
         else{
-            costoCom=-1;
-            System.err.println("ERROR: No se pudo calcular el costo de comunicación del cromosoma (lista de Joins vacía)");
-            System.exit(4);
+            throw new ErrorEvaluacion("ERROR: No se pudo calcular el costo de comunicación del cromosoma (lista de Joins vacía)");
         }
-        costoTotal=(datos.getCoefProc()*Math.log(costoProc+1)+datos.getCoefCom()*Math.log(costoCom+1))/10;
-        this.fitness=1/costoTotal;
+        this.fitness= EvaluadorCostos.fitnessDesdeCostos(costoProc, costoCom, datos);
         this.fitnessCalculada = true;
     }
 
+    private void heredarPrefijo(Cromosoma padre, int genesComunes){
+        //El join i (0..) depende solo de los genes 0..i+1, así que se pueden heredar genesComunes-1 joins. Si el padre aún
+        //no fue evaluado, se heredan los joins que él mismo haya heredado
+        int joinsComunes = genesComunes-1;
+        if(joinsComunes<=0) return;
+        if(padre.costProc!=null && padre.listaJoins!=null){
+            this.costProcHeredado = padre.costProc;
+            this.joinsHeredados = padre.listaJoins;
+            this.numJoinsHeredados = Math.min(joinsComunes, padre.listaJoins.length);
+        }
+        else if(padre.numJoinsHeredados>0){
+            this.costProcHeredado = padre.costProcHeredado;
+            this.joinsHeredados = padre.joinsHeredados;
+            this.numJoinsHeredados = Math.min(joinsComunes, padre.numJoinsHeredados);
+        }
+    }
+
+    private int copiarPrefijoHeredado(double[] costProc, Tabla[] listaJoins){
+        //Copia el prefijo heredado en los arreglos y retorna su cantidad de joins. Luego se liberan las referencias al
+        //padre, pues solo se usan en el primer cálculo
+        int numJoins = this.numJoinsHeredados;
+        if(numJoins>0){
+            System.arraycopy(this.costProcHeredado, 0, costProc, 0, numJoins);
+            System.arraycopy(this.joinsHeredados, 0, listaJoins, 0, numJoins);
+        }
+        liberarPrefijoHeredado();
+        return numJoins;
+    }
+
+    private void liberarPrefijoHeredado(){
+        this.costProcHeredado = null;
+        this.joinsHeredados = null;
+        this.numJoinsHeredados = 0;
+    }
+
     private double calcularCostProc(DatosEntrada datos){
-        //Inicializar arreglos de costos de proc. y joins
-        this.costProc = new double[datos.getNumTablas()-1];
-        this.listaJoins = new Tabla[datos.getNumTablas()-1];
+        //Inicializar arreglos de costos de proc. y joins (se asignan al cromosoma recién al terminar el cálculo)
+        double[] costProc = new double[datos.getNumTablas()-1];
+        Tabla[] listaJoins = new Tabla[datos.getNumTablas()-1];
+        //Los joins heredados no se recalculan
+        int joinsIniciales = copiarPrefijoHeredado(costProc, listaJoins);
         //Debug
         //Obtener estructuras necesarias para el cálculo del costo
         Tabla[] tablas = datos.getTablas();
         //Se recorrerá el arreglo del cromosoma para determinar los joins realizados
         // y calcular los costos en base a estos
-        Tabla tabla1 = tablas[(this.cromosoma[0]/100)-1]; //La primera tabla del primer join es la del índice 0
+        Tabla tabla1 = tablas[CodificacionGen.indiceTabla(this.cromosoma[0])]; //La primera tabla del primer join es la del índice 0
+        if(joinsIniciales>0) tabla1 = listaJoins[joinsIniciales-1];
         double costAcum=0; //Suma de costos de procesamiento
-        for(int i=1;i<datos.getNumTablas();i++){
+        for(int i=0;i<joinsIniciales;i++) costAcum+=costProc[i];
+        for(int i=joinsIniciales+1;i<datos.getNumTablas();i++){
             //Se obtiene la segunda tabla del join
-            Tabla tabla2 = tablas[(this.cromosoma[i]/100)-1];
-            //Se calcula el costo del join entre tabla 1 y tabla 2 (usando la fórmula del documento de tesis)
-            costProc[i-1] = tabla1.getNumFilas()*tabla2.getNumFilas()*1d;
-            //Se calculan las cardinalidades de todas las columnas que corresponderán al join de ambas tablas
-            int[] arrCardinalidades = new int[datos.getNumTotalColumnas()];
-            long productoCard = 1; //El producto de las cardinalidades de las columnas comunes a usarse para el costo
-            long prodCardColsT1 = 1; //Producto de las cardinalidades de tabla1 para las columnas comunes
-            long prodCardColsT2 = 1; //Producto de las cardinalidades de tabla2 para las columnas comunes
-            int contadorColumnas = 0;
-            for(int j=0;j< arrCardinalidades.length;j++){
-                int cardT1 = tabla1.getCardColumnas()[j];
-                int cardT2 = tabla2.getCardColumnas()[j];
-                if(cardT1*cardT2!=0){ //Si ambas cardinalidades existen (columna común a ambas tablas)
-                    productoCard*= Math.max(cardT1, cardT2); //Sigue la fórmula de costo de procesamiento
-                    prodCardColsT1*= cardT1;
-                    prodCardColsT2*= cardT2;
-                    arrCardinalidades[j] = Math.min(cardT1, cardT2); //Sigue el cálculo de cardinalidad de un join
-                    contadorColumnas++;
-                }
-                else{ //La columna pertenece como máximo a una tabla
-                    arrCardinalidades[j] = Math.max(cardT1, cardT2); //La cardinalidad es 0 si la col. no existe
-                    contadorColumnas+= (cardT1+cardT2!=0?1:0); //El contador aumenta si la col. existe en alguna tabla
-                }
-            }
-            costProc[i-1]/= productoCard;
+            Tabla tabla2 = tablas[CodificacionGen.indiceTabla(this.cromosoma[i])];
+            //Se calcula el join entre tabla 1 y tabla 2 y su costo
+            tabla1 = calcularJoin(tabla1, tabla2, datos, costProc, i-1);
             costAcum+=costProc[i-1];
-            //Se arma el resultado del join entre tabla 1 y 2 como un objeto Tabla
-            //Calcular número de filas
-            int cardTuplaT1 = (int) Math.min(prodCardColsT1, tabla1.getNumFilas());
-            int cardTuplaT2 = (int) Math.min(prodCardColsT2, tabla2.getNumFilas());
-            int numFilas;
-            if(cardTuplaT1<cardTuplaT2) numFilas = tabla1.getNumFilas();
-            else if(cardTuplaT1>cardTuplaT2) numFilas = tabla2.getNumFilas();
-            else numFilas = tabla1.getNumFilas()*tabla2.getNumFilas()/cardTuplaT1;
-            //Se corrigen las cardinalidades (pues algunas pueden ser mayores al número de filas)
-            for(int j=0;j<arrCardinalidades.length;j++){
-                if(arrCardinalidades[j]>numFilas) arrCardinalidades[j] = numFilas;
-            }
-            //Se atrapa un error
-            if(numFilas==0){
-                System.err.println("Se generó un join con número de filas igual a 0");
-                System.exit(4);
-            }
-            //Se crea el join como objeto Tabla
-            tabla1 = new Tabla(-1, numFilas, contadorColumnas,
-                    numFilas*contadorColumnas*datos.getTamPromColumna(),true, arrCardinalidades);
             //Se guarda el join en la lista de joins
-            this.listaJoins[i-1] = tabla1;
+            listaJoins[i-1] = tabla1;
         }
+        this.costProc = costProc;
+        this.listaJoins = listaJoins;
         return costAcum;
     }
 
+    private double calcularCostosConCache(DatosEntrada datos, CachePrefijos cache){
+        //Igual que calcularCostProc + calcularCostCom, pero los joins (y sus costos) de los prefijos del cromosoma que ya
+        //estén en la caché no se recalculan: el cálculo se reanuda desde el prefijo más largo encontrado
+        int numTablas = datos.getNumTablas();
+        double[] costProc = new double[numTablas-1];
+        Tabla[] listaJoins = new Tabla[numTablas-1];
+        double[] costComAcum = new double[numTablas-1]; //Costo de comunicación acumulado hasta cada join
+        int joinsRecuperados = cache.recuperar(this.cromosoma, costProc, listaJoins, costComAcum);
+        Tabla[] tablas = datos.getTablas();
+        int joinsIniciales = joinsRecuperados;
+        if(this.numJoinsHeredados>joinsRecuperados){
+            //El prefijo heredado es más largo que el de la caché: se usa ese y se acumula su costo de comunicación
+            joinsIniciales = copiarPrefijoHeredado(costProc, listaJoins);
+            Tabla tablaPrefijo = tablas[CodificacionGen.indiceTabla(this.cromosoma[0])];
+            double costoPrefijo = 0;
+            for(int i=1; i<=joinsIniciales; i++){
+                int idSit1 = CodificacionGen.idSitio(this.cromosoma[i-1]);
+                int idSit2 = CodificacionGen.idSitio(this.cromosoma[i]);
+                if(idSit1!=idSit2) costoPrefijo+= costoTransmision(tablaPrefijo, idSit1, idSit2, datos);
+                tablaPrefijo = listaJoins[i-1];
+                costComAcum[i-1] = costoPrefijo;
+            }
+        }
+        else liberarPrefijoHeredado();
+        Tabla tabla1 = joinsIniciales==0 ? tablas[CodificacionGen.indiceTabla(this.cromosoma[0])] : listaJoins[joinsIniciales-1];
+        double costoComAcum = joinsIniciales==0 ? 0 : costComAcum[joinsIniciales-1];
+        for(int i=joinsIniciales+1; i<numTablas; i++){
+            Tabla tabla2 = tablas[CodificacionGen.indiceTabla(this.cromosoma[i])];
+            //La transmisión (si la hay) es de la tabla 1 del join, antes de calcularlo
+            int idSit1 = CodificacionGen.idSitio(this.cromosoma[i-1]);
+            int idSit2 = CodificacionGen.idSitio(this.cromosoma[i]);
+            if(idSit1!=idSit2) costoComAcum+= costoTransmision(tabla1, idSit1, idSit2, datos);
+            tabla1 = calcularJoin(tabla1, tabla2, datos, costProc, i-1);
+            listaJoins[i-1] = tabla1;
+            costComAcum[i-1] = costoComAcum;
+        }
+        cache.guardar(this.cromosoma, costProc, listaJoins, costComAcum, joinsRecuperados);
+        //La suma se hace en el mismo orden que en calcularCostProc para obtener exactamente el mismo resultado
+        double costAcum=0;
+        for(double costoJoin: costProc) costAcum+= costoJoin;
+        this.costCom = costoComAcum;
+        this.costProc = costProc;
+        this.listaJoins = listaJoins;
+        return costAcum;
+    }
+
+    private static Tabla calcularJoin(Tabla tabla1, Tabla tabla2, DatosEntrada datos, double[] costProc, int indiceJoin){
+        //Calcula el join entre tabla 1 y tabla 2 como un objeto Tabla y guarda su costo de procesamiento en
+        //costProc[indiceJoin] (usando la fórmula del documento de tesis)
+        costProc[indiceJoin] = (double) tabla1.getNumFilas()*tabla2.getNumFilas();
+        //Se calculan las cardinalidades de todas las columnas que corresponderán al join de ambas tablas
+        int[] arrCardinalidades = new int[datos.getNumTotalColumnas()];
+        long productoCard = 1; //El producto de las cardinalidades de las columnas comunes a usarse para el costo
+        long prodCardColsT1 = 1; //Producto de las cardinalidades de tabla1 para las columnas comunes
+        long prodCardColsT2 = 1; //Producto de las cardinalidades de tabla2 para las columnas comunes
+        int contadorColumnas = 0;
+        for(int j=0;j< arrCardinalidades.length;j++){
+            int cardT1 = tabla1.getCardColumnas()[j];
+            int cardT2 = tabla2.getCardColumnas()[j];
+            if(cardT1!=0 && cardT2!=0){ //Si ambas cardinalidades existen (columna común a ambas tablas)
+                productoCard*= Math.max(cardT1, cardT2); //Sigue la fórmula de costo de procesamiento
+                prodCardColsT1*= cardT1;
+                prodCardColsT2*= cardT2;
+                arrCardinalidades[j] = Math.min(cardT1, cardT2); //Sigue el cálculo de cardinalidad de un join
+                contadorColumnas++;
+            }
+            else{ //La columna pertenece como máximo a una tabla
+                arrCardinalidades[j] = Math.max(cardT1, cardT2); //La cardinalidad es 0 si la col. no existe
+                contadorColumnas+= (cardT1+cardT2!=0?1:0); //El contador aumenta si la col. existe en alguna tabla
+            }
+        }
+        costProc[indiceJoin]/= productoCard;
+        //Se arma el resultado del join entre tabla 1 y 2 como un objeto Tabla
+        //Calcular número de filas
+        int cardTuplaT1 = (int) Math.min(prodCardColsT1, tabla1.getNumFilas());
+        int cardTuplaT2 = (int) Math.min(prodCardColsT2, tabla2.getNumFilas());
+        //Se atrapa un error (join sin filas o con más filas de las que se pueden representar)
+        int numFilas = EvaluadorCostos.filasJoin(tabla1.getNumFilas(), tabla2.getNumFilas(), cardTuplaT1, cardTuplaT2);
+        //Se corrigen las cardinalidades (pues algunas pueden ser mayores al número de filas)
+        for(int j=0;j<arrCardinalidades.length;j++){
+            if(arrCardinalidades[j]>numFilas) arrCardinalidades[j] = numFilas;
+        }
+        //Se crea el join como objeto Tabla
+        return new Tabla(-1, numFilas, contadorColumnas,
+                EvaluadorCostos.bytesJoin(numFilas, contadorColumnas, datos.getTamPromColumna()),true, arrCardinalidades);
+    }
+
     private double calcularCostCom(DatosEntrada datos){
         //Obtener estructuras necesarias para el cálculo del costo
         Tabla[] tablas = datos.getTablas();
-        int [][] capTransSitios = datos.getCapTransSitios();
         double costoAcum=0;
         //Se evalúa si cada join conlleva una transmisión
-        Tabla tabla1 = tablas[(this.cromosoma[0]/100)-1]; //La primera tabla del primer join es la del índice 0
+        Tabla tabla1 = tablas[CodificacionGen.indiceTabla(this.cromosoma[0])]; //La primera tabla del primer join es la del índice 0
         for(int i=1;i< tablas.length;i++){
             //Se determinan los sitios de donde se obtienen las tablas 1 y 2
-            int idSit1 = this.cromosoma[i-1]%100;
-            int idSit2 = this.cromosoma[i]%100;
+            int idSit1 = CodificacionGen.idSitio(this.cromosoma[i-1]);
+            int idSit2 = CodificacionGen.idSitio(this.cromosoma[i]);
             //Si los sitios son diferentes, esto implica una transmisión entre sitios
             if(idSit1!=idSit2){
-                //La transmisión implica un overhead + el tiempo de transmisión de la tabla 1 entre los sitios
-                costoAcum+= datos.getOverheadTrans()/1000d + tabla1.getNumBytes()*1.0d/capTransSitios[idSit1-1][idSit2-1];
+                costoAcum+= costoTransmision(tabla1, idSit1, idSit2, datos);
             }
             //Tabla1 pasa a ser el join generado entre 1 y 2
             tabla1 = this.listaJoins[i-1];
@@ -191,11 +357,20 @@ public class Cromosoma {
         return costoAcum;
     }
 
+    private static double costoTransmision(Tabla tabla1, int idSit1, int idSit2, DatosEntrada datos){
+        //La transmisión implica un overhead + el tiempo de transmisión de la tabla 1 entre los sitios
+        return datos.getModelo().costoTransmision(tabla1.getNumBytes(), idSit1, idSit2);
+    }
+
     public Cromosoma clonar(){
         //TODO verificar qué tan óptimo es usar este método para clonar arreglos
         int[] arrCromNuevo = this.cromosoma.clone();
         int[] indCromNuevo = this.indicesTab.clone();
-        return new Cromosoma(arrCromNuevo,indCromNuevo);
+        return new Cromosoma(this.datos, arrCromNuevo,indCromNuevo);
+    }
+
+    public DatosEntrada getDatos() {
+        return datos;
     }
 
     public int[] getCromosoma() {
@@ -207,20 +382,65 @@ public class Cromosoma {
     }
 
     public double[] getCostProc() {
+        if(this.listaJoins==null && this.fitnessCalculada) materializarPlan();
         return costProc;
     }
 
     public Tabla[] getListaJoins() {
+        if(this.listaJoins==null && this.fitnessCalculada) materializarPlan();
         return listaJoins;
     }
 
+    private synchronized void materializarPlan(){
+        //Si la fitness se obtuvo con la evaluación ligera, los costos por join y los joins (Tabla) se calculan recién
+        //cuando se piden
+        if(this.listaJoins==null) calcularCostProc(this.datos);
+    }
+
     public double getFitness() {
+        return evaluar(null);
+    }
+
+    public double evaluar(CachePrefijos cache) {
+        //Igual que getFitness, pero si la fitness no está calculada se usa la caché de prefijos indicada (puede ser null)
+        return evaluar(null, cache);
+    }
+
+    public double evaluar(MemoFitness memo, CachePrefijos cache) {
+        //Si la fitness no está calculada, primero se busca el cromosoma completo en la memoria de fitness y, si no está,
+        //se calcula (con la caché de prefijos) y se guarda en ella. Ambas pueden ser null
         if(!this.fitnessCalculada){
-            calcularFitness();
+            if(memo!=null && memo.recuperar(this)) return fitness;
+            calcularFitness(cache);
+            if(memo!=null) memo.guardar(this.cromosoma, this.costProc, this.listaJoins, this.costCom, this.fitness);
         }
         return fitness;
     }
 
+    public double evaluarLigero(MemoFitness memo) {
+        //Igual que evaluar, pero la fitness se calcula con EvaluadorCostos sin crear los joins (Tabla) ni los arreglos de
+        //costos, que se calculan después solo si se piden con getCostProc o getListaJoins
+        if(!this.fitnessCalculada){
+            if(memo!=null && memo.recuperar(this)) return fitness;
+            liberarPrefijoHeredado();
+            this.fitness = EvaluadorCostos.calcularFitness(this.cromosoma, 0, this.cromosoma.length, this.datos);
+            this.costCom = EvaluadorCostos.getUltimoCostoCom();
+            this.fitnessCalculada = true;
+            if(memo!=null) memo.guardar(this.cromosoma, null, null, this.costCom, this.fitness);
+        }
+        return fitness;
+    }
+
+    void asignarEvaluacion(double[] costProc, Tabla[] listaJoins, double costCom, double fitness){
+        //Asigna una evaluación ya calculada para un cromosoma con los mismos genes
+        this.costProc = costProc;
+        this.listaJoins = listaJoins;
+        this.costCom = costCom;
+        this.fitness = fitness;
+        liberarPrefijoHeredado();
+        this.fitnessCalculada = true;
+    }
+
     public boolean isFitnessCalculada() {
         return fitnessCalculada;
     }
@@ -234,13 +454,13 @@ public class Cromosoma {
         StringBuilder salida = new StringBuilder("Cromosoma{");
         for(int i = 0; i<cromosoma.length; i++){
             int elemento = cromosoma[i];
-            salida.append("T").append(elemento / 100).append("(S").append(elemento % 100).append(")");
+            salida.append("T").append(CodificacionGen.idTabla(elemento)).append("(S").append(CodificacionGen.idSitio(elemento)).append(")");
             if(i!= cromosoma.length-1) salida.append("=>");
         }
         salida.append("}, fitness: ").append(fitnessCalculada ? fitness : "No calculada");
         salida.append(", Costos de proc: {");
         for(int i=0; i<cromosoma.length-1;i++){
-            salida.append(" ").append(this.costProc[i]);
+            salida.append(" ").append(getCostProc()[i]);
         }
         salida.append(" }, Costo de com: ").append(this.costCom);
         return salida.toString();
@@ -250,5 +470,18 @@ public class Cromosoma {
         return costCom;
     }
 
+    public long getHashZobrist() {
+        return hashZobrist;
+    }
+
+    public boolean isHashZobristAsignado() {
+        return hashZobristAsignado;
+    }
+
+    public void setHashZobrist(long hashZobrist) {
+        this.hashZobrist = hashZobrist;
+        this.hashZobristAsignado = true;
+    }
+
 
 }
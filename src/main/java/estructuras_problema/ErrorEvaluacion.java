@@ -0,0 +1,11 @@
+package estructuras_problema;
+
+public class ErrorEvaluacion extends RuntimeException {
+    //Error al calcular la fitness de un cromosoma con los datos del problema (p. ej. un join sin filas). Se lanza en lugar de terminar el programa para que los modos que atienden varias
+    //consultas (lotes y servidor) lo registren como el resultado de la consulta; Main lo convierte en el status 4
+    private static final long serialVersionUID = 1L;
+
+    public ErrorEvaluacion(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,124 @@
+package estructuras_problema;
+
+import datos_param.DatosEntrada;
+
+public final class EvaluadorCostos {
+    //Cálculo de la fitness de un cromosoma sin crear objetos: el join intermedio no se guarda como Tabla, sino en un
+    //estado reutilizable propio de cada hilo con sus columnas presentes y sus cardinalidades. Usa el modelo compilado de
+    //DatosEntrada (solo se recorren las columnas de las tablas que participan y el primer join ya está precalculado) y
+    //da exactamente el mismo resultado que Cromosoma. Los costos por join y los objetos Tabla se calculan solo si
+    //alguien los pide.
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+    //Evaluador con la API de vectores (jdk.incubator.vector). Solo existe si el proyecto se compiló con el perfil
+    //vectorial y la JVM se inició con --add-modules jdk.incubator.vector (null: no disponible)
+    private static final EvaluadorFitness VECTORIAL = cargarVectorial();
+    private static volatile boolean usarVectorial;
+
+    private EvaluadorCostos() {
+    }
+
+    private static final class Buffers {
+        private ModeloCompilado.EstadoJoin estado;
+        private int numTotalColumnas = -1;
+        private double ultimoCostoProc;
+        private double ultimoCostoCom;
+    }
+
+    private static EvaluadorFitness cargarVectorial(){
+        if(ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try{
+            return (EvaluadorFitness) Class.forName("estructuras_problema.EvaluadorVectorial").getDeclaredConstructor().newInstance();
+        }catch (ReflectiveOperationException | LinkageError ex){
+            return null;
+        }
+    }
+
+    public static boolean isVectorialDisponible(){
+        return VECTORIAL!=null;
+    }
+
+    public static boolean activarVectorial(){
+        //Usa el evaluador vectorial en las siguientes evaluaciones si está disponible y retorna si se activó
+        usarVectorial = VECTORIAL!=null;
+        return usarVectorial;
+    }
+
+    public static void desactivarVectorial(){
+        usarVectorial = false;
+    }
+
+    public static double calcularFitness(int[] genes, int desplazamiento, int numTablas, DatosEntrada datos){
+        //Evalúa los genes genes[desplazamiento .. desplazamiento+numTablas-1]
+        if(usarVectorial) return VECTORIAL.calcularFitness(genes, desplazamiento, numTablas, datos);
+        Buffers buffers = BUFFERS.get();
+        ModeloCompilado modelo = datos.getModelo();
+        if(buffers.numTotalColumnas!=modelo.getNumTotalColumnas()){
+            buffers.estado = new ModeloCompilado.EstadoJoin(modelo.getNumTotalColumnas());
+            buffers.numTotalColumnas = modelo.getNumTotalColumnas();
+        }
+        ModeloCompilado.EstadoJoin estado = buffers.estado;
+        Tabla[] tablas = datos.getTablas();
+        int gen1 = genes[desplazamiento];
+        int gen2 = genes[desplazamiento+1];
+        double costoProc = 0;
+        double costoCom = 0;
+        //Primer join: se transmite la primera tabla (si los sitios son diferentes) y se toma el join precalculado
+        int idSit1 = CodificacionGen.idSitio(gen1);
+        int idSit2 = CodificacionGen.idSitio(gen2);
+        if(idSit1!=idSit2) costoCom+= modelo.costoTransmision(tablas[CodificacionGen.indiceTabla(gen1)].getNumBytes(), idSit1, idSit2);
+        costoProc+= modelo.cargarJoinBase(estado, CodificacionGen.indiceTabla(gen1), CodificacionGen.indiceTabla(gen2));
+        for(int i=2; i<numTablas; i++){
+            gen1 = gen2;
+            gen2 = genes[desplazamiento+i];
+            //Costo de transmisión del join anterior si los sitios son diferentes
+            idSit1 = idSit2;
+            idSit2 = CodificacionGen.idSitio(gen2);
+            if(idSit1!=idSit2) costoCom+= modelo.costoTransmision(estado.getNumBytes(), idSit1, idSit2);
+            costoProc+= modelo.unir(estado, CodificacionGen.indiceTabla(gen2));
+        }
+        buffers.ultimoCostoProc = costoProc;
+        buffers.ultimoCostoCom = costoCom;
+        return fitnessDesdeCostos(costoProc, costoCom, datos);
+    }
+
+    static void registrarCostos(double costoProc, double costoCom){
+        //Usado por los evaluadores alternativos para que getUltimoCostoProc y getUltimoCostoCom sigan funcionando
+        Buffers buffers = BUFFERS.get();
+        buffers.ultimoCostoProc = costoProc;
+        buffers.ultimoCostoCom = costoCom;
+    }
+
+    static int filasJoin(int filasT1, int filasT2, int cardTuplaT1, int cardTuplaT2){
+        //Número de filas del join de dos tablas (fórmula de Cromosoma.calcularJoin), usado por todos los evaluadores. El
+        //producto de filas se calcula en long y se satura en Integer.MAX_VALUE: un join intermedio enorme es un mal plan
+        //(recibe costos muy altos), no un error de los datos. Solo un join sin filas no se puede evaluar
+        long numFilas;
+        if(cardTuplaT1<cardTuplaT2) numFilas = filasT1;
+        else if(cardTuplaT1>cardTuplaT2) numFilas = filasT2;
+        else numFilas = (long) filasT1*filasT2/cardTuplaT1;
+        if(numFilas==0) throw new ErrorEvaluacion("Se generó un join con número de filas igual a 0");
+        return (int) Math.min(numFilas, Integer.MAX_VALUE);
+    }
+
+    static int bytesJoin(int numFilas, int numColumnas, int tamPromColumna){
+        //Tamaño del join en bytes, saturado en Integer.MAX_VALUE igual que el número de filas
+        long numBytes = (long) numFilas*numColumnas*tamPromColumna;
+        return (int) Math.min(numBytes, Integer.MAX_VALUE);
+    }
+
+    static double fitnessDesdeCostos(double costoProc, double costoCom, DatosEntrada datos){
+        //Función objetivo del trabajo de tesis
+        double costoTotal = (datos.getCoefProc()*Math.log(costoProc+1)+datos.getCoefCom()*Math.log(costoCom+1))/10;
+        return 1/costoTotal;
+    }
+
+    public static double getUltimoCostoProc(){
+        //Costo de procesamiento total de la última evaluación del hilo actual
+        return BUFFERS.get().ultimoCostoProc;
+    }
+
+    public static double getUltimoCostoCom(){
+        //Costo de comunicación de la última evaluación del hilo actual
+        return BUFFERS.get().ultimoCostoCom;
+    }
+}
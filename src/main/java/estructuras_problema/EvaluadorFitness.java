@@ -0,0 +1,9 @@
+package estructuras_problema;
+
+import datos_param.DatosEntrada;
+
+interface EvaluadorFitness {
+    //Implementación alternativa del cálculo de la fitness de EvaluadorCostos (debe dar exactamente el mismo resultado y
+    //registrar los costos con EvaluadorCostos.registrarCostos)
+    double calcularFitness(int[] genes, int desplazamiento, int numTablas, DatosEntrada datos);
+}
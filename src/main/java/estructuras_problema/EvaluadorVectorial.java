@@ -0,0 +1,106 @@
+package estructuras_problema;
+
+import datos_param.DatosEntrada;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class EvaluadorVectorial implements EvaluadorFitness {
+    //Cálculo de la fitness con la API de vectores: el recorrido de todas las columnas de Cromosoma.calcularJoin (mínimos,
+    //máximos, columnas comunes y contador de columnas) se hace por bloques de IntVector. Los productos de cardinalidades
+    //de las columnas comunes se siguen haciendo con long, columna por columna, y el resto de operaciones es el mismo,
+    //así que la fitness es idéntica a la de EvaluadorCostos. Solo se compila con el perfil vectorial (ver pom.xml).
+    private static final VectorSpecies<Integer> ESPECIE = IntVector.SPECIES_PREFERRED;
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(Buffers::new);
+
+    private static final class Buffers {
+        private int[] cardinalidadesA = new int[0];
+        private int[] cardinalidadesB = new int[0];
+    }
+
+    @Override
+    public double calcularFitness(int[] genes, int desplazamiento, int numTablas, DatosEntrada datos){
+        Buffers buffers = this.buffers.get();
+        int numColumnas = datos.getNumTotalColumnas();
+        if(buffers.cardinalidadesA.length<numColumnas){
+            buffers.cardinalidadesA = new int[numColumnas];
+            buffers.cardinalidadesB = new int[numColumnas];
+        }
+        ModeloCompilado modelo = datos.getModelo();
+        Tabla[] tablas = datos.getTablas();
+        int tamPromColumna = datos.getTamPromColumna();
+        int limite = ESPECIE.loopBound(numColumnas);
+        Tabla primeraTabla = tablas[CodificacionGen.indiceTabla(genes[desplazamiento])];
+        int[] cardT1 = primeraTabla.getCardColumnas();
+        int filasT1 = primeraTabla.getNumFilas();
+        int bytesT1 = primeraTabla.getNumBytes();
+        double costoProc = 0;
+        double costoCom = 0;
+        for(int i=1; i<numTablas; i++){
+            int gen1 = genes[desplazamiento+i-1];
+            int gen2 = genes[desplazamiento+i];
+            Tabla tabla2 = tablas[CodificacionGen.indiceTabla(gen2)];
+            int[] cardT2 = tabla2.getCardColumnas();
+            int filasT2 = tabla2.getNumFilas();
+            int idSit1 = CodificacionGen.idSitio(gen1);
+            int idSit2 = CodificacionGen.idSitio(gen2);
+            if(idSit1!=idSit2) costoCom+= modelo.costoTransmision(bytesT1, idSit1, idSit2);
+            int[] cardJoin = cardT1==buffers.cardinalidadesA ? buffers.cardinalidadesB : buffers.cardinalidadesA;
+            double costoJoin = (double) filasT1*filasT2;
+            long productoCard = 1;
+            long prodCardColsT1 = 1;
+            long prodCardColsT2 = 1;
+            int contadorColumnas = 0;
+            int j = 0;
+            for(; j<limite; j+=ESPECIE.length()){
+                IntVector card1 = IntVector.fromArray(ESPECIE, cardT1, j);
+                IntVector card2 = IntVector.fromArray(ESPECIE, cardT2, j);
+                //Misma condición que el cálculo escalar: ambas cardinalidades distintas de 0
+                VectorMask<Integer> comun = card1.compare(VectorOperators.NE, 0).and(card2.compare(VectorOperators.NE, 0));
+                VectorMask<Integer> existe = card1.add(card2).compare(VectorOperators.NE, 0);
+                card1.max(card2).blend(card1.min(card2), comun).intoArray(cardJoin, j);
+                contadorColumnas+= comun.or(existe).trueCount();
+                long lanesComunes = comun.toLong();
+                while(lanesComunes!=0){
+                    int columna = j + Long.numberOfTrailingZeros(lanesComunes);
+                    lanesComunes&= lanesComunes-1;
+                    productoCard*= Math.max(cardT1[columna], cardT2[columna]);
+                    prodCardColsT1*= cardT1[columna];
+                    prodCardColsT2*= cardT2[columna];
+                }
+            }
+            for(; j<numColumnas; j++){
+                int card1 = cardT1[j];
+                int card2 = cardT2[j];
+                if(card1!=0 && card2!=0){
+                    productoCard*= Math.max(card1, card2);
+                    prodCardColsT1*= card1;
+                    prodCardColsT2*= card2;
+                    cardJoin[j] = Math.min(card1, card2);
+                    contadorColumnas++;
+                }
+                else{
+                    cardJoin[j] = Math.max(card1, card2);
+                    contadorColumnas+= (card1+card2!=0?1:0);
+                }
+            }
+            costoJoin/= productoCard;
+            costoProc+= costoJoin;
+            int cardTuplaT1 = (int) Math.min(prodCardColsT1, filasT1);
+            int cardTuplaT2 = (int) Math.min(prodCardColsT2, filasT2);
+            int numFilas = EvaluadorCostos.filasJoin(filasT1, filasT2, cardTuplaT1, cardTuplaT2);
+            for(j=0; j<limite; j+=ESPECIE.length()){
+                IntVector.fromArray(ESPECIE, cardJoin, j).min(numFilas).intoArray(cardJoin, j);
+            }
+            for(; j<numColumnas; j++){
+                if(cardJoin[j]>numFilas) cardJoin[j] = numFilas;
+            }
+            cardT1 = cardJoin;
+            filasT1 = numFilas;
+            bytesT1 = EvaluadorCostos.bytesJoin(numFilas, contadorColumnas, tamPromColumna);
+        }
+        EvaluadorCostos.registrarCostos(costoProc, costoCom);
+        return EvaluadorCostos.fitnessDesdeCostos(costoProc, costoCom, datos);
+    }
+}
@@ -0,0 +1,86 @@
+package estructuras_problema;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+final class MapaLRUSegmentado<V> {
+    //Mapa acotado indexado por hashes de 64 bits, usado por las cachés de evaluación. Está dividido en segmentos con su
+    //propio bloqueo (para poder usarse desde varios hilos) y cada segmento descarta la entrada usada hace más tiempo al
+    //llenarse.
+    private final Segmento<V>[] segmentos;
+
+    @SuppressWarnings("unchecked")
+    MapaLRUSegmentado(int capacidad, int numSegmentos) {
+        this.segmentos = (Segmento<V>[]) new Segmento<?>[numSegmentos];
+        int capacidadSegmento = Math.max(1, capacidad/numSegmentos);
+        for(int i=0; i<numSegmentos; i++) this.segmentos[i] = new Segmento<>(capacidadSegmento);
+    }
+
+    static long mezclar(long hash, int valor){
+        //Paso de un hash acumulativo: incorpora un entero y mezcla los bits
+        hash = (hash + valor)*0x9E3779B97F4A7C15L;
+        return hash ^ (hash>>>29);
+    }
+
+    V obtener(long hash){
+        return segmento(hash).obtener(hash);
+    }
+
+    void guardar(long hash, V valor){
+        segmento(hash).guardar(hash, valor);
+    }
+
+    void limpiar(){
+        for(Segmento<V> segmento: segmentos) segmento.limpiar();
+    }
+
+    void recorrer(BiConsumer<Long, V> accion){
+        //Recorre las entradas de cada segmento desde la usada hace más tiempo
+        for(Segmento<V> segmento: segmentos) segmento.recorrer(accion);
+    }
+
+    int tamanio(){
+        int tamanio = 0;
+        for(Segmento<V> segmento: segmentos) tamanio+= segmento.tamanio();
+        return tamanio;
+    }
+
+    private Segmento<V> segmento(long hash){
+        return segmentos[(int) Math.floorMod(hash ^ (hash>>>32), (long) segmentos.length)];
+    }
+
+    private static final class Segmento<V> {
+        private final LinkedHashMap<Long, V> entradas;
+
+        private Segmento(int capacidad) {
+            //Orden de acceso: la entrada más antigua es la usada hace más tiempo
+            this.entradas = new LinkedHashMap<>(16, 0.75f, true){
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                    return size()>capacidad;
+                }
+            };
+        }
+
+        private synchronized V obtener(long hash){
+            return entradas.get(hash);
+        }
+
+        private synchronized void guardar(long hash, V valor){
+            entradas.put(hash, valor);
+        }
+
+        private synchronized void limpiar(){
+            entradas.clear();
+        }
+
+        private synchronized void recorrer(BiConsumer<Long, V> accion){
+            for(Map.Entry<Long, V> entrada: entradas.entrySet()) accion.accept(entrada.getKey(), entrada.getValue());
+        }
+
+        private synchronized int tamanio(){
+            return entradas.size();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package estructuras_problema;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class MemoFitness {
+    //Memoria de cromosomas completos ya evaluados. El casamiento y la mutación suelen volver a generar cromosomas que ya
+    //se evaluaron antes en la ejecución (o en otra repetición sobre el mismo problema); en ese caso se recuperan su
+    //fitness y sus costos sin recalcularlos. Las entradas se indexan con un hash de 64 bits de los genes y se verifican
+    //comparándolos completos. Tiene una capacidad máxima (descarte LRU) y puede usarse desde varios hilos. Solo debe
+    //compartirse entre ejecuciones sobre los mismos datos de entrada.
+    private final MapaLRUSegmentado<Entrada> entradas;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    public MemoFitness(int capacidad, int numSegmentos) {
+        if(capacidad<=0 || numSegmentos<=0){
+            System.err.println("ERROR: Parámetros inválidos para la memoria de fitness (capacidad: " + capacidad +
+                    ", numSegmentos: " + numSegmentos + ")");
+            System.exit(3);
+        }
+        this.entradas = new MapaLRUSegmentado<>(capacidad, numSegmentos);
+    }
+
+    public MemoFitness(int capacidad) {
+        this(capacidad, 16);
+    }
+
+    boolean recuperar(Cromosoma cromosoma){
+        //Si el cromosoma ya fue evaluado, le asigna su fitness y costos y retorna true
+        int[] genes = cromosoma.getCromosoma();
+        Entrada entrada = entradas.obtener(hashGenes(genes));
+        if(entrada!=null && Arrays.equals(entrada.genes, genes)){
+            aciertos.increment();
+            cromosoma.asignarEvaluacion(entrada.costProc, entrada.listaJoins, entrada.costCom, entrada.fitness);
+            return true;
+        }
+        fallos.increment();
+        return false;
+    }
+
+    void guardar(int[] genes, double[] costProc, Tabla[] listaJoins, double costCom, double fitness){
+        //Los arreglos de costos no se modifican después de la evaluación, así que se comparten con el cromosoma. Son null
+        //si el cromosoma se evaluó sin crear los joins (se calcularán cuando se pidan)
+        entradas.guardar(hashGenes(genes), new Entrada(genes.clone(), costProc, listaJoins, costCom, fitness));
+    }
+
+    private static long hashGenes(int[] genes){
+        long hash = genes.length;
+        for(int gen: genes) hash = MapaLRUSegmentado.mezclar(hash, gen);
+        return hash;
+    }
+
+    public void limpiar(){
+        entradas.limpiar();
+        aciertos.reset();
+        fallos.reset();
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public double getTasaAciertos() {
+        long consultas = aciertos.sum() + fallos.sum();
+        return consultas==0 ? 0 : aciertos.sum()*1d/consultas;
+    }
+
+    public int getTamanio() {
+        return entradas.tamanio();
+    }
+
+    private static final class Entrada {
+        private final int[] genes;
+        private final double[] costProc;
+        private final Tabla[] listaJoins;
+        private final double costCom;
+        private final double fitness;
+
+        private Entrada(int[] genes, double[] costProc, Tabla[] listaJoins, double costCom, double fitness) {
+            this.genes = genes;
+            this.costProc = costProc;
+            this.listaJoins = listaJoins;
+            this.costCom = costCom;
+            this.fitness = fitness;
+        }
+    }
+}
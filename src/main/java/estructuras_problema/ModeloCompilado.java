@@ -0,0 +1,257 @@
+package estructuras_problema;
+
+public final class ModeloCompilado {
+    //Datos del problema preparados para el cálculo de la fitness, construidos una sola vez al cargar DatosEntrada. Cada
+    //tabla usa pocas de las numTotalColumnas columnas, así que se guardan solo sus columnas presentes (lista compacta y
+    //mapa de bits) para que un join recorra únicamente esas columnas. Los joins entre pares de tablas base (el primer join
+    //de todo cromosoma es uno de ellos) se calculan la primera vez que se usan y se guardan, para que cargar los datos no
+    //cueste O(numTablas²); las capacidades de transmisión se guardan como double.
+    private final Tabla[] tablas;
+    private final int numTotalColumnas;
+    private final int tamPromColumna;
+    private final int[][] columnasPresentes; //Índices de las columnas con cardinalidad distinta de 0, por tabla
+    private final int[][] cardPresentes; //Cardinalidades de esas columnas (mismo orden)
+    private final long[][] bitsColumnas; //Mapa de bits de las columnas presentes, por tabla
+    //joinsBase[t1][t2-t1-1] (t1<t2, índices desde 0): join entre las tablas base t1 y t2. Las filas y los joins se crean
+    //al usarlos por primera vez, sin sincronización: si dos hilos los calculan a la vez ambos obtienen el mismo resultado
+    //y solo se pierde uno de los cálculos (los campos de JoinBase son final, así que se publica completo)
+    private final JoinBase[][] joinsBase;
+    private final double[][] capTrans; //Capacidades de transmisión entre sitios (índices desde 0)
+    private final double overheadTrans; //Overhead de transmisión en segundos
+
+    public ModeloCompilado(Tabla[] tablas, int numTotalColumnas, int[][] capTransSitios, int overheadTrans,
+                           int tamPromColumna) {
+        this.tablas = tablas;
+        this.numTotalColumnas = numTotalColumnas;
+        this.tamPromColumna = tamPromColumna;
+        int numTablas = tablas.length;
+        this.columnasPresentes = new int[numTablas][];
+        this.cardPresentes = new int[numTablas][];
+        this.bitsColumnas = new long[numTablas][];
+        for(int t=0; t<numTablas; t++){
+            int[] cardColumnas = tablas[t].getCardColumnas();
+            int cantidad = 0;
+            for(int card: cardColumnas) if(card!=0) cantidad++;
+            int[] columnas = new int[cantidad];
+            int[] cards = new int[cantidad];
+            long[] bits = new long[numPalabras(numTotalColumnas)];
+            int k = 0;
+            for(int j=0; j<numTotalColumnas; j++){
+                if(cardColumnas[j]!=0){
+                    columnas[k] = j;
+                    cards[k] = cardColumnas[j];
+                    bits[j>>>6]|= 1L<<j;
+                    k++;
+                }
+            }
+            this.columnasPresentes[t] = columnas;
+            this.cardPresentes[t] = cards;
+            this.bitsColumnas[t] = bits;
+        }
+        this.capTrans = new double[capTransSitios.length][];
+        for(int i=0; i<capTransSitios.length; i++){
+            this.capTrans[i] = new double[capTransSitios[i].length];
+            for(int j=0; j<capTransSitios[i].length; j++) this.capTrans[i][j] = capTransSitios[i][j];
+        }
+        this.overheadTrans = overheadTrans/1000d;
+        this.joinsBase = new JoinBase[numTablas][];
+    }
+
+    static int numPalabras(int numColumnas){
+        return (numColumnas+63)>>>6;
+    }
+
+    void cargarTabla(EstadoJoin estado, int tabla){
+        //Deja en el estado la tabla base indicada (índice desde 0)
+        estado.limpiar();
+        int[] columnas = columnasPresentes[tabla];
+        int[] cards = cardPresentes[tabla];
+        for(int k=0; k<columnas.length; k++) estado.agregar(columnas[k], cards[k]);
+        estado.numFilas = tablas[tabla].getNumFilas();
+        estado.numBytes = tablas[tabla].getNumBytes();
+    }
+
+    double cargarJoinBase(EstadoJoin estado, int tabla1, int tabla2){
+        //Deja en el estado el join precalculado de dos tablas base y retorna su costo de procesamiento
+        JoinBase join = joinBase(tabla1, tabla2);
+        estado.limpiar();
+        for(int k=0; k<join.columnas.length; k++) estado.agregar(join.columnas[k], join.cardinalidades[k]);
+        estado.numFilas = join.numFilas;
+        estado.numBytes = join.numBytes;
+        return join.costoJoin;
+    }
+
+    double unir(EstadoJoin estado, int tabla2){
+        //Reemplaza el estado (tabla 1) por su join con la tabla base tabla2 y retorna el costo de procesamiento del join.
+        //Sigue las mismas operaciones que Cromosoma.calcularJoin, pero solo recorre las columnas de la tabla 2 y las del
+        //join: las columnas que no están en ninguna de las dos tienen cardinalidad 0 y no afectan el resultado. Los
+        //productos son enteros, así que el orden en que se recorren las columnas no cambia el resultado
+        Tabla tablaBase = tablas[tabla2];
+        int filasT1 = estado.numFilas;
+        int filasT2 = tablaBase.getNumFilas();
+        double costoJoin = (double) filasT1*filasT2;
+        int[] cardJoin = estado.cardinalidades;
+        int[] columnas = columnasPresentes[tabla2];
+        int[] cards = cardPresentes[tabla2];
+        long productoCard = 1;
+        long prodCardColsT1 = 1;
+        long prodCardColsT2 = 1;
+        for(int k=0; k<columnas.length; k++){
+            int columna = columnas[k];
+            int card2 = cards[k];
+            if(estado.contiene(columna)){
+                int card1 = cardJoin[columna];
+                if(card1!=0 && card2!=0){
+                    productoCard*= Math.max(card1, card2);
+                    prodCardColsT1*= card1;
+                    prodCardColsT2*= card2;
+                    cardJoin[columna] = Math.min(card1, card2);
+                }
+                else cardJoin[columna] = Math.max(card1, card2);
+            }
+            else estado.agregar(columna, card2);
+        }
+        costoJoin/= productoCard;
+        int cardTuplaT1 = (int) Math.min(prodCardColsT1, filasT1);
+        int cardTuplaT2 = (int) Math.min(prodCardColsT2, filasT2);
+        int numFilas = EvaluadorCostos.filasJoin(filasT1, filasT2, cardTuplaT1, cardTuplaT2);
+        int[] columnasJoin = estado.columnas;
+        for(int k=0; k<estado.numColumnas; k++){
+            int columna = columnasJoin[k];
+            if(cardJoin[columna]>numFilas) cardJoin[columna] = numFilas;
+        }
+        estado.numFilas = numFilas;
+        estado.numBytes = EvaluadorCostos.bytesJoin(numFilas, estado.numColumnas, tamPromColumna);
+        return costoJoin;
+    }
+
+    public double costoTransmision(int numBytes, int idSit1, int idSit2){
+        //Overhead + tiempo de transmisión de numBytes entre los sitios (ids desde 1), igual que Cromosoma
+        return overheadTrans + numBytes*1.0d/capTrans[idSit1-1][idSit2-1];
+    }
+
+    public int getNumTotalColumnas() {
+        return numTotalColumnas;
+    }
+
+    public int[] getColumnasPresentes(int tabla) {
+        return columnasPresentes[tabla];
+    }
+
+    public int[] getCardPresentes(int tabla) {
+        return cardPresentes[tabla];
+    }
+
+    public long[] getBitsColumnas(int tabla) {
+        return bitsColumnas[tabla];
+    }
+
+    public boolean compartenColumnas(int tabla1, int tabla2){
+        long[] bits1 = bitsColumnas[tabla1];
+        long[] bits2 = bitsColumnas[tabla2];
+        for(int i=0; i<bits1.length; i++){
+            if((bits1[i]&bits2[i])!=0) return true;
+        }
+        return false;
+    }
+
+    public double getCostoJoinBase(int tabla1, int tabla2){
+        return joinBase(tabla1, tabla2).costoJoin;
+    }
+
+    public int getFilasJoinBase(int tabla1, int tabla2){
+        return joinBase(tabla1, tabla2).numFilas;
+    }
+
+    private JoinBase joinBase(int tabla1, int tabla2){
+        //El join de dos tablas base no depende del orden en que se unen, así que se guarda una vez por par. Un join que no
+        //se puede evaluar no se guarda: se vuelve a calcular (y a lanzar su error) cada vez que se usa
+        int menor = Math.min(tabla1, tabla2);
+        int mayor = Math.max(tabla1, tabla2);
+        JoinBase[] fila = joinsBase[menor];
+        if(fila==null){
+            fila = new JoinBase[joinsBase.length-menor-1];
+            joinsBase[menor] = fila;
+        }
+        JoinBase join = fila[mayor-menor-1];
+        if(join==null){
+            EstadoJoin estado = new EstadoJoin(numTotalColumnas);
+            cargarTabla(estado, menor);
+            double costoJoin = unir(estado, mayor);
+            join = new JoinBase(costoJoin, estado);
+            fila[mayor-menor-1] = join;
+        }
+        return join;
+    }
+
+    int getJoinsBaseCalculados(){
+        //Cantidad de joins entre tablas base ya calculados (para pruebas)
+        int cantidad = 0;
+        for(JoinBase[] fila: joinsBase){
+            if(fila==null) continue;
+            for(JoinBase join: fila) if(join!=null) cantidad++;
+        }
+        return cantidad;
+    }
+
+    private static final class JoinBase {
+        private final double costoJoin;
+        private final int numFilas;
+        private final int numBytes;
+        private final int[] columnas;
+        private final int[] cardinalidades;
+
+        private JoinBase(double costoJoin, EstadoJoin estado) {
+            this.costoJoin = costoJoin;
+            this.numFilas = estado.numFilas;
+            this.numBytes = estado.numBytes;
+            this.columnas = new int[estado.numColumnas];
+            this.cardinalidades = new int[estado.numColumnas];
+            for(int k=0; k<estado.numColumnas; k++){
+                this.columnas[k] = estado.columnas[k];
+                this.cardinalidades[k] = estado.cardinalidades[estado.columnas[k]];
+            }
+        }
+    }
+
+    static final class EstadoJoin {
+        //Tabla 1 del join actual: cardinalidades indexadas por columna (solo son válidas las de las columnas presentes),
+        //lista de columnas presentes y su mapa de bits. Se reutiliza entre evaluaciones, por lo que no crea objetos
+        private final int[] cardinalidades;
+        private final int[] columnas;
+        private final long[] bits;
+        private int numColumnas;
+        private int numFilas;
+        private int numBytes;
+
+        EstadoJoin(int numTotalColumnas) {
+            this.cardinalidades = new int[numTotalColumnas];
+            this.columnas = new int[numTotalColumnas];
+            this.bits = new long[numPalabras(numTotalColumnas)];
+        }
+
+        private boolean contiene(int columna){
+            return (bits[columna>>>6] & (1L<<columna))!=0;
+        }
+
+        private void agregar(int columna, int card){
+            cardinalidades[columna] = card;
+            columnas[numColumnas++] = columna;
+            bits[columna>>>6]|= 1L<<columna;
+        }
+
+        private void limpiar(){
+            //Solo se borran los bits de las columnas presentes
+            for(int k=0; k<numColumnas; k++) bits[columnas[k]>>>6] = 0;
+            numColumnas = 0;
+        }
+
+        int getNumFilas() {
+            return numFilas;
+        }
+
+        int getNumBytes() {
+            return numBytes;
+        }
+    }
+}
@@ -11,6 +11,9 @@ public class Tabla {
 
     //Esto indica si un objeto Tabla en realidad representa el resultado de un join.
     private boolean isJoin;
+    //Las tablas de solo lectura (las que guarda DatosEntrada) rechazan los setters, ya que el modelo compilado y los
+    //evaluadores se arman a partir de sus valores
+    private final boolean soloLectura;
 
     public Tabla(int id, int numFilas, int numColumnas, int numBytes, int[] cardColumnas) {
         //Se usa para crear un objeto que represente una tabla normal
@@ -20,6 +23,7 @@ public class Tabla {
         this.numBytes = numBytes;
         this.cardColumnas = cardColumnas;
         this.isJoin = false;
+        this.soloLectura = false;
     }
 
     public Tabla(int id, int numFilas, int numColumnas, int numBytes, boolean isJoin, int[] cardColumnas) {
@@ -30,6 +34,31 @@ public class Tabla {
         this.numBytes = numBytes;
         this.isJoin = isJoin;
         this.cardColumnas = cardColumnas;
+        this.soloLectura = false;
+    }
+
+    private Tabla(Tabla tabla) {
+        //Copia de solo lectura de una tabla
+        this.id = tabla.id;
+        this.numFilas = tabla.numFilas;
+        this.numColumnas = tabla.numColumnas;
+        this.numBytes = tabla.numBytes;
+        this.isJoin = tabla.isJoin;
+        this.cardColumnas = tabla.cardColumnas.clone();
+        this.soloLectura = true;
+    }
+
+    public static Tabla copiaSoloLectura(Tabla tabla) {
+        //Devuelve una copia de la tabla cuyos setters lanzan UnsupportedOperationException
+        return new Tabla(tabla);
+    }
+
+    public boolean isSoloLectura() {
+        return soloLectura;
+    }
+
+    private void verificarEscritura() {
+        if(soloLectura) throw new UnsupportedOperationException("La tabla " + id + " es de solo lectura");
     }
 
     public int getId() {
@@ -37,6 +66,7 @@ public class Tabla {
     }
 
     public void setId(int id) {
+        verificarEscritura();
         this.id = id;
     }
 
@@ -45,6 +75,7 @@ public class Tabla {
     }
 
     public void setNumFilas(int numFilas) {
+        verificarEscritura();
         this.numFilas = numFilas;
     }
 
@@ -53,6 +84,7 @@ public class Tabla {
     }
 
     public void setNumColumnas(int numColumnas) {
+        verificarEscritura();
         this.numColumnas = numColumnas;
     }
 
@@ -61,6 +93,7 @@ public class Tabla {
     }
 
     public void setNumBytes(int numBytes) {
+        verificarEscritura();
         this.numBytes = numBytes;
     }
 
@@ -69,14 +102,17 @@ public class Tabla {
     }
 
     public void setIsJoin(boolean isJoin) {
+        verificarEscritura();
         this.isJoin = isJoin;
     }
 
     public int[] getCardColumnas() {
+        //Arreglo interno (de solo lectura si la tabla lo es), para no copiarlo en cada evaluación
         return cardColumnas;
     }
 
     public void setCardColumnas(int[] cardColumnas) {
+        verificarEscritura();
         this.cardColumnas = cardColumnas;
     }
 }
@@ -0,0 +1,35 @@
+package estructuras_problema;
+
+import java.util.SplittableRandom;
+
+public class TablaZobrist {
+    //Valores aleatorios de Zobrist para cada combinación (posición, tabla, sitio). El hash de un cromosoma es el XOR de
+    //los valores de sus genes en sus posiciones, por lo que al cambiar un segmento basta con quitar (XOR) los valores de
+    //los genes anteriores y agregar los de los nuevos, sin recorrer todo el cromosoma.
+    private final long[][] valores; //valores[posición][(idTabla-1)*numSitios + idSitio-1]
+    private final int numSitios;
+
+    public TablaZobrist(int numTablas, int numSitios, long semilla) {
+        this.numSitios = numSitios;
+        this.valores = new long[numTablas][numTablas*numSitios];
+        SplittableRandom random = new SplittableRandom(semilla);
+        for(long[] fila: valores){
+            for(int i=0; i<fila.length; i++) fila[i] = random.nextLong();
+        }
+    }
+
+    public long valor(int posicion, int gen){
+        return valores[posicion][CodificacionGen.indiceTabla(gen)*numSitios + CodificacionGen.indiceSitio(gen)];
+    }
+
+    public long calcular(int[] genes){
+        long hash = 0;
+        for(int i=0; i<genes.length; i++) hash^= valor(i, genes[i]);
+        return hash;
+    }
+
+    public long actualizar(long hash, int posicion, int genAnterior, int genNuevo){
+        //Hash resultante de reemplazar genAnterior por genNuevo en la posición indicada
+        return hash ^ valor(posicion, genAnterior) ^ valor(posicion, genNuevo);
+    }
+}
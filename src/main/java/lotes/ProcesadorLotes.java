@@ -0,0 +1,176 @@
+package lotes;
+
+import algoritmo.AlgoritmoGenetico;
+import datos_param.DatosEntrada;
+import estructuras_problema.CachePlanes;
+import estructuras_problema.Cromosoma;
+import estructuras_problema.ErrorEvaluacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+public class ProcesadorLotes {
+    //Optimización de varios archivos de datos (consultas) en una sola JVM, para no pagar el arranque y el calentamiento
+    //del JIT por cada consulta. Los archivos se leen en paralelo y luego cada consulta se optimiza con su propio
+    //AlgoritmoGenetico (un hilo por consulta) en un ForkJoinPool de numHilos hilos. Las consultas se envían de mayor a
+    //menor numTablas para que las más costosas empiecen primero y las pequeñas llenen los huecos al final (los hilos
+    //libres toman tareas de la cola de los demás). Un archivo que no se puede leer o cuyos datos no se pueden evaluar
+    //(ErrorEvaluacion) genera un resultado con error en lugar de terminar el programa
+    private final int numHilos;
+    private CachePlanes cachePlanes; //Caché de planes compartida por todas las consultas (null: sin caché)
+    private ResultadoConsulta[] resultados;
+    private double tiempoEjecucion; //Tiempo total del lote (lectura y optimización) en milisegundos
+
+    public ProcesadorLotes(int numHilos) {
+        if(numHilos<1){
+            System.err.println("ERROR: Cantidad de hilos inválida para el modo por lotes: " + numHilos);
+            System.exit(3);
+        }
+        this.numHilos = numHilos;
+    }
+
+    public static List<Path> listarArchivos(Path entrada) throws IOException {
+        //La entrada puede ser un directorio (se toman sus archivos .csv y .bin en orden alfabético) o un manifiesto con la ruta
+        //de un archivo por línea (relativa al directorio del manifiesto). En el manifiesto se ignoran las líneas vacías
+        //y las que empiezan con #
+        List<Path> archivos = new ArrayList<>();
+        if(Files.isDirectory(entrada)){
+            try(DirectoryStream<Path> directorio = Files.newDirectoryStream(entrada, "*.{csv,bin}")){
+                for(Path archivo: directorio) archivos.add(archivo);
+            }
+            archivos.sort(Comparator.comparing(Path::toString));
+        }
+        else{
+            Path base = entrada.toAbsolutePath().getParent();
+            try(BufferedReader manifiesto = Files.newBufferedReader(entrada)){
+                String linea;
+                while((linea = manifiesto.readLine())!=null){
+                    linea = linea.trim();
+                    if(linea.isEmpty() || linea.startsWith("#")) continue;
+                    archivos.add(base.resolve(linea));
+                }
+            }
+        }
+        return archivos;
+    }
+
+    public ResultadoConsulta[] ejecutar(List<Path> archivos, int verbosityLevel){
+        //Verbosity level:
+        //<0: Sin mensajes impresos
+        //0: Solo el resumen del lote
+        //1+: Además, un mensaje por consulta terminada
+        long tiempoIni = System.nanoTime();
+        int numConsultas = archivos.size();
+        this.resultados = new ResultadoConsulta[numConsultas];
+        DatosEntrada[] datos = new DatosEntrada[numConsultas];
+        ForkJoinPool pool = new ForkJoinPool(numHilos);
+        try{
+            //Lectura en paralelo de todos los archivos
+            List<ForkJoinTask<?>> lecturas = new ArrayList<>(numConsultas);
+            for(int i=0; i<numConsultas; i++){
+                int indice = i;
+                lecturas.add(pool.submit(() -> {
+                    String archivo = archivos.get(indice).toString();
+                    try{
+                        datos[indice] = DatosEntrada.leer(archivo);
+                    }catch (NumberFormatException | IOException ex){
+                        resultados[indice] = new ResultadoConsulta(archivo, ex.toString());
+                    }
+                }));
+            }
+            for(ForkJoinTask<?> lectura: lecturas) lectura.join();
+            //Optimización, empezando por las consultas con más tablas
+            Integer[] orden = new Integer[numConsultas];
+            for(int i=0; i<numConsultas; i++) orden[i] = i;
+            Arrays.sort(orden, Comparator.comparingInt((Integer i) -> datos[i]==null ? 0 : datos[i].getNumTablas()).reversed());
+            List<ForkJoinTask<?>> optimizaciones = new ArrayList<>(numConsultas);
+            for(int indice: orden){
+                if(datos[indice]==null) continue;
+                optimizaciones.add(pool.submit(() -> {
+                    resultados[indice] = optimizar(archivos.get(indice).toString(), datos[indice], cachePlanes);
+                    if(verbosityLevel>=1 && resultados[indice].isExitoso())
+                        System.out.println("Consulta terminada: " + resultados[indice].getArchivo() + " | Fitness: " +
+                                resultados[indice].getMejorSolucion().getFitness() + " | Tiempo: " +
+                                resultados[indice].getTiempoEjecucion() + "ms");
+                }));
+            }
+            for(ForkJoinTask<?> optimizacion: optimizaciones) optimizacion.join();
+        }finally {
+            pool.shutdown();
+        }
+        this.tiempoEjecucion = (System.nanoTime()-tiempoIni)/(1000d*1000d);
+        if(verbosityLevel>=0){
+            int exitosas = 0;
+            for(ResultadoConsulta resultado: resultados) if(resultado.isExitoso()) exitosas++;
+            System.out.println("Lote concluido: " + exitosas + " de " + numConsultas + " consultas optimizadas con " +
+                    numHilos + " hilos");
+            System.out.println("Tiempo de ejecución: " + tiempoEjecucion + "ms");
+            System.out.println("Throughput: " + getConsultasPorSegundo() + " consultas/s");
+        }
+        return resultados;
+    }
+
+    public static ResultadoConsulta optimizar(String archivo, DatosEntrada datos, CachePlanes cachePlanes){
+        //Cada consulta usa la primera configuración de parámetros de su archivo, sin mensajes de progreso. Una
+        //configuración con la que no se puede ejecutar el algoritmo o un error en la evaluación de un plan generan un
+        //resultado con error
+        if(!AlgoritmoGenetico.esConfiguracionValida(datos.getParamAlg()[0]))
+            return new ResultadoConsulta(archivo, "ERROR: Configuración de parámetros inválida para el algoritmo");
+        try{
+            AlgoritmoGenetico algoritmo = new AlgoritmoGenetico(datos);
+            algoritmo.setCachePlanes(cachePlanes);
+            Cromosoma mejor = algoritmo.ejecutar(-1);
+            //Se calculan los joins del plan para poder escribir sus costos
+            mejor.getCostProc();
+            return new ResultadoConsulta(archivo, datos.getNumTablas(), mejor, algoritmo.getIteracionesEjecutadas(),
+                    algoritmo.getTiempoEjecucion());
+        }catch (ErrorEvaluacion ex){
+            return new ResultadoConsulta(archivo, ex.toString());
+        }
+    }
+
+    public void escribirResultados(PrintStream salida){
+        //Un registro por consulta, en el orden de la lista de archivos
+        salida.println(ResultadoConsulta.cabecera());
+        for(ResultadoConsulta resultado: resultados) salida.println(resultado.aRegistro());
+        salida.flush();
+    }
+
+    public double getConsultasPorSegundo(){
+        //Consultas optimizadas (sin errores de lectura) por segundo de tiempo total del lote
+        if(resultados==null || tiempoEjecucion<=0) return 0;
+        int exitosas = 0;
+        for(ResultadoConsulta resultado: resultados) if(resultado.isExitoso()) exitosas++;
+        return exitosas/(tiempoEjecucion/1000d);
+    }
+
+    public CachePlanes getCachePlanes() {
+        return cachePlanes;
+    }
+
+    public void setCachePlanes(CachePlanes cachePlanes) {
+        this.cachePlanes = cachePlanes;
+    }
+
+    public int getNumHilos() {
+        return numHilos;
+    }
+
+    public ResultadoConsulta[] getResultados() {
+        return resultados;
+    }
+
+    public double getTiempoEjecucion() {
+        return tiempoEjecucion;
+    }
+}
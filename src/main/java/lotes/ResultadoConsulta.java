@@ -0,0 +1,84 @@
+package lotes;
+
+import estructuras_problema.CodificacionGen;
+import estructuras_problema.Cromosoma;
+
+public class ResultadoConsulta {
+    //Resultado de la optimización de un archivo de datos (consulta) del lote. Si el archivo no se pudo leer, solo se
+    //guarda el mensaje de error
+    private final String archivo;
+    private final int numTablas;
+    private final Cromosoma mejorSolucion;
+    private final int iteraciones;
+    private final double tiempoEjecucion; //Tiempo de la optimización en milisegundos (sin contar la lectura)
+    private final String error;
+
+    public ResultadoConsulta(String archivo, int numTablas, Cromosoma mejorSolucion, int iteraciones,
+                             double tiempoEjecucion) {
+        this.archivo = archivo;
+        this.numTablas = numTablas;
+        this.mejorSolucion = mejorSolucion;
+        this.iteraciones = iteraciones;
+        this.tiempoEjecucion = tiempoEjecucion;
+        this.error = null;
+    }
+
+    public ResultadoConsulta(String archivo, String error) {
+        this.archivo = archivo;
+        this.numTablas = 0;
+        this.mejorSolucion = null;
+        this.iteraciones = 0;
+        this.tiempoEjecucion = 0;
+        this.error = error;
+    }
+
+    public static String cabecera(){
+        return "archivo;numTablas;fitness;costoProc;costoCom;iteraciones;tiempoMs;plan";
+    }
+
+    public String aRegistro(){
+        //Una línea por consulta con el mismo separador que el archivo de datos. El plan se escribe con el formato de
+        //Cromosoma.toString (T<tabla>(S<sitio>) separados por =>)
+        if(error!=null) return archivo + ";ERROR;;;;;;" + error.replace(';', ',');
+        StringBuilder registro = new StringBuilder(archivo);
+        double costoProc = 0;
+        for(double costo: mejorSolucion.getCostProc()) costoProc+= costo;
+        registro.append(';').append(numTablas).append(';').append(mejorSolucion.getFitness()).append(';')
+                .append(costoProc).append(';').append(mejorSolucion.getCostCom()).append(';').append(iteraciones)
+                .append(';').append(tiempoEjecucion).append(';');
+        int[] genes = mejorSolucion.getCromosoma();
+        for(int i=0; i<genes.length; i++){
+            registro.append(CodificacionGen.toString(genes[i]));
+            if(i!=genes.length-1) registro.append("=>");
+        }
+        return registro.toString();
+    }
+
+    public boolean isExitoso(){
+        return error==null;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    public int getNumTablas() {
+        return numTablas;
+    }
+
+    public Cromosoma getMejorSolucion() {
+        return mejorSolucion;
+    }
+
+    public int getIteraciones() {
+        return iteraciones;
+    }
+
+    public double getTiempoEjecucion() {
+        return tiempoEjecucion;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,212 @@
+package servicio;
+
+import datos_param.DatosEntrada;
+import estructuras_problema.CachePlanes;
+import lotes.ProcesadorLotes;
+import lotes.ResultadoConsulta;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ServidorOptimizacion {
+    //Servidor de optimización que se mantiene en ejecución (JVM caliente) y atiende solicitudes por socket. Cada solicitud
+    //es el contenido de un archivo de datos (mismo formato CSV) terminado con una línea FIN o con el cierre de la
+    //conexión; la respuesta es una línea con el registro de ResultadoConsulta (fitness, costos, iteraciones, tiempo y
+    //plan, o ERROR y el mensaje). Una conexión puede enviar varias solicitudes seguidas. Las conexiones se atienden en
+    //hilos virtuales si la JVM los ofrece (en otro caso, en un pool de hilos sin límite, ya que solo esperan E/S) y la
+    //lectura de los datos y la optimización se ejecutan en un ForkJoinPool de numHilos hilos, que limita el uso de CPU.
+    //Las dimensiones de la solicitud se validan contra su tamaño antes de reservar memoria. El servidor solo escucha
+    //en la interfaz local; una solicitud más grande que maxCaracteresSolicitud recibe un error y se cierra la conexión,
+    //igual que una conexión que pasa TIEMPO_ESPERA_LECTURA sin enviar datos
+    public static final String FIN_SOLICITUD = "FIN";
+    public static final int MAX_CARACTERES_SOLICITUD = 16*1024*1024; //Valor por defecto de maxCaracteresSolicitud
+    public static final int TIEMPO_ESPERA_LECTURA = 60*1000; //En milisegundos
+    private static final int MAX_CONEXIONES_PENDIENTES = 50;
+    private final ServerSocket servidor;
+    private final int numHilos;
+    private final AtomicLong solicitudesAtendidas = new AtomicLong();
+    private volatile boolean detenido;
+    private volatile int maxCaracteresSolicitud = MAX_CARACTERES_SOLICITUD;
+    private volatile CachePlanes cachePlanes; //Caché de planes compartida por todas las solicitudes (null: sin caché)
+
+    public ServidorOptimizacion(int puerto, int numHilos) throws IOException {
+        if(numHilos<1){
+            System.err.println("ERROR: Cantidad de hilos inválida para el servidor de optimización: " + numHilos);
+            System.exit(3);
+        }
+        this.servidor = new ServerSocket(puerto, MAX_CONEXIONES_PENDIENTES, InetAddress.getLoopbackAddress());
+        this.numHilos = numHilos;
+    }
+
+    static ExecutorService crearEjecutorConexiones(){
+        //Executors.newVirtualThreadPerTaskExecutor existe desde Java 21 (el proyecto compila para Java 16), por lo
+        //que se obtiene por reflexión
+        try{
+            Method metodo = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) metodo.invoke(null);
+        }catch (ReflectiveOperationException | UnsupportedOperationException ex){
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public void ejecutar(int verbosityLevel) throws IOException {
+        //Atiende conexiones hasta que se llame a detener()
+        //Verbosity level:
+        //<0: Sin mensajes impresos
+        //0: Solo el inicio y el fin del servidor
+        //1+: Además, un mensaje por solicitud atendida
+        ExecutorService ejecutorConexiones = crearEjecutorConexiones();
+        ForkJoinPool poolOptimizacion = new ForkJoinPool(numHilos);
+        if(verbosityLevel>=0)
+            System.out.println("Servidor de optimización escuchando en el puerto " + getPuerto() + " (" + numHilos + " hilos)");
+        try{
+            while(!detenido){
+                Socket conexion;
+                try{
+                    conexion = servidor.accept();
+                }catch (SocketException ex){
+                    //El socket se cierra al detener el servidor
+                    if(detenido) break;
+                    throw ex;
+                }
+                ejecutorConexiones.execute(() -> atender(conexion, poolOptimizacion, verbosityLevel));
+            }
+        }finally {
+            servidor.close();
+            ejecutorConexiones.shutdown();
+            poolOptimizacion.shutdown();
+        }
+        if(verbosityLevel>=0)
+            System.out.println("Servidor de optimización detenido. Solicitudes atendidas: " + solicitudesAtendidas.get());
+    }
+
+    private void atender(Socket conexion, ForkJoinPool poolOptimizacion, int verbosityLevel){
+        try(conexion;
+            BufferedReader entrada = new BufferedReader(new InputStreamReader(conexion.getInputStream(), StandardCharsets.UTF_8));
+            BufferedWriter salida = new BufferedWriter(new OutputStreamWriter(conexion.getOutputStream(), StandardCharsets.UTF_8))){
+            conexion.setSoTimeout(TIEMPO_ESPERA_LECTURA);
+            while(true){
+                //Se acumulan las líneas de la solicitud hasta FIN o el cierre de la conexión
+                StringBuilder solicitud = new StringBuilder();
+                String linea;
+                boolean vacia = true;
+                boolean excedida = false;
+                try{
+                    while((linea = leerLinea(entrada, maxCaracteresSolicitud-solicitud.length()))!=null &&
+                            !linea.equals(FIN_SOLICITUD)){
+                        solicitud.append(linea).append('\n');
+                        vacia = false;
+                    }
+                }catch (SolicitudExcedida ex){
+                    //El resto de la solicitud no se lee, así que no se puede seguir usando la conexión
+                    linea = null;
+                    excedida = true;
+                }
+                if(vacia && linea==null && !excedida) break;
+                String id = "solicitud-" + solicitudesAtendidas.incrementAndGet();
+                ResultadoConsulta resultado = excedida ?
+                        new ResultadoConsulta(id, "ERROR: La solicitud excede el tamaño máximo de " +
+                                maxCaracteresSolicitud + " caracteres") :
+                        resolver(id, solicitud.toString(), poolOptimizacion);
+                salida.write(resultado.aRegistro());
+                salida.newLine();
+                salida.flush();
+                if(verbosityLevel>=1)
+                    System.out.println("Solicitud atendida: " + id + " desde " + conexion.getRemoteSocketAddress() +
+                            (resultado.isExitoso() ? " | Fitness: " + resultado.getMejorSolucion().getFitness() +
+                                    " | Tiempo: " + resultado.getTiempoEjecucion() + "ms" : " | " + resultado.getError()));
+                if(linea==null) break;
+            }
+        }catch (IOException ex){
+            if(verbosityLevel>=0)
+                System.err.println("ERROR: Falló la comunicación con un cliente del servidor de optimización: " + ex.getMessage());
+        }
+    }
+
+    private static final class SolicitudExcedida extends IOException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static String leerLinea(BufferedReader entrada, int maxCaracteres) throws IOException {
+        //Como BufferedReader.readLine (null al cerrarse la conexión, sin el fin de línea \n o \r\n), pero sin guardar más
+        //de maxCaracteres caracteres, para que un cliente no pueda ocupar memoria sin límite
+        StringBuilder linea = new StringBuilder();
+        while(true){
+            int caracter = entrada.read();
+            if(caracter==-1) return linea.length()==0 ? null : linea.toString();
+            if(caracter=='\n'){
+                if(linea.length()>0 && linea.charAt(linea.length()-1)=='\r') linea.setLength(linea.length()-1);
+                return linea.toString();
+            }
+            if(linea.length()>=maxCaracteres) throw new SolicitudExcedida();
+            linea.append((char) caracter);
+        }
+    }
+
+    private ResultadoConsulta resolver(String id, String solicitud, ForkJoinPool poolOptimizacion){
+        try{
+            return poolOptimizacion.submit(() -> {
+                DatosEntrada datos;
+                try{
+                    datos = DatosEntrada.leer(new BufferedReader(new StringReader(solicitud)), solicitud.length());
+                }catch (NumberFormatException | IOException ex){
+                    return new ResultadoConsulta(id, ex.toString());
+                }
+                return ProcesadorLotes.optimizar(id, datos, cachePlanes);
+            }).get();
+        }catch (ExecutionException ex){
+            return new ResultadoConsulta(id, ex.getCause().toString());
+        }catch (InterruptedException ex){
+            Thread.currentThread().interrupt();
+            return new ResultadoConsulta(id, ex.toString());
+        }
+    }
+
+    public void detener() throws IOException {
+        this.detenido = true;
+        servidor.close();
+    }
+
+    public int getMaxCaracteresSolicitud() {
+        return maxCaracteresSolicitud;
+    }
+
+    public void setMaxCaracteresSolicitud(int maxCaracteresSolicitud) {
+        this.maxCaracteresSolicitud = maxCaracteresSolicitud;
+    }
+
+    public CachePlanes getCachePlanes() {
+        return cachePlanes;
+    }
+
+    public void setCachePlanes(CachePlanes cachePlanes) {
+        this.cachePlanes = cachePlanes;
+    }
+
+    public int getPuerto() {
+        return servidor.getLocalPort();
+    }
+
+    public int getNumHilos() {
+        return numHilos;
+    }
+
+    public long getSolicitudesAtendidas() {
+        return solicitudesAtendidas.get();
+    }
+}
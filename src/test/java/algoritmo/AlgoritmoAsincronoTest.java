@@ -0,0 +1,41 @@
+package algoritmo;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.Cromosoma;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlgoritmoAsincronoTest {
+
+    private static DatosEntrada datos;
+
+    @BeforeAll
+    static void obtenerDatos(){
+        datos = DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void liberarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    @Test
+    @DisplayName("Comprueba que el algoritmo asíncrono mantenga una población completa y conserve la mejor solución")
+    void ejecutar(){
+        ParametrosAlgoritmo param = new ParametrosAlgoritmo(300, 50, 0.5f, 0.7f, 0f, 0.9f, 1, 0.3f);
+        AlgoritmoAsincrono algAsinc = new AlgoritmoAsincrono(param, 4);
+        Cromosoma mejor = algAsinc.ejecutar(-1);
+        assertNotNull(mejor);
+        assertEquals(mejor.getFitness(), algAsinc.getFitnessMejorSolucion());
+        assertTrue(algAsinc.getEvaluaciones()>0);
+        double fitnessSumada = 0;
+        for(Cromosoma cromosoma: algAsinc.getPoblacion()){
+            assertNotNull(cromosoma);
+            assertTrue(cromosoma.getFitness()<=algAsinc.getFitnessMejorSolucion());
+            fitnessSumada+= cromosoma.getFitness();
+        }
+        assertEquals(fitnessSumada, algAsinc.getFitnessSumadaPoblacion(), 1e-6);
+    }
+}
@@ -0,0 +1,54 @@
+package algoritmo;
+
+import datos_param.DatosEntrada;
+import estructuras_problema.CodificacionGen;
+import estructuras_problema.Cromosoma;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlgoritmoGeneticoPlanoTest {
+
+    private static DatosEntrada datos;
+
+    @BeforeAll
+    static void obtenerDatos(){
+        datos = DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void liberarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    @Test
+    @DisplayName("Comprueba que la población plana se mantenga válida y coherente con sus vistas Cromosoma")
+    void ejecutar(){
+        AlgoritmoGeneticoPlano algPlano = new AlgoritmoGeneticoPlano();
+        Cromosoma mejor = algPlano.ejecutar(-1);
+        assertTrue(algPlano.getIteracionesEjecutadas()>0);
+        assertEquals(algPlano.getFitnessMejorSolucion(), mejor.getFitness());
+        int numTablas = datos.getNumTablas();
+        double suma = 0;
+        for(int i=0; i<algPlano.getTamPob(); i++){
+            Cromosoma vista = algPlano.getCromosoma(i);
+            assertEquals(algPlano.getFitness()[i], vista.getFitness());
+            assertTrue(algPlano.getFitness()[i]<=algPlano.getFitnessMejorSolucion());
+            suma+= algPlano.getFitness()[i];
+            //Cada cromosoma contiene todas las tablas una vez y su arreglo de índices es coherente
+            int[] genes = vista.getCromosoma();
+            int[] tablas = Arrays.stream(genes).map(CodificacionGen::idTabla).sorted().toArray();
+            for(int j=0; j<numTablas; j++){
+                assertEquals(j+1, tablas[j]);
+                assertEquals(CodificacionGen.idTabla(genes[vista.getIndicesTab()[j]]), j+1);
+                assertTrue(datos.getDistTabSit()[CodificacionGen.indiceTabla(genes[j])][CodificacionGen.indiceSitio(genes[j])]);
+            }
+        }
+        assertEquals(suma, algPlano.getFitnessSumadaPoblacion(), 1e-9*suma);
+    }
+}
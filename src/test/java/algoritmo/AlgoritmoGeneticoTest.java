@@ -1,11 +1,19 @@
 package algoritmo;
 
 import datos_param.DatosEntrada;
+import estructuras_problema.CodificacionGen;
 import estructuras_problema.Cromosoma;
+import estructuras_problema.TablaZobrist;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -108,6 +116,165 @@ class AlgoritmoGeneticoTest {
         comprobarValidezArrCromosomas(algEval.getPoblacion());
     }
 
+    @Test
+    @Order(value = 7)
+    @DisplayName("Comprueba que la generación de hijos en paralelo produce hijos válidos y evaluados")
+    void generarHijosParalelo() {
+        AlgoritmoGenetico algEval = new AlgoritmoGenetico();
+        algEval.inicializarPoblacion();
+        SplittableRandom genRandom = new SplittableRandom();
+        Cromosoma[] padres = algEval.seleccionXTorneo(genRandom);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Cromosoma[] hijos = algEval.generarHijosParalelo(padres, pool, genRandom);
+        pool.shutdown();
+        assertEquals(algEval.getCantCromCruzados()/2, hijos.length);
+        for(Cromosoma hijo: hijos) assertTrue(hijo.isFitnessCalculada());
+        //Comprobar validez de hijos
+        comprobarValidezArrCromosomas(hijos);
+    }
+
+    @Test
+    @Order(value = 8)
+    @DisplayName("Comprueba que el modo sin duplicados mantenga hashes correctos y una población sin repetidos")
+    void evitarDuplicados() {
+        AlgoritmoGenetico algEval = new AlgoritmoGenetico();
+        algEval.setEvitarDuplicados(true);
+        algEval.inicializarPoblacion();
+        TablaZobrist tablaZobrist = new TablaZobrist(datos.getNumTablas(), datos.getNumSitios(),
+                AlgoritmoGenetico.SEMILLA_ZOBRIST);
+        //La población inicial no debe tener repetidos
+        comprobarSinRepetidos(algEval.getPoblacion(), tablaZobrist);
+        SplittableRandom genRandom = new SplittableRandom();
+        for(int i=0; i<30; i++) algEval.ejecutarGeneracion(genRandom, null, -1);
+        comprobarSinRepetidos(algEval.getPoblacion(), tablaZobrist);
+        comprobarValidezArrCromosomas(algEval.getPoblacion());
+    }
+
+    private static void comprobarSinRepetidos(Cromosoma[] poblacion, TablaZobrist tablaZobrist){
+        HashSet<Long> hashes = new HashSet<>();
+        for(Cromosoma cromosoma: poblacion){
+            //El hash actualizado por segmentos debe coincidir con el calculado sobre todos los genes
+            assertEquals(tablaZobrist.calcular(cromosoma.getCromosoma()), cromosoma.getHashZobrist());
+            assertTrue(hashes.add(cromosoma.getHashZobrist()));
+        }
+    }
+
+    @Test
+    @Order(value = 9)
+    @DisplayName("Comprueba que los hijos que heredan joins de sus padres obtengan la misma fitness que sin heredarlos")
+    void herenciaPrefijos() {
+        AlgoritmoGenetico algEval = new AlgoritmoGenetico();
+        algEval.inicializarPoblacion();
+        SplittableRandom genRandom = new SplittableRandom();
+        for(int i=0; i<5; i++){
+            Cromosoma[] hijos = algEval.casamientoPMX(algEval.seleccionXTorneo(genRandom), genRandom);
+            hijos = algEval.inversionMutation(hijos, -1, genRandom);
+            for(Cromosoma hijo: hijos){
+                Cromosoma sinHerencia = new Cromosoma(hijo.getCromosoma().clone());
+                assertEquals(sinHerencia.getFitness(), hijo.getFitness());
+                assertArrayEquals(sinHerencia.getCostProc(), hijo.getCostProc());
+                assertEquals(sinHerencia.getCostCom(), hijo.getCostCom());
+            }
+            algEval.evolPoblacion(hijos, genRandom);
+        }
+    }
+
+    @Test
+    @Order(value = 10)
+    @DisplayName("Comprueba que el algoritmo cree todos sus cromosomas con los datos de entrada que recibe")
+    void datosInyectados() {
+        DatosEntrada cargados = DatosEntrada.cargar("datos.csv");
+        AlgoritmoGenetico algEval = new AlgoritmoGenetico(cargados, 20, 40, 0.5f, 0.7f, 0.9f, 0.3f);
+        Cromosoma mejor = algEval.ejecutar(-1);
+        assertSame(cargados, algEval.getDatos());
+        assertSame(cargados, mejor.getDatos());
+        for(Cromosoma cromosoma: algEval.getPoblacion()) assertSame(cargados, cromosoma.getDatos());
+        comprobarValidezArrCromosomas(algEval.getPoblacion());
+    }
+
+    @Test
+    @Order(value = 11)
+    @DisplayName("Comprueba que las semillas válidas se incluyan al inicio de la población y las inválidas se ignoren")
+    void semillas() {
+        AlgoritmoGenetico algEval = new AlgoritmoGenetico(20, 40, 0.5f, 0.7f, 0.9f, 0.3f);
+        Cromosoma base = new Cromosoma();
+        int[] semilla = base.getCromosoma().clone();
+        int[] invalida = semilla.clone();
+        invalida[0] = invalida[1];
+        algEval.setSemillas(new int[][]{invalida, semilla});
+        algEval.inicializarPoblacion();
+        assertArrayEquals(semilla, algEval.getPoblacion()[0].getCromosoma());
+        assertEquals(base.getFitness(), algEval.getPoblacion()[0].getFitness());
+        assertFalse(Cromosoma.esPlanValido(datos, invalida));
+        comprobarValidezArrCromosomas(algEval.getPoblacion());
+    }
+
+    @Test
+    @Order(value = 12)
+    @DisplayName("Comprueba que cada semilla vaya seguida de sus variantes mutadas")
+    void variantesSemillas() {
+        AlgoritmoGenetico algEval = new AlgoritmoGenetico(20, 40, 0.5f, 0.7f, 0.9f, 0.3f);
+        int[] semilla = new Cromosoma().getCromosoma().clone();
+        algEval.setSemillas(new int[][]{semilla});
+        algEval.setVariantesPorSemilla(3);
+        algEval.inicializarPoblacion();
+        Cromosoma[] poblacion = algEval.getPoblacion();
+        assertArrayEquals(semilla, poblacion[0].getCromosoma());
+        int[] genesOrdenados = Arrays.stream(semilla).sorted().toArray();
+        for(int i=1; i<=3; i++){
+            assertFalse(Arrays.equals(semilla, poblacion[i].getCromosoma()));
+            assertArrayEquals(genesOrdenados, Arrays.stream(poblacion[i].getCromosoma()).sorted().toArray());
+        }
+        comprobarValidezArrCromosomas(poblacion);
+    }
+
+    @Test
+    @Order(value = 13)
+    @DisplayName("Comprueba que dos ejecuciones reanudadas desde el mismo punto de control sean idénticas")
+    void reanudarPuntoControl(@TempDir Path directorio) throws IOException {
+        Path archivo1 = directorio.resolve("punto_control1.bin");
+        Path archivo2 = directorio.resolve("punto_control2.bin");
+        AlgoritmoGenetico algInicial = new AlgoritmoGenetico(10, 40, 0.5f, 0.7f, 0.9f, 1f);
+        algInicial.setPuntoControl(archivo1, 5);
+        algInicial.ejecutar(-1);
+        assertFalse(algInicial.isReanudada());
+        Files.copy(archivo1, archivo2);
+        AlgoritmoGenetico[] reanudados = new AlgoritmoGenetico[2];
+        Path[] archivos = {archivo1, archivo2};
+        for(int i=0; i<2; i++){
+            reanudados[i] = new AlgoritmoGenetico(30, 40, 0.5f, 0.7f, 0.9f, 1f);
+            reanudados[i].setPuntoControl(archivos[i], 5);
+            reanudados[i].setReanudar(true);
+            reanudados[i].ejecutar(-1);
+            assertTrue(reanudados[i].isReanudada());
+            assertEquals(30, reanudados[i].getIteracionesEjecutadas());
+            assertTrue(reanudados[i].getFitnessMejorSolucion()>=algInicial.getFitnessMejorSolucion());
+            comprobarValidezArrCromosomas(reanudados[i].getPoblacion());
+        }
+        assertArrayEquals(reanudados[0].getMejorSolucion().getCromosoma(), reanudados[1].getMejorSolucion().getCromosoma());
+        assertEquals(reanudados[0].getFitnessMejorSolucion(), reanudados[1].getFitnessMejorSolucion());
+        assertEquals(reanudados[0].getFitnessSumadaPoblacion(), reanudados[1].getFitnessSumadaPoblacion());
+        for(int j=0; j<40; j++){
+            assertArrayEquals(reanudados[0].getPoblacion()[j].getCromosoma(), reanudados[1].getPoblacion()[j].getCromosoma());
+            assertEquals(reanudados[0].getPoblacion()[j].getFitness(), reanudados[1].getPoblacion()[j].getFitness());
+        }
+    }
+
+    @Test
+    @Order(value = 14)
+    @DisplayName("Comprueba que los hijos ingresados nunca reemplacen a la mejor solución de la población")
+    void conservarMejorSolucion() {
+        AlgoritmoGenetico algEval = new AlgoritmoGenetico(100, 40, 0.5f, 0.7f, 0.9f, 1f);
+        algEval.inicializarPoblacion();
+        SplittableRandom genRandom = new SplittableRandom();
+        for(int i=0; i<50; i++){
+            double fitnessMejor = algEval.getFitnessMejorSolucion();
+            algEval.ejecutarGeneracion(genRandom, null, -1);
+            assertSame(algEval.getMejorSolucion(), algEval.getPoblacion()[algEval.getIndiceMejorSolucion()]);
+            assertTrue(algEval.getFitnessMejorSolucion()>=fitnessMejor);
+        }
+    }
+
     void comprobarValidezArrCromosomas(Cromosoma[] arrCrom){
         for (Cromosoma cromEval: arrCrom) comprobarValidezCromosoma(cromEval);
     }
@@ -129,10 +296,10 @@ class AlgoritmoGeneticoTest {
         int[] cromOrdenado = Arrays.stream(arrCrom).sorted().toArray();
         for(int i=0; i< numTablas; i++){
             assertEquals(i, indOrdenados[i]);
-            assertTrue(cromOrdenado[i]/100 >0 && cromOrdenado[i]/100 <= numTablas);
-            assertTrue(cromOrdenado[i]%100 >0 && cromOrdenado[i]%100 <= numSitios);
-            assertEquals(i+1, cromOrdenado[i]/100);
-            assertTrue(distTabSit[cromOrdenado[i]/100-1][cromOrdenado[i]%100-1]);
+            assertTrue(CodificacionGen.idTabla(cromOrdenado[i]) >0 && CodificacionGen.idTabla(cromOrdenado[i]) <= numTablas);
+            assertTrue(CodificacionGen.idSitio(cromOrdenado[i]) >0 && CodificacionGen.idSitio(cromOrdenado[i]) <= numSitios);
+            assertEquals(i+1, CodificacionGen.idTabla(cromOrdenado[i]));
+            assertTrue(distTabSit[CodificacionGen.indiceTabla(cromOrdenado[i])][CodificacionGen.indiceSitio(cromOrdenado[i])]);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package algoritmo;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.Cromosoma;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModeloIslasTest {
+
+    private static DatosEntrada datos;
+
+    @BeforeAll
+    static void obtenerDatos(){
+        datos = DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void liberarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    @ParameterizedTest
+    @EnumSource(TopologiaMigracion.class)
+    @DisplayName("Comprueba que el modelo de islas termine y devuelva la mejor solución de todas las islas")
+    void ejecutar(TopologiaMigracion topologia){
+        ParametrosAlgoritmo param = new ParametrosAlgoritmo(200, 80, 0.5f, 0.7f, 0f, 0.9f, 1, 0.3f);
+        ModeloIslas modelo = new ModeloIslas(param, 4, 10, 2, topologia);
+        Cromosoma mejor = modelo.ejecutar(-1);
+        assertNotNull(mejor);
+        assertTrue(modelo.getGeneracionesEjecutadas()>0 && modelo.getGeneracionesEjecutadas()<=param.getNumIter());
+        assertEquals(mejor.getFitness(), modelo.getFitnessMejorSolucion());
+        for(AlgoritmoGenetico isla: modelo.getIslas()){
+            assertEquals(param.getTamPob()/4, isla.getPoblacion().length);
+            assertTrue(isla.getFitnessMejorSolucion()<=modelo.getFitnessMejorSolucion());
+        }
+    }
+}
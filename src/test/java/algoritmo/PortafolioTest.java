@@ -0,0 +1,73 @@
+package algoritmo;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.Cromosoma;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortafolioTest {
+
+    private static DatosEntrada datos;
+
+    @BeforeAll
+    static void obtenerDatos(){
+        datos = DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void liberarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    private static void comprobarGanadora(Portafolio portafolio, Cromosoma mejor){
+        assertNotNull(mejor);
+        assertSame(mejor, portafolio.getMejorSolucion());
+        //La configuración ganadora es la que publicó la incumbente, así que su mejor solución tiene la misma fitness
+        int ganadora = portafolio.getIndiceConfigGanadora();
+        assertTrue(ganadora>=0 && ganadora<portafolio.getAlgoritmos().length);
+        assertEquals(mejor.getFitness(), portafolio.getAlgoritmos()[ganadora].getFitnessMejorSolucion());
+        for(AlgoritmoGenetico algoritmo: portafolio.getAlgoritmos())
+            assertTrue(algoritmo.getFitnessMejorSolucion()<=mejor.getFitness());
+    }
+
+    @Test
+    @Timeout(value = 60)
+    @DisplayName("Comprueba que el portafolio se detenga cuando una configuración llega al estancamiento")
+    void detenerPorEstancamiento(){
+        //Estancamiento luego de 20 iteraciones sin mejora, mucho antes del límite de iteraciones
+        ParametrosAlgoritmo[] configuraciones = {
+                new ParametrosAlgoritmo(100000, 40, 0.5f, 0.7f, 0f, 0.9f, 1, 0.0002f),
+                new ParametrosAlgoritmo(100000, 20, 0.6f, 0.5f, 0f, 0.8f, 1, 0.0002f)
+        };
+        Portafolio portafolio = new Portafolio(datos, configuraciones, 0, 5);
+        //Dos ejecuciones seguidas: la configuración ganadora corresponde a cada una
+        for(int i=0; i<2; i++){
+            Cromosoma mejor = portafolio.ejecutar(-1);
+            assertTrue(portafolio.getMotivoParada().startsWith("estancamiento de la configuración"));
+            for(int iteraciones: portafolio.getIteracionesEjecutadas()) assertTrue(iteraciones<100000);
+            comprobarGanadora(portafolio, mejor);
+        }
+    }
+
+    @Test
+    @Timeout(value = 60)
+    @DisplayName("Comprueba que el portafolio respete el presupuesto de tiempo y comparta la incumbente")
+    void presupuestoYCompartirIncumbente(){
+        //Sin estancamiento posible: solo el presupuesto de tiempo detiene la ejecución
+        ParametrosAlgoritmo[] configuraciones = {
+                new ParametrosAlgoritmo(1000000, 40, 0.5f, 0.7f, 0f, 0.9f, 1, 1f),
+                new ParametrosAlgoritmo(1000000, 10, 0.5f, 0f, 0f, 0.5f, 1, 1f)
+        };
+        Portafolio portafolio = new Portafolio(datos, configuraciones, 300, 1);
+        Cromosoma mejor = portafolio.ejecutar(-1);
+        assertEquals("presupuesto de tiempo agotado", portafolio.getMotivoParada());
+        assertTrue(portafolio.getTiempoEjecucion()>=300);
+        for(int iteraciones: portafolio.getIteracionesEjecutadas()) assertTrue(iteraciones>0 && iteraciones<1000000);
+        comprobarGanadora(portafolio, mejor);
+        //La incumbente se consulta en cada generación, así que todas las configuraciones terminan con ella
+        for(AlgoritmoGenetico algoritmo: portafolio.getAlgoritmos())
+            assertEquals(mejor.getFitness(), algoritmo.getFitnessMejorSolucion());
+    }
+}
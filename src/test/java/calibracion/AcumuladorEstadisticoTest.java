@@ -0,0 +1,39 @@
+package calibracion;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AcumuladorEstadisticoTest {
+
+    @Test
+    @DisplayName("Comprueba que la media y la varianza coincidan con el cálculo directo")
+    void mediaYVarianza(){
+        double[] valores = {2.5, 3.0, 1.75, 4.25, 3.5, 2.0};
+        AcumuladorEstadistico acumulador = new AcumuladorEstadistico();
+        double suma = 0;
+        for(double valor: valores){
+            acumulador.agregar(valor);
+            suma+= valor;
+        }
+        double media = suma/valores.length;
+        double sumaCuadrados = 0;
+        for(double valor: valores) sumaCuadrados+= (valor-media)*(valor-media);
+        assertEquals(valores.length, acumulador.getCantidad());
+        assertEquals(media, acumulador.getMedia(), 1e-12);
+        assertEquals(sumaCuadrados/(valores.length-1), acumulador.getVarianza(), 1e-12);
+        assertEquals(1.75, acumulador.getMinimo());
+        assertEquals(4.25, acumulador.getMaximo());
+    }
+
+    @Test
+    @DisplayName("Comprueba que la varianza sea 0 con menos de dos valores")
+    void varianzaUnSoloValor(){
+        AcumuladorEstadistico acumulador = new AcumuladorEstadistico();
+        assertEquals(0, acumulador.getVarianza());
+        acumulador.agregar(7);
+        assertEquals(7, acumulador.getMedia());
+        assertEquals(0, acumulador.getVarianza());
+    }
+}
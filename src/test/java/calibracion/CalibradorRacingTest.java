@@ -0,0 +1,75 @@
+package calibracion;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalibradorRacingTest {
+
+    private static DatosEntrada datos;
+
+    @BeforeAll
+    static void obtenerDatos(){
+        datos = DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void liberarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    @Test
+    @DisplayName("Comprueba la cantidad de rondas y de combinaciones que pasan en cada una")
+    void rondasYEliminacion(){
+        assertEquals(0, CalibradorRacing.numRondas(1, 2));
+        assertEquals(1, CalibradorRacing.numRondas(2, 2));
+        assertEquals(2, CalibradorRacing.numRondas(4, 2));
+        //5 -> 3 -> 2 -> 1
+        assertEquals(3, CalibradorRacing.numRondas(5, 2));
+        assertEquals(2, CalibradorRacing.numRondas(9, 3));
+        //10 -> 4 -> 2 -> 1
+        assertEquals(3, CalibradorRacing.numRondas(10, 3));
+        assertEquals(3, CalibradorRacing.cantPasan(5, 2));
+        assertEquals(2, CalibradorRacing.cantPasan(4, 2));
+        assertEquals(4, CalibradorRacing.cantPasan(10, 3));
+        assertEquals(1, CalibradorRacing.cantPasan(1, 3));
+    }
+
+    @Test
+    @DisplayName("Comprueba las repeticiones de cada ronda y su mínimo")
+    void repeticionesPorRonda(){
+        //La última ronda usa todas las repeticiones
+        assertEquals(10, CalibradorRacing.repeticionesRonda(10, 3, 3, 3));
+        assertEquals(4, CalibradorRacing.repeticionesRonda(10, 3, 2, 3));
+        //ceil(10/27) = 1, pero ninguna ronda baja de REPETICIONES_MINIMAS
+        assertEquals(CalibradorRacing.REPETICIONES_MINIMAS, CalibradorRacing.repeticionesRonda(10, 3, 0, 3));
+        //Salvo que cantRepeticiones sea menor al mínimo
+        assertEquals(1, CalibradorRacing.repeticionesRonda(1, 3, 0, 3));
+    }
+
+    @Test
+    @DisplayName("Comprueba que el racing gaste menos que la calibración exhaustiva y que elija siempre la misma finalista")
+    void finalistasEstables(){
+        //Una combinación claramente mejor que las demás (más población); ante empates pasa la de menor índice, así que
+        //la buena va primero
+        ParametrosAlgoritmo buena = new ParametrosAlgoritmo(400, 100, 0.5f, 0.7f, 0f, 0.9f, 1, 1f);
+        ParametrosAlgoritmo mala = new ParametrosAlgoritmo(400, 10, 0.5f, 0f, 0f, 0.9f, 1, 1f);
+        ParametrosAlgoritmo[] configuraciones = {buena, mala, mala, mala, mala, mala, mala, mala};
+        for(int i=0; i<2; i++){
+            CalibradorRacing calibrador = new CalibradorRacing(datos, configuraciones, 4, 2, 2);
+            String[] lineas = calibrador.ejecutar(-1);
+            assertArrayEquals(new int[]{0}, calibrador.getIndicesFinalistas());
+            //Una línea por finalista, más el resumen y el ahorro
+            assertEquals(3, lineas.length);
+            assertTrue(calibrador.getPresupuestoRacing()<calibrador.getPresupuestoExhaustivo());
+            assertEquals(calibrador.getPresupuestoExhaustivo()-calibrador.getPresupuestoRacing(),
+                    calibrador.getEvaluacionesAhorradas());
+            assertTrue(calibrador.getEvaluacionesRealizadas()<=calibrador.getPresupuestoRacing());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package datos_param;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatoBinarioTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    @DisplayName("Comprueba que el archivo binario generado desde el CSV se cargue con los mismos datos")
+    void convertirYCargar() throws IOException {
+        List<String> lineas = new ArrayList<>(Files.readAllLines(Path.of("datos.csv")));
+        lineas.add("500;40;0.4;0.6;0.5;0.8;20;0.2;2");
+        Path csv = directorio.resolve("datos.csv");
+        Files.write(csv, lineas);
+        Path binario = directorio.resolve("datos.bin");
+        FormatoBinario.convertir(csv.toString(), binario.toString());
+        DatosEntrada esperado = DatosEntrada.leer(csv.toString());
+        DatosEntrada obtenido = DatosEntrada.leer(binario.toString());
+        assertEquals(esperado.getNumTablas(), obtenido.getNumTablas());
+        assertEquals(esperado.getNumSitios(), obtenido.getNumSitios());
+        assertEquals(esperado.getNumTotalColumnas(), obtenido.getNumTotalColumnas());
+        assertEquals(esperado.getTamPromColumna(), obtenido.getTamPromColumna());
+        assertEquals(esperado.getOverheadTrans(), obtenido.getOverheadTrans());
+        assertEquals(esperado.getCoefCom(), obtenido.getCoefCom());
+        assertEquals(esperado.getCoefProc(), obtenido.getCoefProc());
+        assertEquals(esperado.getVerbosityLevel(), obtenido.getVerbosityLevel());
+        assertArrayEquals(esperado.getCardTablas(), obtenido.getCardTablas());
+        assertArrayEquals(esperado.getDistTabSit(), obtenido.getDistTabSit());
+        assertArrayEquals(esperado.getCapTransSitios(), obtenido.getCapTransSitios());
+        for(int i=0; i<esperado.getNumTablas(); i++){
+            assertEquals(esperado.getTablas()[i].getId(), obtenido.getTablas()[i].getId());
+            assertEquals(esperado.getTablas()[i].getNumFilas(), obtenido.getTablas()[i].getNumFilas());
+            assertEquals(esperado.getTablas()[i].getNumBytes(), obtenido.getTablas()[i].getNumBytes());
+            assertEquals(esperado.getTablas()[i].getNumColumnas(), obtenido.getTablas()[i].getNumColumnas());
+        }
+        assertEquals(2, obtenido.getParamAlg().length);
+        for(int i=0; i<2; i++){
+            ParametrosAlgoritmo e = esperado.getParamAlg()[i];
+            ParametrosAlgoritmo o = obtenido.getParamAlg()[i];
+            assertEquals(e.getNumIter(), o.getNumIter());
+            assertEquals(e.getTamPob(), o.getTamPob());
+            assertEquals(e.getPorcCromCruzados(), o.getPorcCromCruzados());
+            assertEquals(e.getProbMut(), o.getProbMut());
+            assertEquals(e.getProbBusq(), o.getProbBusq());
+            assertEquals(e.getPorcHijosIngresados(), o.getPorcHijosIngresados());
+            assertEquals(e.getCantVecinosEvaluados(), o.getCantVecinosEvaluados());
+            assertEquals(e.getPorcIterEstanc(), o.getPorcIterEstanc());
+        }
+    }
+
+    @Test
+    @DisplayName("Comprueba que se rechacen los archivos binarios incompletos o de otra versión")
+    void rechazarInvalidos() throws IOException {
+        Path binario = directorio.resolve("datos.bin");
+        FormatoBinario.convertir("datos.csv", binario.toString());
+        byte[] contenido = Files.readAllBytes(binario);
+        Path incompleto = directorio.resolve("incompleto.bin");
+        Files.write(incompleto, Arrays.copyOf(contenido, contenido.length-4));
+        IOException ex = assertThrows(IOException.class, () -> DatosEntrada.leer(incompleto.toString()));
+        assertTrue(ex.getMessage().startsWith("ERROR: Archivo binario de datos - Tamaño incorrecto"));
+        Path cabecera = directorio.resolve("cabecera.bin");
+        Files.write(cabecera, Arrays.copyOf(contenido, 12));
+        ex = assertThrows(IOException.class, () -> DatosEntrada.leer(cabecera.toString()));
+        assertEquals("ERROR: Archivo binario de datos - Cabecera incompleta", ex.getMessage());
+        Path otraVersion = directorio.resolve("version.bin");
+        ByteBuffer.wrap(contenido).putInt(4, FormatoBinario.VERSION+1);
+        Files.write(otraVersion, contenido);
+        ex = assertThrows(IOException.class, () -> DatosEntrada.leer(otraVersion.toString()));
+        assertEquals("ERROR: Archivo binario de datos - Versión no soportada: " + (FormatoBinario.VERSION+1), ex.getMessage());
+    }
+
+    private void assertRechazado(byte[] original, int posicion, int valor, String mensaje) throws IOException {
+        byte[] contenido = original.clone();
+        ByteBuffer.wrap(contenido).putInt(posicion, valor);
+        Path archivo = directorio.resolve("modificado.bin");
+        Files.write(archivo, contenido);
+        IOException ex = assertThrows(IOException.class, () -> DatosEntrada.leer(archivo.toString()));
+        assertEquals(mensaje, ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Comprueba que se validen los datos de un archivo binario como los del CSV")
+    void rechazarDatosInvalidos() throws IOException {
+        Path binario = directorio.resolve("datos.bin");
+        FormatoBinario.convertir("datos.csv", binario.toString());
+        byte[] contenido = Files.readAllBytes(binario);
+        //datos.csv: 5 tablas, 3 sitios y 12 columnas; cada tabla ocupa 14 enteros desde el byte 40
+        int inicioTablas = 40;
+        int tamTabla = 4*14;
+        int inicioDist = inicioTablas + 5*tamTabla;
+        int inicioCap = inicioDist + 4;
+        int inicioParam = inicioCap + 4*3;
+        String prefijo = "ERROR: Archivo binario de datos - ";
+        assertRechazado(contenido, inicioTablas, 0, prefijo + "Datos de cabecera incorrectos para la tabla 1");
+        assertRechazado(contenido, inicioTablas + tamTabla + 4, -1, prefijo + "Datos de cabecera incorrectos para la tabla 2");
+        assertRechazado(contenido, inicioTablas + 8 + 4*2, -3, prefijo + "Cardinalidad negativa para la tabla 1, columna 3");
+        assertRechazado(contenido, inicioTablas + 2*tamTabla + 8, Integer.MAX_VALUE, prefijo + "Cardinalidad mayor a numFilas para la tabla 3, columna 1");
+        //Se quitan los bits de la tabla 1 (bits 0 a 2 del primer byte)
+        int primerByte = contenido[inicioDist] & 0xF8;
+        assertRechazado(contenido, inicioDist, (primerByte << 24) | (ByteBuffer.wrap(contenido).getInt(inicioDist) & 0x00FFFFFF),
+                prefijo + "La tabla 1 no existe en ningún sitio");
+        assertRechazado(contenido, inicioCap + 4, 0, prefijo + "Cap. de trans. inválida para los sitios 1 y 3");
+        assertRechazado(contenido, inicioParam, 0, prefijo + "Datos inválidos en la combinación de parámetros 1");
+        assertRechazado(contenido, inicioParam + 12, Float.floatToIntBits(1.5f), prefijo + "Datos inválidos en la combinación de parámetros 1");
+    }
+}
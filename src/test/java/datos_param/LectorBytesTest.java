@@ -0,0 +1,145 @@
+package datos_param;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorBytesTest {
+
+    private static List<String> lineas;
+
+    @TempDir
+    Path directorio;
+
+    @BeforeAll
+    static void leerLineas() throws IOException {
+        lineas = Files.readAllLines(Path.of("datos.csv"));
+    }
+
+    private Path escribir(String nombre, List<String> contenido, String finLinea, boolean finLineaAlFinal) throws IOException {
+        Path archivo = directorio.resolve(nombre);
+        String texto = String.join(finLinea, contenido);
+        Files.writeString(archivo, finLineaAlFinal && !contenido.isEmpty() ? texto + finLinea : texto);
+        return archivo;
+    }
+
+    private List<String> reemplazar(int linea, String contenido){
+        List<String> copia = new ArrayList<>(lineas);
+        copia.set(linea, contenido);
+        return copia;
+    }
+
+    private static DatosEntrada leerComoTexto(Path archivo) throws IOException {
+        try(BufferedReader csvReader = new BufferedReader(new FileReader(archivo.toFile()))){
+            return DatosEntrada.leer(csvReader);
+        }
+    }
+
+    private static void assertMismosDatos(DatosEntrada esperado, DatosEntrada obtenido){
+        assertEquals(esperado.getNumTablas(), obtenido.getNumTablas());
+        assertEquals(esperado.getNumSitios(), obtenido.getNumSitios());
+        assertEquals(esperado.getNumTotalColumnas(), obtenido.getNumTotalColumnas());
+        assertEquals(esperado.getTamPromColumna(), obtenido.getTamPromColumna());
+        assertEquals(esperado.getOverheadTrans(), obtenido.getOverheadTrans());
+        assertEquals(esperado.getCoefCom(), obtenido.getCoefCom());
+        assertEquals(esperado.getCoefProc(), obtenido.getCoefProc());
+        assertEquals(esperado.getVerbosityLevel(), obtenido.getVerbosityLevel());
+        assertArrayEquals(esperado.getCardTablas(), obtenido.getCardTablas());
+        assertArrayEquals(esperado.getDistTabSit(), obtenido.getDistTabSit());
+        assertArrayEquals(esperado.getCapTransSitios(), obtenido.getCapTransSitios());
+        for(int i=0; i<esperado.getNumTablas(); i++){
+            assertEquals(esperado.getTablas()[i].getNumFilas(), obtenido.getTablas()[i].getNumFilas());
+            assertEquals(esperado.getTablas()[i].getNumBytes(), obtenido.getTablas()[i].getNumBytes());
+            assertEquals(esperado.getTablas()[i].getNumColumnas(), obtenido.getTablas()[i].getNumColumnas());
+        }
+        assertEquals(esperado.getParamAlg().length, obtenido.getParamAlg().length);
+        for(int i=0; i<esperado.getParamAlg().length; i++){
+            ParametrosAlgoritmo e = esperado.getParamAlg()[i];
+            ParametrosAlgoritmo o = obtenido.getParamAlg()[i];
+            assertEquals(e.getNumIter(), o.getNumIter());
+            assertEquals(e.getTamPob(), o.getTamPob());
+            assertEquals(e.getPorcCromCruzados(), o.getPorcCromCruzados());
+            assertEquals(e.getProbMut(), o.getProbMut());
+            assertEquals(e.getProbBusq(), o.getProbBusq());
+            assertEquals(e.getPorcHijosIngresados(), o.getPorcHijosIngresados());
+            assertEquals(e.getCantVecinosEvaluados(), o.getCantVecinosEvaluados());
+            assertEquals(e.getPorcIterEstanc(), o.getPorcIterEstanc());
+        }
+    }
+
+    @Test
+    @DisplayName("Comprueba que la lectura sobre los bytes del archivo dé los mismos datos que la lectura como texto")
+    void mismosDatos() throws IOException {
+        List<String> conParametros = new ArrayList<>(lineas);
+        conParametros.add("500;+40;0.4;0.6;0.5;0.8;025;0.2;2");
+        //Los campos vacíos al final de una línea se descartan, como en String.split
+        List<String> camposVacios = reemplazar(8, lineas.get(8) + ";;");
+        Path[] archivos = {
+                escribir("lf.csv", lineas, "\n", true),
+                escribir("crlf.csv", lineas, "\r\n", true),
+                escribir("cr.csv", lineas, "\r", false),
+                escribir("parametros.csv", conParametros, "\n", false),
+                escribir("vacios.csv", camposVacios, "\n", true)
+        };
+        for(Path archivo: archivos) assertMismosDatos(leerComoTexto(archivo), DatosEntrada.leer(archivo.toString()));
+    }
+
+    @Test
+    @DisplayName("Comprueba que los errores de la lectura sobre los bytes del archivo tengan los mismos mensajes")
+    void mismosErrores() throws IOException {
+        List<List<String>> casos = new ArrayList<>();
+        casos.add(List.of());
+        casos.add(List.of(lineas.get(0)));
+        casos.add(lineas.subList(0, 4));
+        casos.add(lineas.subList(0, 8));
+        casos.add(lineas.subList(0, 14));
+        casos.add(lineas.subList(0, 18));
+        casos.add(lineas.subList(0, 2));
+        casos.add(reemplazar(0, "5;3;12;5;10"));
+        casos.add(reemplazar(0, "5;3;12;5;x;0.5"));
+        casos.add(reemplazar(0, "5;3;12;5;10;0,5"));
+        casos.add(reemplazar(0, "1;3;12;5;10;0.5"));
+        casos.add(reemplazar(0, "5;99999999999;12;5;10;0.5"));
+        casos.add(reemplazar(0, "5;3;12;5;-;0.5"));
+        casos.add(reemplazar(0, "5;3;12;5; 10;0.5"));
+        casos.add(reemplazar(2, "-"));
+        casos.add(reemplazar(2, ""));
+        casos.add(reemplazar(3, ";;"));
+        casos.add(reemplazar(3, "0;6000;0;0;300;40;0;0;120;90;200;0;0;0"));
+        casos.add(reemplazar(4, "1800;36000;0;1800;210;30;0;;500;0;0;0;0;0"));
+        casos.add(reemplazar(4, "1800;36000;0;1800;210;30;0;-5;500;0;0;0;0;0"));
+        casos.add(reemplazar(4, "1800;36000;0;1800;210;30;0;5000;500;0;0;0;0;0"));
+        casos.add(reemplazar(5, "50;400;0;0;0;50;0;0;0;0;0;50;0;2147483648"));
+        casos.add(reemplazar(9, "0;0;0"));
+        casos.add(reemplazar(9, "0;1"));
+        casos.add(reemplazar(10, "1;a;0"));
+        casos.add(reemplazar(15, "500;0;0"));
+        casos.add(reemplazar(16, "-"));
+        casos.add(reemplazar(18, "10000;1000;0.5;0.7;0.5;0.9;25;0.3"));
+        casos.add(reemplazar(18, "10000;1000;0.5;1.7;0.5;0.9;25;0.3;1"));
+        casos.add(reemplazar(18, "10000;1000;0.5;0.7;0.5;0.9;25;0.3;v"));
+        for(int i=0; i<casos.size(); i++){
+            Path archivo = escribir("caso" + i + ".csv", casos.get(i), "\n", true);
+            Exception esperado = assertThrows(Exception.class, () -> leerComoTexto(archivo), "caso " + i);
+            Exception obtenido = assertThrows(Exception.class, () -> DatosEntrada.leer(archivo.toString()), "caso " + i);
+            assertEquals(esperado.getClass(), obtenido.getClass(), "caso " + i);
+            assertEquals(esperado.getMessage(), obtenido.getMessage(), "caso " + i);
+        }
+        Path inexistente = directorio.resolve("inexistente.csv");
+        Exception esperado = assertThrows(IOException.class, () -> leerComoTexto(inexistente));
+        Exception obtenido = assertThrows(IOException.class, () -> DatosEntrada.leer(inexistente.toString()));
+        assertEquals(esperado.getClass(), obtenido.getClass());
+        assertEquals(esperado.getMessage(), obtenido.getMessage());
+    }
+}
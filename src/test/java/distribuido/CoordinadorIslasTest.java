@@ -0,0 +1,119 @@
+package distribuido;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import estructuras_problema.CachePlanes;
+import estructuras_problema.Cromosoma;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoordinadorIslasTest {
+
+    private static DatosEntrada datos;
+
+    @BeforeAll
+    static void obtenerDatos(){
+        datos = DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void liberarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    @Test
+    @Timeout(value = 60)
+    @DisplayName("Comprueba que el coordinador y las islas intercambien migrantes por loopback y se detengan juntos")
+    void ejecutarPorLoopback() throws Exception {
+        ParametrosAlgoritmo param = new ParametrosAlgoritmo(200, 30, 0.5f, 0.7f, 0f, 0.9f, 1, 0.3f);
+        CoordinadorIslas coordinador = new CoordinadorIslas(0, 3, param, 10, 2);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(4);
+        Future<Cromosoma> mejorGlobal = ejecutor.submit(() -> coordinador.ejecutar(-1));
+        IslaRemota[] islas = new IslaRemota[3];
+        Future<?>[] resultadosIslas = new Future<?>[3];
+        for(int i=0; i<islas.length; i++){
+            islas[i] = new IslaRemota("localhost", coordinador.getPuerto(), param);
+            IslaRemota isla = islas[i];
+            resultadosIslas[i] = ejecutor.submit(() -> {
+                try{
+                    return isla.ejecutar(-1);
+                }catch (IOException ex){
+                    throw new RuntimeException(ex);
+                }
+            });
+        }
+        Cromosoma mejor = mejorGlobal.get();
+        for(Future<?> resultado: resultadosIslas) assertNotNull(resultado.get());
+        ejecutor.shutdown();
+        assertTrue(ejecutor.awaitTermination(10, TimeUnit.SECONDS));
+        assertNotNull(mejor);
+        assertEquals(mejor.getFitness(), coordinador.getFitnessMejorSolucion());
+        for(IslaRemota isla: islas){
+            assertEquals(coordinador.getGeneracionesEjecutadas(), isla.getGeneracionesEjecutadas());
+            assertTrue(isla.getAlgoritmo().getFitnessMejorSolucion()<=coordinador.getFitnessMejorSolucion());
+        }
+    }
+
+    private static DataInputStream bloque(int cantidad, int numTablas, int[]... genes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream salida = new DataOutputStream(bytes);
+        salida.writeInt(cantidad);
+        salida.writeInt(numTablas);
+        for(int[] cromosoma: genes){
+            for(int gen: cromosoma) salida.writeInt(gen);
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    @DisplayName("Comprueba que se rechacen los bloques de cromosomas que no corresponden a los datos locales")
+    void rechazarBloquesInvalidos() throws IOException {
+        int[] valido = new Cromosoma(datos).getCromosoma();
+        int[] repetido = valido.clone();
+        repetido[1] = repetido[0];
+        int[][] genes = ProtocoloIslas.leerCromosomas(bloque(1, valido.length, valido), datos, 2);
+        assertArrayEquals(valido, genes[0]);
+        //Una cantidad enorme se rechaza antes de reservar memoria
+        assertThrows(IOException.class, () -> ProtocoloIslas.leerCromosomas(bloque(Integer.MAX_VALUE, Integer.MAX_VALUE), datos, 2));
+        assertThrows(IOException.class, () -> ProtocoloIslas.leerCromosomas(bloque(3, valido.length, valido, valido, valido), datos, 2));
+        assertThrows(IOException.class, () -> ProtocoloIslas.leerCromosomas(bloque(1, valido.length-1,
+                Arrays.copyOf(valido, valido.length-1)), datos, 2));
+        assertThrows(IOException.class, () -> ProtocoloIslas.leerCromosomas(bloque(1, valido.length, repetido), datos, 2));
+    }
+
+    @Test
+    @Timeout(value = 30)
+    @DisplayName("Comprueba que el coordinador rechace una isla que cargó datos distintos")
+    void rechazarIslaConOtrosDatos() throws Exception {
+        ParametrosAlgoritmo param = new ParametrosAlgoritmo(200, 30, 0.5f, 0.7f, 0f, 0.9f, 1, 0.3f);
+        CoordinadorIslas coordinador = new CoordinadorIslas(0, 1, param, 10, 2);
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+        Future<Cromosoma> resultado = ejecutor.submit(() -> coordinador.ejecutar(-1));
+        long firma = CachePlanes.firmaExacta(datos);
+        try(Socket isla = new Socket(InetAddress.getLoopbackAddress(), coordinador.getPuerto())){
+            DataOutputStream salida = new DataOutputStream(isla.getOutputStream());
+            salida.writeLong(firma+1);
+            salida.flush();
+            assertEquals(firma, new DataInputStream(isla.getInputStream()).readLong());
+            ExecutionException ex = assertThrows(ExecutionException.class, resultado::get);
+            assertInstanceOf(IOException.class, ex.getCause());
+        }
+        ejecutor.shutdown();
+        assertTrue(ejecutor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,68 @@
+package estructuras_problema;
+
+import algoritmo.AlgoritmoGenetico;
+import datos_param.DatosEntrada;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchivoEliteTest {
+
+    private static DatosEntrada datos;
+
+    @TempDir
+    Path directorio;
+
+    @BeforeAll
+    static void cargarDatos(){
+        datos = DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void descartarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    @Test
+    @DisplayName("Comprueba que se guarden los mejores cromosomas distintos y se carguen en el mismo orden")
+    void guardarYCargar() throws IOException {
+        ArchivoElite elite = new ArchivoElite(directorio.resolve("elite.txt"), 3);
+        assertEquals(0, elite.cargar(datos).length);
+        AlgoritmoGenetico algEval = new AlgoritmoGenetico(datos, 30, 40, 0.5f, 0.7f, 0.9f, 0.3f);
+        algEval.ejecutar(-1);
+        Cromosoma[] mejores = algEval.obtenerMejores(algEval.getTamPob());
+        elite.guardar(mejores);
+        int[][] semillas = elite.cargar(datos);
+        assertTrue(semillas.length>0 && semillas.length<=3);
+        assertArrayEquals(algEval.getMejorSolucion().getCromosoma(), semillas[0]);
+        for(int i=0; i<semillas.length; i++){
+            assertTrue(Cromosoma.esPlanValido(datos, semillas[i]));
+            for(int j=0; j<i; j++) assertFalse(Arrays.equals(semillas[i], semillas[j]));
+        }
+    }
+
+    @Test
+    @DisplayName("Comprueba que se ignoren los cromosomas que no son válidos para los datos")
+    void ignorarInvalidos() throws IOException {
+        Path archivo = directorio.resolve("elite.txt");
+        int[] valido = new Cromosoma(datos).getCromosoma();
+        StringBuilder genes = new StringBuilder();
+        for(int i=0; i<valido.length; i++) genes.append(i>0 ? "," : "").append(valido[i]);
+        Files.write(archivo, List.of("#fitness;genes", "1.0;" + genes, "0.5;" + valido[0] + "," + valido[0]));
+        int[][] semillas = new ArchivoElite(archivo, 5).cargar(datos);
+        assertEquals(1, semillas.length);
+        assertArrayEquals(valido, semillas[0]);
+        Files.write(archivo, List.of("1.0;a,b"));
+        assertThrows(IOException.class, () -> new ArchivoElite(archivo, 5).cargar(datos));
+    }
+}
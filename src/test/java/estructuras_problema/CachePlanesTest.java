@@ -0,0 +1,143 @@
+package estructuras_problema;
+
+import algoritmo.AlgoritmoGenetico;
+import datos_param.DatosEntrada;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachePlanesTest {
+
+    private static DatosEntrada datos;
+
+    @TempDir
+    Path directorio;
+
+    @BeforeAll
+    static void cargarDatos(){
+        datos = DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void descartarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    private DatosEntrada cargarConOtraCardinalidad() throws IOException {
+        //Mismo problema con una estadística distinta (cardinalidad de una columna de la primera tabla)
+        List<String> lineas = new ArrayList<>(Files.readAllLines(Paths.get("datos.csv")));
+        String[] campos = lineas.get(2).split(";");
+        campos[3] = String.valueOf(Integer.parseInt(campos[3])-100);
+        lineas.set(2, String.join(";", campos));
+        Path archivo = directorio.resolve("datos_modificados.csv");
+        Files.write(archivo, lineas);
+        return DatosEntrada.leer(archivo.toString());
+    }
+
+    @Test
+    @DisplayName("Comprueba que las firmas ignoren los parámetros y que la estructural ignore las estadísticas")
+    void firmas() throws IOException {
+        DatosEntrada copia = DatosEntrada.cargar("datos.csv");
+        DatosEntrada modificados = cargarConOtraCardinalidad();
+        assertEquals(CachePlanes.firmaExacta(datos), CachePlanes.firmaExacta(copia));
+        assertNotEquals(CachePlanes.firmaExacta(datos), CachePlanes.firmaExacta(modificados));
+        assertEquals(CachePlanes.firmaEstructural(datos), CachePlanes.firmaEstructural(modificados));
+    }
+
+    @Test
+    @DisplayName("Comprueba que cambiar un dato de costo que no es una estadística (numBytes) cambie la firma exacta")
+    void firmaConNumBytes() throws IOException {
+        List<String> lineas = new ArrayList<>(Files.readAllLines(Paths.get("datos.csv")));
+        String[] campos = lineas.get(2).split(";");
+        campos[1] = "99000";
+        lineas.set(2, String.join(";", campos));
+        Path archivo = directorio.resolve("datos_bytes.csv");
+        Files.write(archivo, lineas);
+        DatosEntrada modificados = DatosEntrada.leer(archivo.toString());
+        assertNotEquals(CachePlanes.firmaExacta(datos), CachePlanes.firmaExacta(modificados));
+        CachePlanes cache = new CachePlanes(10);
+        Cromosoma plan = new Cromosoma(datos);
+        plan.getFitness();
+        cache.guardar(datos, plan);
+        assertNull(cache.buscar(modificados));
+        assertEquals(1, cache.getFallos());
+        assertArrayEquals(plan.getCromosoma(), cache.buscarSemilla(modificados));
+    }
+
+    @Test
+    @DisplayName("Comprueba que un acierto exacto devuelva el plan guardado sin ejecutar el algoritmo")
+    void aciertoExacto() {
+        CachePlanes cache = new CachePlanes(10);
+        AlgoritmoGenetico algEval = new AlgoritmoGenetico(datos, 30, 40, 0.5f, 0.7f, 0.9f, 0.3f);
+        algEval.setCachePlanes(cache);
+        Cromosoma mejor = algEval.ejecutar(-1);
+        assertFalse(algEval.isPlanDesdeCache());
+        Cromosoma guardado = algEval.ejecutar(-1);
+        assertTrue(algEval.isPlanDesdeCache());
+        assertEquals(0, algEval.getIteracionesEjecutadas());
+        assertArrayEquals(mejor.getCromosoma(), guardado.getCromosoma());
+        assertEquals(mejor.getFitness(), guardado.getFitness());
+        assertEquals(mejor.getCostCom(), guardado.getCostCom());
+        assertArrayEquals(mejor.getCostProc(), guardado.getCostProc());
+        assertNotNull(guardado.getListaJoins());
+        assertEquals(1, cache.getAciertosExactos());
+        //La población queda con el plan recuperado
+        Cromosoma[] mejores = algEval.obtenerMejores(algEval.getTamPob());
+        assertEquals(1, mejores.length);
+        assertArrayEquals(guardado.getCromosoma(), mejores[0].getCromosoma());
+        assertEquals(guardado.getFitness(), mejores[0].getFitness());
+        assertEquals(1, algEval.getPoblacion().length);
+        assertEquals(guardado.getFitness(), algEval.getFitnessSumadaPoblacion());
+        assertEquals(1, algEval.getEvaluacionesRealizadas());
+    }
+
+    @Test
+    @DisplayName("Comprueba que un acierto estructural use el plan guardado como semilla")
+    void aciertoEstructural() throws IOException {
+        CachePlanes cache = new CachePlanes(10);
+        Cromosoma plan = new Cromosoma(datos);
+        plan.getFitness();
+        cache.guardar(datos, plan);
+        DatosEntrada modificados = cargarConOtraCardinalidad();
+        assertNull(cache.buscar(modificados));
+        assertArrayEquals(plan.getCromosoma(), cache.buscarSemilla(modificados));
+        AlgoritmoGenetico algEval = new AlgoritmoGenetico(modificados, 30, 40, 0.5f, 0.7f, 0.9f, 0.3f);
+        algEval.setCachePlanes(cache);
+        algEval.ejecutar(-1);
+        assertFalse(algEval.isPlanDesdeCache());
+        assertEquals(2, cache.getAciertosEstructurales());
+        assertNotNull(cache.buscar(modificados));
+    }
+
+    @Test
+    @DisplayName("Comprueba que los planes se recuperen idénticos desde el archivo de la caché")
+    void persistencia() throws IOException {
+        Path archivo = directorio.resolve("planes.txt");
+        CachePlanes cache = new CachePlanes(10, archivo);
+        Cromosoma plan = new Cromosoma(datos);
+        plan.getFitness();
+        cache.guardar(datos, plan);
+        cache.persistir();
+        //Solo se guardan las firmas, la fitness y los genes; los costos se recalculan al buscar
+        assertEquals(4, Files.readAllLines(archivo).get(1).split(";").length);
+        CachePlanes cargada = new CachePlanes(10, archivo);
+        assertEquals(1, cargada.getTamanio());
+        Cromosoma recuperado = cargada.buscar(datos);
+        assertNotNull(recuperado);
+        assertArrayEquals(plan.getCromosoma(), recuperado.getCromosoma());
+        assertEquals(plan.getFitness(), recuperado.getFitness());
+        assertEquals(plan.getCostCom(), recuperado.getCostCom());
+        assertArrayEquals(plan.getCostProc(), recuperado.getCostProc());
+    }
+}
@@ -0,0 +1,49 @@
+package estructuras_problema;
+
+import datos_param.DatosEntrada;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachePrefijosTest {
+
+    @BeforeAll
+    static void cargarDatos(){
+        DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void descartarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    @Test
+    @DisplayName("Comprueba que la fitness calculada con la caché sea idéntica a la calculada sin ella")
+    void fitnessIdenticaConCache(){
+        CachePrefijos cache = new CachePrefijos(10000, 4);
+        for(int i=0; i<200; i++){
+            Cromosoma original = new Cromosoma();
+            Cromosoma conCache = new Cromosoma(original.getCromosoma());
+            Cromosoma conCache2 = new Cromosoma(original.getCromosoma());
+            double fitness = original.getFitness();
+            assertEquals(fitness, conCache.evaluar(cache));
+            assertEquals(fitness, conCache2.evaluar(cache));
+            assertArrayEquals(original.getCostProc(), conCache2.getCostProc());
+            assertEquals(original.getCostCom(), conCache2.getCostCom());
+        }
+        //El segundo cromosoma de cada iteración siempre recupera el cromosoma completo
+        assertTrue(cache.getAciertos()>=200);
+        assertEquals(400, cache.getConsultas());
+    }
+
+    @Test
+    @DisplayName("Comprueba que la caché no supere su capacidad")
+    void capacidadAcotada(){
+        CachePrefijos cache = new CachePrefijos(64, 4);
+        for(int i=0; i<100; i++) new Cromosoma().evaluar(cache);
+        assertTrue(cache.getTamanio()<=64);
+    }
+}
@@ -43,10 +43,10 @@ class CromosomaTest {
         int[] cromOrdenado = Arrays.stream(arrCrom).sorted().toArray();
         for(int i=0; i< numTablas; i++){
             assertEquals(i, indOrdenados[i]);
-            assertTrue(cromOrdenado[i]/100 >0 && cromOrdenado[i]/100 <= numTablas);
-            assertTrue(cromOrdenado[i]%100 >0 && cromOrdenado[i]%100 <= numSitios);
-            assertEquals(i+1, cromOrdenado[i]/100);
-            assertTrue(distTabSit[cromOrdenado[i]/100-1][cromOrdenado[i]%100-1]);
+            assertTrue(CodificacionGen.idTabla(cromOrdenado[i]) >0 && CodificacionGen.idTabla(cromOrdenado[i]) <= numTablas);
+            assertTrue(CodificacionGen.idSitio(cromOrdenado[i]) >0 && CodificacionGen.idSitio(cromOrdenado[i]) <= numSitios);
+            assertEquals(i+1, CodificacionGen.idTabla(cromOrdenado[i]));
+            assertTrue(distTabSit[CodificacionGen.indiceTabla(cromOrdenado[i])][CodificacionGen.indiceSitio(cromOrdenado[i])]);
         }
     }
 
@@ -66,4 +66,111 @@ class CromosomaTest {
         assertTrue(fitnessCalc>0);
         //double fitnessDatos = cromEvaluado.getCostCom() + Arrays.stream(cromEvaluado.getCostProc()).sum();
     }
-}
\ No newline at end of file
+
+    @RepeatedTest(value = 10)
+    @DisplayName("Comprueba que un cromosoma que hereda el prefijo de otro obtenga la misma fitness que sin heredarlo")
+    void shouldHeredarPrefijo(){
+        Cromosoma padre = new Cromosoma();
+        padre.getFitness();
+        int numTablas = datos.getNumTablas();
+        //Se invierte el segmento final del padre, desde la mitad del cromosoma
+        int indiceIni = numTablas/2;
+        int[] genes = padre.getCromosoma().clone();
+        for(int i=indiceIni, j=numTablas-1; i<j; i++, j--){
+            int temporal = genes[i];
+            genes[i] = genes[j];
+            genes[j] = temporal;
+        }
+        Cromosoma heredero = new Cromosoma(genes.clone(), new int[numTablas], padre, indiceIni);
+        Cromosoma completo = new Cromosoma(genes.clone());
+        assertEquals(completo.getFitness(), heredero.getFitness());
+        assertArrayEquals(completo.getCostProc(), heredero.getCostProc());
+        assertEquals(completo.getCostCom(), heredero.getCostCom());
+        //Con una caché vacía, el prefijo heredado es más largo que el recuperado
+        Cromosoma herederoConCache = new Cromosoma(genes.clone(), new int[numTablas], padre, indiceIni);
+        assertEquals(completo.getFitness(), herederoConCache.evaluar(new CachePrefijos(100)));
+        assertEquals(completo.getCostCom(), herederoConCache.getCostCom());
+        //Los joins del prefijo son los mismos objetos del padre
+        if(indiceIni>=2) assertSame(padre.getListaJoins()[indiceIni-2], heredero.getListaJoins()[indiceIni-2]);
+    }
+
+    @RepeatedTest(20)
+    @DisplayName("Comprueba que la evaluación ligera dé la misma fitness y los mismos costos que la evaluación completa")
+    void shouldEvaluarLigero(){
+        Cromosoma completo = new Cromosoma();
+        Cromosoma ligero = new Cromosoma(completo.getCromosoma().clone());
+        assertEquals(completo.getFitness(), ligero.evaluarLigero(null));
+        assertEquals(completo.getCostCom(), ligero.getCostCom());
+        //Los joins se calculan recién al pedirlos
+        assertArrayEquals(completo.getCostProc(), ligero.getCostProc());
+        assertEquals(completo.getListaJoins().length, ligero.getListaJoins().length);
+        assertEquals(completo.getFitness(), ligero.getFitness());
+    }
+
+    @Test
+    @DisplayName("Comprueba la conversión entre la codificación de genes y el formato decimal (idTabla*100 + idSitio)")
+    void shouldConvertirCodificacion(){
+        Cromosoma cromosoma = new Cromosoma();
+        cromosoma.getFitness();
+        for(int gen: cromosoma.getCromosoma()){
+            int genDecimal = CodificacionGen.aFormatoDecimal(gen);
+            assertEquals(gen, CodificacionGen.desdeFormatoDecimal(genDecimal));
+            assertEquals("T" + genDecimal/100 + "(S" + genDecimal%100 + ")", CodificacionGen.toString(gen));
+            assertTrue(cromosoma.toString().contains(CodificacionGen.toString(gen)));
+        }
+        //Se admiten más de 99 sitios
+        int gen = CodificacionGen.codificar(7, 250);
+        assertEquals(7, CodificacionGen.idTabla(gen));
+        assertEquals(250, CodificacionGen.idSitio(gen));
+        assertEquals("T7(S250)", CodificacionGen.toString(gen));
+    }
+
+    @Test
+    @DisplayName("Comprueba que los cromosomas usen los datos de entrada con los que se crearon")
+    void shouldUsarDatosInyectados(){
+        DatosEntrada global = DatosEntrada.getInstance(null);
+        DatosEntrada cargados = DatosEntrada.cargar("datos.csv");
+        assertNotSame(global, cargados);
+        //Mismo problema con otros coeficientes de la función objetivo
+        DatosEntrada soloCom = new DatosEntrada(cargados.getNumTablas(), cargados.getNumSitios(),
+                cargados.getNumTotalColumnas(), cargados.getDistTabSit(), cargados.getTablas(), cargados.getCardTablas(),
+                cargados.getCapTransSitios(), cargados.getTamPromColumna(), cargados.getOverheadTrans(), 1f, 0f,
+                cargados.getParamAlg(), cargados.getVerbosityLevel());
+        Cromosoma original = new Cromosoma(cargados);
+        assertSame(cargados, original.getDatos());
+        assertEquals(new Cromosoma(original.getCromosoma().clone()).getFitness(), original.getFitness());
+        Cromosoma conOtrosDatos = new Cromosoma(soloCom, original.getCromosoma().clone());
+        conOtrosDatos.evaluarLigero(null);
+        assertEquals(original.getCostCom(), conOtrosDatos.getCostCom());
+        assertEquals(1/((Math.log(original.getCostCom()+1))/10), conOtrosDatos.getFitness());
+        assertSame(soloCom, conOtrosDatos.clonar().getDatos());
+    }
+
+    @Test
+    @DisplayName("Comprueba que modificar los arreglos usados para crear los datos de entrada no cambie la fitness")
+    void shouldCopiarArreglosDeDatos(){
+        DatosEntrada cargados = DatosEntrada.cargar("datos.csv");
+        Tabla[] tablas = cargados.getTablas().clone();
+        for(int i=0; i<tablas.length; i++)
+            tablas[i] = new Tabla(tablas[i].getId(), tablas[i].getNumFilas(), tablas[i].getNumColumnas(),
+                    tablas[i].getNumBytes(), tablas[i].getCardColumnas().clone());
+        int[][] capTrans = cargados.getCapTransSitios();
+        DatosEntrada copia = new DatosEntrada(cargados.getNumTablas(), cargados.getNumSitios(),
+                cargados.getNumTotalColumnas(), cargados.getDistTabSit(), tablas, cargados.getCardTablas(), capTrans,
+                cargados.getTamPromColumna(), cargados.getOverheadTrans(), cargados.getCoefCom(), cargados.getCoefProc(),
+                cargados.getParamAlg(), cargados.getVerbosityLevel());
+        Cromosoma original = new Cromosoma(cargados);
+        //Cambios en los arreglos del llamador y en las copias devueltas por los getters
+        tablas[0].setNumBytes(tablas[0].getNumBytes()*4);
+        for(int[] fila: capTrans) Arrays.fill(fila, 1);
+        copia.getCapTransSitios()[0][1] = 1;
+        copia.getCardTablas()[0][0] = 0;
+        Cromosoma conCopia = new Cromosoma(copia, original.getCromosoma().clone());
+        assertEquals(original.getFitness(), conCopia.getFitness());
+        assertArrayEquals(cargados.getCapTransSitios(), copia.getCapTransSitios());
+        assertArrayEquals(cargados.getCardTablas(), copia.getCardTablas());
+        assertEquals(cargados.getTablas()[0].getNumBytes(), copia.getTablas()[0].getNumBytes());
+        //Las tablas guardadas en los datos de entrada son de solo lectura
+        assertThrows(UnsupportedOperationException.class, () -> copia.getTablas()[0].setNumBytes(1));
+    }
+}
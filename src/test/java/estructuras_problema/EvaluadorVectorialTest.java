@@ -0,0 +1,40 @@
+package estructuras_problema;
+
+import datos_param.DatosEntrada;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class EvaluadorVectorialTest {
+
+    @BeforeAll
+    static void cargarDatos(){
+        DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void descartarDatos(){
+        EvaluadorCostos.desactivarVectorial();
+        DatosEntrada.discardInstance();
+    }
+
+    @Test
+    @DisplayName("Comprueba que el evaluador vectorial dé la misma fitness que el escalar (solo con el perfil vectorial)")
+    void fitnessIdentica(){
+        assumeTrue(EvaluadorCostos.isVectorialDisponible());
+        DatosEntrada datos = DatosEntrada.getInstance(null);
+        for(int i=0; i<200; i++){
+            int[] genes = new Cromosoma().getCromosoma();
+            EvaluadorCostos.desactivarVectorial();
+            double fitness = EvaluadorCostos.calcularFitness(genes, 0, genes.length, datos);
+            double costoCom = EvaluadorCostos.getUltimoCostoCom();
+            assertTrue(EvaluadorCostos.activarVectorial());
+            assertEquals(fitness, EvaluadorCostos.calcularFitness(genes, 0, genes.length, datos));
+            assertEquals(costoCom, EvaluadorCostos.getUltimoCostoCom());
+        }
+    }
+}
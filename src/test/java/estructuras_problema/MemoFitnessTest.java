@@ -0,0 +1,45 @@
+package estructuras_problema;
+
+import datos_param.DatosEntrada;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoFitnessTest {
+
+    @BeforeAll
+    static void cargarDatos(){
+        DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void descartarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    @Test
+    @DisplayName("Comprueba que un cromosoma repetido recupere la misma fitness y costos desde la memoria")
+    void recuperaCromosomaRepetido(){
+        MemoFitness memo = new MemoFitness(1000, 4);
+        Cromosoma original = new Cromosoma();
+        double fitness = original.evaluar(memo, null);
+        Cromosoma repetido = new Cromosoma(original.getCromosoma().clone());
+        assertEquals(fitness, repetido.evaluar(memo, null));
+        assertArrayEquals(original.getCostProc(), repetido.getCostProc());
+        assertEquals(original.getCostCom(), repetido.getCostCom());
+        assertEquals(1, memo.getAciertos());
+        assertEquals(1, memo.getFallos());
+    }
+
+    @Test
+    @DisplayName("Comprueba que la memoria no supere su capacidad")
+    void capacidadAcotada(){
+        MemoFitness memo = new MemoFitness(32, 4);
+        for(int i=0; i<100; i++) new Cromosoma().evaluar(memo, null);
+        assertTrue(memo.getTamanio()<=32);
+        assertEquals(100, memo.getAciertos()+memo.getFallos());
+    }
+}
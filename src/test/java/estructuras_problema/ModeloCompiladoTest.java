@@ -0,0 +1,109 @@
+package estructuras_problema;
+
+import datos_param.DatosEntrada;
+import datos_param.ParametrosAlgoritmo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModeloCompiladoTest {
+
+    @BeforeAll
+    static void cargarDatos(){
+        DatosEntrada.getInstance("datos.csv");
+    }
+
+    @AfterAll
+    static void descartarDatos(){
+        DatosEntrada.discardInstance();
+    }
+
+    @Test
+    @DisplayName("Comprueba que las columnas presentes de cada tabla coincidan con sus cardinalidades")
+    void columnasPresentes(){
+        DatosEntrada datos = DatosEntrada.getInstance(null);
+        ModeloCompilado modelo = datos.getModelo();
+        for(int t=0; t<datos.getNumTablas(); t++){
+            int[] cardColumnas = datos.getTablas()[t].getCardColumnas();
+            int[] columnas = modelo.getColumnasPresentes(t);
+            assertEquals(datos.getTablas()[t].getNumColumnas(), columnas.length);
+            for(int k=0; k<columnas.length; k++){
+                assertEquals(cardColumnas[columnas[k]], modelo.getCardPresentes(t)[k]);
+                assertTrue((modelo.getBitsColumnas(t)[columnas[k]>>>6] & (1L<<columnas[k]))!=0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Comprueba que los joins precalculados y la evaluación con el modelo coincidan con Cromosoma")
+    void resultadosIdenticos(){
+        DatosEntrada datos = DatosEntrada.getInstance(null);
+        ModeloCompilado modelo = datos.getModelo();
+        for(int i=0; i<200; i++){
+            Cromosoma cromosoma = new Cromosoma();
+            int[] genes = cromosoma.getCromosoma();
+            double fitness = cromosoma.getFitness();
+            int tabla1 = CodificacionGen.indiceTabla(genes[0]);
+            int tabla2 = CodificacionGen.indiceTabla(genes[1]);
+            assertEquals(cromosoma.getCostProc()[0], modelo.getCostoJoinBase(tabla1, tabla2));
+            assertEquals(cromosoma.getListaJoins()[0].getNumFilas(), modelo.getFilasJoinBase(tabla1, tabla2));
+            assertEquals(fitness, EvaluadorCostos.calcularFitness(genes, 0, genes.length, datos));
+            assertEquals(cromosoma.getCostCom(), EvaluadorCostos.getUltimoCostoCom());
+        }
+    }
+
+    @Test
+    @DisplayName("Comprueba que cargar una instancia grande no calcule los joins de todos los pares de tablas")
+    void joinsBasePorDemanda(){
+        int numTablas = 2000;
+        int numTotalColumnas = 200;
+        Tabla[] tablas = new Tabla[numTablas];
+        int[][] cardTablas = new int[numTablas][numTotalColumnas];
+        boolean[][] distTabSit = new boolean[numTablas][1];
+        for(int t=0; t<numTablas; t++){
+            //Cada tabla comparte una columna con la siguiente
+            cardTablas[t][t%numTotalColumnas] = 10;
+            cardTablas[t][(t+1)%numTotalColumnas] = 20;
+            tablas[t] = new Tabla(t+1, 100, 2, 800, cardTablas[t]);
+            distTabSit[t][0] = true;
+        }
+        ParametrosAlgoritmo[] param = {new ParametrosAlgoritmo(10, 10, 0.5f, 0.7f, 0f, 0.9f, 1, 0.3f)};
+        DatosEntrada datos = new DatosEntrada(numTablas, 1, numTotalColumnas, distTabSit, tablas, cardTablas,
+                new int[1][1], 4, 10, 0.5f, 0.5f, param, -1);
+        ModeloCompilado modelo = datos.getModelo();
+        assertEquals(0, modelo.getJoinsBaseCalculados());
+        double costo = modelo.getCostoJoinBase(7, 3);
+        assertEquals(1, modelo.getJoinsBaseCalculados());
+        //El par se guarda una sola vez, sin importar el orden de las tablas
+        assertEquals(costo, modelo.getCostoJoinBase(3, 7));
+        assertEquals(modelo.getFilasJoinBase(7, 3), modelo.getFilasJoinBase(3, 7));
+        assertEquals(1, modelo.getJoinsBaseCalculados());
+    }
+
+    @Test
+    @DisplayName("Comprueba que los joins con más filas de las que admite un int se saturen en lugar de fallar")
+    void joinsSaturados(){
+        //Tres tablas de 60000 filas sin columnas comunes en dos sitios
+        Tabla[] tablas = new Tabla[3];
+        int[][] cardTablas = new int[3][3];
+        boolean[][] distTabSit = {{true, false}, {false, true}, {true, true}};
+        for(int t=0; t<3; t++){
+            cardTablas[t][t] = 10;
+            tablas[t] = new Tabla(t+1, 60000, 1, 100, cardTablas[t]);
+        }
+        ParametrosAlgoritmo[] param = {new ParametrosAlgoritmo(10, 10, 0.5f, 0.7f, 0f, 0.9f, 1, 0.3f)};
+        DatosEntrada datos = new DatosEntrada(3, 2, 3, distTabSit, tablas, cardTablas, new int[][]{{0, 500}, {500, 0}},
+                4, 10, 0.5f, 0.5f, param, -1);
+        assertEquals(Integer.MAX_VALUE, datos.getModelo().getFilasJoinBase(0, 1));
+        for(int i=0; i<20; i++){
+            Cromosoma cromosoma = new Cromosoma(datos);
+            double fitness = cromosoma.getFitness();
+            assertTrue(fitness>0 && !Double.isInfinite(fitness));
+            int[] genes = cromosoma.getCromosoma();
+            assertEquals(fitness, EvaluadorCostos.calcularFitness(genes, 0, genes.length, datos));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package lotes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcesadorLotesTest {
+
+    @TempDir
+    Path directorio;
+
+    private void crearConsulta(String nombre) throws IOException {
+        //Copia de datos.csv con una configuración de parámetros pequeña
+        List<String> lineas = new ArrayList<>(Files.readAllLines(Paths.get("datos.csv")));
+        lineas.set(lineas.size()-1, "60;40;0.5;0.7;0.5;0.9;25;0.3;1");
+        Files.write(directorio.resolve(nombre), lineas);
+    }
+
+    @Test
+    @Timeout(value = 60)
+    @DisplayName("Comprueba que el lote optimice cada archivo del directorio y registre los archivos inválidos")
+    void ejecutarDirectorio() throws IOException {
+        crearConsulta("a.csv");
+        crearConsulta("b.csv");
+        crearConsulta("c.csv");
+        Files.write(directorio.resolve("d.csv"), List.of("no es un archivo de datos"));
+        Files.write(directorio.resolve("ignorado.txt"), List.of("-"));
+        List<Path> archivos = ProcesadorLotes.listarArchivos(directorio);
+        assertEquals(4, archivos.size());
+        ProcesadorLotes procesador = new ProcesadorLotes(2);
+        ResultadoConsulta[] resultados = procesador.ejecutar(archivos, -1);
+        assertEquals(4, resultados.length);
+        for(int i=0; i<3; i++){
+            assertTrue(resultados[i].isExitoso());
+            assertEquals(archivos.get(i).toString(), resultados[i].getArchivo());
+            assertEquals(5, resultados[i].getNumTablas());
+            assertTrue(resultados[i].getMejorSolucion().getFitness()>0);
+            assertTrue(resultados[i].getIteraciones()>0);
+        }
+        assertFalse(resultados[3].isExitoso());
+        assertNotNull(resultados[3].getError());
+        assertTrue(procesador.getConsultasPorSegundo()>0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        procesador.escribirResultados(new PrintStream(bytes, true));
+        String[] registros = bytes.toString().split("\\R");
+        assertEquals(5, registros.length);
+        assertEquals(ResultadoConsulta.cabecera(), registros[0]);
+        assertEquals(8, registros[1].split(";").length);
+        assertTrue(registros[4].contains(";ERROR;"));
+    }
+
+    @Test
+    @Timeout(value = 60)
+    @DisplayName("Comprueba que los joins intermedios enormes se evalúen y que una consulta inválida solo marque la suya con error")
+    void ejecutarConJoinsIntermediosGrandes() throws IOException {
+        crearConsulta("a.csv");
+        //Tres tablas de 60000 filas sin columnas comunes: sus joins tienen más filas de las que admite un int, lo que
+        //solo empeora la fitness de los planes
+        Files.write(directorio.resolve("b.csv"), List.of("3;1;3;5;10;0.5", "-", "60000;100;10;0;0", "60000;100;0;10;0",
+                "60000;100;0;0;10", "-", "1", "1", "1", "-", "0", "-", "60;40;0.5;0.7;0.5;0.9;25;0.3;1"));
+        //Configuración con la que no se puede ejecutar el algoritmo (tamPob demasiado pequeño)
+        crearConsulta("c.csv");
+        List<String> lineas = new ArrayList<>(Files.readAllLines(directorio.resolve("c.csv")));
+        lineas.set(lineas.size()-1, "60;4;0.5;0.7;0.5;0.9;25;0.3;1");
+        Files.write(directorio.resolve("c.csv"), lineas);
+        crearConsulta("d.csv");
+        ResultadoConsulta[] resultados = new ProcesadorLotes(2).ejecutar(ProcesadorLotes.listarArchivos(directorio), -1);
+        assertEquals(4, resultados.length);
+        assertTrue(resultados[0].isExitoso());
+        assertTrue(resultados[1].isExitoso());
+        assertEquals(3, resultados[1].getNumTablas());
+        double fitness = resultados[1].getMejorSolucion().getFitness();
+        assertTrue(fitness>0 && !Double.isInfinite(fitness));
+        assertFalse(resultados[2].isExitoso());
+        assertTrue(resultados[2].getError().contains("Configuración de parámetros inválida"));
+        assertTrue(resultados[3].isExitoso());
+        assertEquals(5, resultados[3].getNumTablas());
+    }
+
+    @Test
+    @DisplayName("Comprueba que el manifiesto resuelva las rutas relativas e ignore comentarios y líneas vacías")
+    void listarManifiesto() throws IOException {
+        crearConsulta("a.csv");
+        Files.createDirectory(directorio.resolve("sub"));
+        Path manifiesto = directorio.resolve("consultas.txt");
+        Files.write(manifiesto, List.of("# consultas", "a.csv", "", "sub/b.csv"));
+        List<Path> archivos = ProcesadorLotes.listarArchivos(manifiesto);
+        assertEquals(List.of(directorio.toAbsolutePath().resolve("a.csv"),
+                directorio.toAbsolutePath().resolve("sub/b.csv")), archivos);
+    }
+}
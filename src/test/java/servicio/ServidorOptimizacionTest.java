@@ -0,0 +1,126 @@
+package servicio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServidorOptimizacionTest {
+
+    private static String solicitud(String parametros) throws IOException {
+        //Contenido de datos.csv con otra configuración de parámetros
+        List<String> lineas = new ArrayList<>(Files.readAllLines(Paths.get("datos.csv")));
+        lineas.set(lineas.size()-1, parametros);
+        return String.join("\n", lineas) + "\n" + ServidorOptimizacion.FIN_SOLICITUD + "\n";
+    }
+
+    private static List<String> enviar(int puerto, String... solicitudes) throws IOException {
+        List<String> respuestas = new ArrayList<>();
+        try(Socket socket = new Socket(InetAddress.getLoopbackAddress(), puerto);
+            BufferedWriter salida = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            BufferedReader entrada = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))){
+            for(String solicitud: solicitudes){
+                salida.write(solicitud);
+                salida.flush();
+                respuestas.add(entrada.readLine());
+            }
+        }
+        return respuestas;
+    }
+
+    @Test
+    @Timeout(value = 60)
+    @DisplayName("Comprueba que el servidor atienda solicitudes concurrentes por loopback y responda los errores sin detenerse")
+    void atenderPorLoopback() throws Exception {
+        ServidorOptimizacion servidor = new ServidorOptimizacion(0, 2);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(4);
+        Future<?> ejecucion = ejecutor.submit(() -> {
+            servidor.ejecutar(-1);
+            return null;
+        });
+        String valida = solicitud("60;40;0.5;0.7;0.5;0.9;25;0.3;1");
+        List<Future<List<String>>> clientes = new ArrayList<>();
+        for(int i=0; i<3; i++) clientes.add(ejecutor.submit(() -> enviar(servidor.getPuerto(), valida, valida)));
+        for(Future<List<String>> cliente: clientes){
+            List<String> respuestas = cliente.get();
+            assertEquals(2, respuestas.size());
+            for(String respuesta: respuestas){
+                String[] campos = respuesta.split(";");
+                assertEquals(8, campos.length);
+                assertEquals("5", campos[1]);
+                assertTrue(Double.parseDouble(campos[2])>0);
+                assertEquals(5, campos[7].split("=>").length);
+            }
+        }
+        //Datos inválidos y una configuración con la que no se puede ejecutar el algoritmo
+        List<String> errores = enviar(servidor.getPuerto(), "1;2;3\n" + ServidorOptimizacion.FIN_SOLICITUD + "\n",
+                solicitud("60;1;0.5;0.7;0.5;0.9;25;0.3;1"));
+        for(String error: errores) assertTrue(error.contains(";ERROR;"));
+        assertEquals(8, servidor.getSolicitudesAtendidas());
+        servidor.detener();
+        ejecucion.get();
+        ejecutor.shutdown();
+        assertTrue(ejecutor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(value = 60)
+    @DisplayName("Comprueba que un error en la evaluación o una solicitud demasiado grande no detengan el servidor")
+    void sobrevivirSolicitudesInvalidas() throws Exception {
+        ServidorOptimizacion servidor = new ServidorOptimizacion(0, 1);
+        servidor.setMaxCaracteresSolicitud(1000);
+        ExecutorService ejecutor = Executors.newSingleThreadExecutor();
+        Future<?> ejecucion = ejecutor.submit(() -> {
+            servidor.ejecutar(-1);
+            return null;
+        });
+        //Tres tablas de 60000 filas sin columnas comunes: sus joins tienen más filas de las que admite un int, lo que solo
+        //empeora la fitness de los planes
+        String desborde = String.join("\n", "3;1;3;5;10;0.5", "-", "60000;100;10;0;0", "60000;100;0;10;0",
+                "60000;100;0;0;10", "-", "1", "1", "1", "-", "0", "-", "60;40;0.5;0.7;0.5;0.9;25;0.3;1") + "\n" +
+                ServidorOptimizacion.FIN_SOLICITUD + "\n";
+        String[] camposDesborde = enviar(servidor.getPuerto(), desborde).get(0).split(";");
+        assertEquals("3", camposDesborde[1]);
+        assertTrue(Double.parseDouble(camposDesborde[2])>0);
+        assertTrue(enviar(servidor.getPuerto(), solicitud("60;4;0.5;0.7;0.5;0.9;25;0.3;1")).get(0).contains(";ERROR;"));
+        assertTrue(enviar(servidor.getPuerto(), "x".repeat(2000)).get(0).contains("tamaño máximo"));
+        //Una cabecera con dimensiones que no caben en la solicitud se rechaza antes de reservar las matrices
+        String enorme = "2000000;1;2000000;5;10;0.5\n" + ServidorOptimizacion.FIN_SOLICITUD + "\n";
+        String respuestaEnorme = enviar(servidor.getPuerto(), enorme).get(0);
+        assertTrue(respuestaEnorme.contains(";ERROR;"));
+        assertTrue(respuestaEnorme.contains("dimensiones"));
+        //El servidor sigue atendiendo solicitudes válidas
+        String[] campos = enviar(servidor.getPuerto(), solicitud("60;40;0.5;0.7;0.5;0.9;25;0.3;1")).get(0).split(";");
+        assertEquals("5", campos[1]);
+        assertTrue(Double.parseDouble(campos[2])>0);
+        servidor.detener();
+        ejecucion.get();
+        ejecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Comprueba que siempre se obtenga un ejecutor para las conexiones")
+    void crearEjecutorConexiones(){
+        ExecutorService ejecutor = ServidorOptimizacion.crearEjecutorConexiones();
+        assertNotNull(ejecutor);
+        ejecutor.shutdown();
+    }
+}